@@ -3,6 +3,7 @@ package org.usfirst.frc.team3555.robot.Autonomous;
 import org.usfirst.frc.team3555.robot.Autonomous.InnerType.ActionCleanUp;
 import org.usfirst.frc.team3555.robot.Autonomous.InnerType.ActionStart;
 import org.usfirst.frc.team3555.robot.Autonomous.InnerType.ActionUpdate;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
 
 /**
  * This class will store an action for the robot to complete during autonomous. 
@@ -68,7 +69,7 @@ public class Action {
 	 */
 	public void start() {
 		if(!started) {
-			startTime = System.currentTimeMillis();
+			startTime = Replay.currentTimeMillis();
 			started = true;
 			
 			if(actionStart != null) 
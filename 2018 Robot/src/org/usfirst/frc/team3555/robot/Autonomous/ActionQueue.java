@@ -46,6 +46,11 @@ public class ActionQueue {
 	 * @param a - Action to be added
 	 */
 	public void add(Action a) { queue.addLast(a); }
+	
+	/**
+	 * @return - The amount of actions left in the queue (including the one in progress)
+	 */
+	public int size() { return queue.size(); }
 
 	/**
 	 * This will remove the first action, and call its clean up method
@@ -0,0 +1,169 @@
+package org.usfirst.frc.team3555.robot.Benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Hardware.StandInJoystick;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+import org.usfirst.frc.team3555.robot.SubSystems.DriveTrain;
+import org.usfirst.frc.team3555.robot.SubSystems.SubSystemRegistry;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedJoystick;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedXboxController;
+import org.usfirst.frc.team3555.robot.Telemetry.AllocationBudget;
+
+/**
+ * Runs the robot's autonomous and teleop loops for thousands of ticks on stand-in hardware, and checks that they make no garbage. <br>
+ * The loops are the real {@link org.usfirst.frc.team3555.robot.RobotCore} ones (see {@link StandInRobot}), recorded the same as on the robot. 
+ * Autonomous runs the drive's actions, teleop has the driver's controller and the operator's joystick moving every loop. 
+ * Each mode is warmed up first (so the JIT has compiled it the way it will be on the robot), 
+ * then every measured tick's bytes are counted with the thread's allocation counter. <br>
+ * The report lists where the bytes came from, biggest first: each subsystem (counted by the SubSystemRegistry), 
+ * and the rest of the loop (the events, actions, macros, health monitor, and recording). 
+ * The exit code is 1 if any tick is over the budget, or the recording couldn't keep up, so this can fail a build. <br>
+ * Usage: java org.usfirst.frc.team3555.robot.Benchmark.AllocationCheck [ticks (20000)] [budget bytes per tick (0)]
+ */
+public class AllocationCheck {
+	public static final int warmupTicks = 20000;
+	public static final int legTicks = 400;// <- Longest an autonomous leg can take, so there is always an action running
+	public static final int drainTicks = 64;// <- Ticks between letting the recording's writer catch up
+	
+	private static StandInRobot robot;
+	private static long budget;
+	private static boolean failed;
+	private static ArrayList<String> results = new ArrayList<>();
+	
+	//Bytes of the mode being measured, by site (the subsystems, then the rest of the loop)
+	private static String[] siteNames;
+	private static long[] siteBytes;
+	
+	public static void main(String[] args) throws IOException {
+		int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		budget = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		
+		if(!AllocationBudget.isSupported()) {
+			System.err.println("This JVM can't count allocations per thread");
+			System.exit(2);
+		}
+		
+		robot = new StandInRobot();
+		SubSystemRegistry subSystems = robot.getCore().getSubSystems();
+		siteNames = new String[subSystems.getCount() + 1];
+		for(int i = 0; i < subSystems.getCount(); i++)
+			siteNames[i] = subSystems.get(i).getClass().getSimpleName();
+		siteNames[subSystems.getCount()] = "RobotCore (events, actions, macros, health, recording)";
+		siteBytes = new long[siteNames.length];
+		
+		System.out.println(ticks + " ticks per mode, budget " + budget + " bytes / tick");
+		
+		//Autonomous -> the lift finds its origin, then the drive goes back and forth on its actions
+		File recording = File.createTempFile("allocation_check", ".replay");
+		recording.deleteOnExit();
+		Hardware.getStandInTalon(robot.getConfig().getLift().getID()).setReverseLimit(true);//At the bottom
+		Replay.startRecording(recording.getPath());
+		robot.getCore().autonomousInit();
+		addLegs(robot.getCore().getDrive(), (warmupTicks + ticks) / legTicks + 1);
+		measure("Autonomous", warmupTicks, ticks, true);
+		
+		//Teleop -> both sticks move every loop, the driver swaps the front now and then
+		Replay.startRecording(recording.getPath());
+		robot.getCore().teleopInit();
+		measure("Teleop", warmupTicks, ticks, false);
+		Replay.stop();
+		
+		for(String result : results)
+			System.out.println(result);
+		System.exit(failed ? 1 : 0);
+	}
+	
+	/**
+	 * Drive forward, turn around, drive back, and turn again, over and over. 
+	 * The actions are all made now, the same as autonomousInit makes them before the first loop
+	 */
+	private static void addLegs(DriveTrain drive, int legs) {
+		double timeout = legTicks * StandInRobot.period / 2;
+		for(int i = 0; i < legs; i += 2) {
+			robot.getCore().getActions().add(new Action(false, drive.drive(2, timeout), drive.turnRightOnDimeDegrees(180, timeout)));
+			robot.getCore().getActions().add(drive.getAutoDriveAction(300, 300, timeout));
+		}
+	}
+	
+	/**
+	 * Warm up a mode, then count the bytes of every tick
+	 * 
+	 * @param autonomous - Which mode's tick to run
+	 */
+	private static void measure(String mode, int warmup, int ticks, boolean autonomous) {
+		for(int i = 0; i < warmup; i++)
+			tick(i, autonomous);
+		
+		SubSystemRegistry subSystems = robot.getCore().getSubSystems();
+		Arrays.fill(siteBytes, 0);
+		long total = 0, max = 0;
+		int over = 0;
+		
+		for(int i = 0; i < ticks; i++) {
+			long start = AllocationBudget.getThreadBytes();
+			tick(warmup + i, autonomous);
+			long bytes = AllocationBudget.getBytesSince(start);
+			
+			total += bytes;
+			max = Math.max(max, bytes);
+			if(bytes > budget)
+				over++;
+			
+			long rest = bytes;
+			for(int s = 0; s < subSystems.getCount(); s++) {
+				siteBytes[s] += subSystems.getLastBytes(s);
+				rest -= subSystems.getLastBytes(s);
+			}
+			siteBytes[siteBytes.length - 1] += Math.max(0, rest);
+		}
+		
+		check(mode + " loop", over == 0, String.format("%.3f bytes / tick, max %d, %d ticks over", total / (double) ticks, max, over));
+		check(mode + " recording kept up", Replay.getMode() == Replay.record, Replay.getMode() == Replay.record ? "recording" : "stopped");
+		
+		//Biggest first
+		Integer[] order = new Integer[siteNames.length];
+		for(int i = 0; i < order.length; i++)
+			order[i] = i;
+		Arrays.sort(order, (a, b) -> Long.compare(siteBytes[b], siteBytes[a]));
+		for(int i : order)
+			results.add(String.format("       %-60s %10.3f bytes / tick", siteNames[i], siteBytes[i] / (double) ticks));
+	}
+	
+	/**
+	 * Move the sticks like a driver would, then run one loop
+	 */
+	private static void tick(int tick, boolean autonomous) {
+		if(autonomous) {
+			robot.autonomousTick();
+		} else {
+			double time = tick * StandInRobot.period;
+			StandInJoystick driver = robot.getDriver();
+			driver.setAxis(CurvedXboxController.leftX, (tick & 3) == 0 ? 0 : Math.sin(time * .7));//Centered a quarter of the time, so the heading hold runs
+			driver.setAxis(CurvedXboxController.rightTrigger, Math.max(0, Math.sin(time * .3)));
+			driver.setAxis(CurvedXboxController.leftTrigger, Math.max(0, -Math.sin(time * .3)));
+			driver.setButton(CurvedXboxController.bButton, tick % 500 < 5);//Swap the front
+			
+			StandInJoystick operator = robot.getOperator();
+			operator.setAxis(CurvedJoystick.yAxis, Math.sin(time * .5));
+			operator.setAxis(CurvedJoystick.xAxis, Math.cos(time * .5));
+			
+			robot.teleopTick();
+		}
+		
+		//Far faster than a robot loop, give the writer's thread time to catch up before the ring fills
+		if(tick % drainTicks == drainTicks - 1)
+			while(Replay.getPendingWrites() > 0)
+				Thread.yield();
+	}
+	
+	private static void check(String name, boolean passed, String value) {
+		failed |= !passed;
+		results.add(String.format("%-4s %-60s %s", passed ? "ok" : "FAIL", name, value));
+	}
+}
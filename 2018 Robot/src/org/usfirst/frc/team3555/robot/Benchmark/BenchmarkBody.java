@@ -0,0 +1,15 @@
+package org.usfirst.frc.team3555.robot.Benchmark;
+
+/**
+ * The code being timed by a {@link BenchmarkRunner}
+ */
+@FunctionalInterface
+public interface BenchmarkBody {
+	/**
+	 * Run the code being timed
+	 * 
+	 * @param operations - Amount of times to run it
+	 * @return - Anything computed from the results, so the JIT can't throw the work away
+	 */
+	public double run(int operations);
+}
@@ -0,0 +1,138 @@
+package org.usfirst.frc.team3555.robot.Benchmark;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+
+/**
+ * A small benchmark harness for the robot's hot paths, that runs with nothing but a JDK. <br>
+ * Each benchmark is warmed up so the JIT has compiled it, then timed over several iterations of about the same length. 
+ * The average time per operation, its 99.9% error, and every iteration are kept, and can be saved as JSON in the same layout JMH uses, 
+ * so results from different commits can be compared with the same tools. <br>
+ * NOTE: Run this on a quiet machine (or the robot, disabled), and only compare results from the same machine
+ */
+public class BenchmarkRunner {
+	public static final int defaultWarmupIterations = 5;
+	public static final int defaultMeasureIterations = 10;
+	public static final double defaultIterationTime = .2;// <- seconds
+	
+	private int warmupIterations;
+	private int measureIterations;
+	private double iterationTime;
+	
+	private ArrayList<String> names;
+	private ArrayList<double[]> results;// <- ns / op of each measured iteration
+	
+	private volatile double sink;// <- Results of the bodies go here, so they can't be optimized away
+	
+	public BenchmarkRunner(int warmupIterations, int measureIterations, double iterationTime) {
+		this.warmupIterations = warmupIterations;
+		this.measureIterations = measureIterations;
+		this.iterationTime = iterationTime;
+		
+		names = new ArrayList<>();
+		results = new ArrayList<>();
+	}
+	
+	public BenchmarkRunner() {
+		this(defaultWarmupIterations, defaultMeasureIterations, defaultIterationTime);
+	}
+	
+	/**
+	 * Time a benchmark, and print the result
+	 * 
+	 * @param name - Name in the results
+	 * @param body - Code to time
+	 * @return - Average nanoseconds per operation
+	 */
+	public double run(String name, BenchmarkBody body) {
+		//Find how many operations fill an iteration
+		int operations = 1;
+		while(true) {
+			long start = System.nanoTime();
+			sink += body.run(operations);
+			long time = System.nanoTime() - start;
+			
+			if(time >= iterationTime * 1e9 / 4 || operations >= (1 << 30))
+				break;
+			operations *= 2;
+		}
+		operations = (int) Math.min(Integer.MAX_VALUE, operations * 4L);
+		
+		for(int i = 0; i < warmupIterations; i++)
+			sink += body.run(operations);
+		
+		double[] iterations = new double[measureIterations];
+		for(int i = 0; i < measureIterations; i++) {
+			long start = System.nanoTime();
+			sink += body.run(operations);
+			iterations[i] = (System.nanoTime() - start) / (double) operations;
+		}
+		
+		names.add(name);
+		results.add(iterations);
+		
+		System.out.println(String.format("%-50s %12.3f +- %.3f ns/op", name, getMean(iterations), getError(iterations)));
+		return getMean(iterations);
+	}
+	
+	private static double getMean(double[] values) {
+		double sum = 0;
+		for(double value : values)
+			sum += value;
+		return sum / values.length;
+	}
+	
+	/**
+	 * @return - Half width of the 99.9% confidence interval of the mean (normal approximation)
+	 */
+	private static double getError(double[] values) {
+		if(values.length < 2)
+			return Double.NaN;
+		
+		double mean = getMean(values);
+		double squares = 0;
+		for(double value : values)
+			squares += (value - mean) * (value - mean);
+		
+		double deviation = Math.sqrt(squares / (values.length - 1));
+		return 3.291 * deviation / Math.sqrt(values.length);
+	}
+	
+	/**
+	 * Save every result that has been run as a JMH style JSON file
+	 * 
+	 * @param path - File to write
+	 */
+	public void save(String path) throws IOException {
+		try(PrintWriter out = new PrintWriter(new FileWriter(path))) {
+			out.println("[");
+			for(int i = 0; i < names.size(); i++) {
+				double[] iterations = results.get(i);
+				
+				out.println("    {");
+				out.println("        \"benchmark\" : \"" + names.get(i) + "\",");
+				out.println("        \"mode\" : \"avgt\",");
+				out.println("        \"warmupIterations\" : " + warmupIterations + ",");
+				out.println("        \"measurementIterations\" : " + measureIterations + ",");
+				out.println("        \"primaryMetric\" : {");
+				out.println("            \"score\" : " + getMean(iterations) + ",");
+				out.println("            \"scoreError\" : " + (Double.isNaN(getError(iterations)) ? "\"NaN\"" : getError(iterations)) + ",");
+				out.println("            \"scoreUnit\" : \"ns/op\",");
+				out.print("            \"rawData\" : [ [ ");
+				for(int j = 0; j < iterations.length; j++)
+					out.print((j == 0 ? "" : ", ") + iterations[j]);
+				out.println(" ] ]");
+				out.println("        }");
+				out.println("    }" + (i == names.size() - 1 ? "" : ","));
+			}
+			out.println("]");
+		}
+	}
+	
+	/**
+	 * @return - Everything the bodies returned added up (Only here so the sink is read)
+	 */
+	public double getSink() { return sink; }
+}
@@ -0,0 +1,270 @@
+package org.usfirst.frc.team3555.robot.Benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.Autonomous.ActionQueue;
+import org.usfirst.frc.team3555.robot.Hardware.StandInJoystick;
+import org.usfirst.frc.team3555.robot.Hardware.StandInTalon;
+import org.usfirst.frc.team3555.robot.Loop.SimClock;
+import org.usfirst.frc.team3555.robot.Power.Battery;
+import org.usfirst.frc.team3555.robot.SubSystems.DriveActions;
+import org.usfirst.frc.team3555.robot.SubSystems.DriveTrain;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedXboxController;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.DriveDistanceController;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.HeadingHistory;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.HeadingHold;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.KalmanFilter;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.MotorGroup;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+
+/**
+ * Benchmarks for the code that runs every loop, so arguments about what is slow can be settled with numbers. <br>
+ * CANTalon.set, MotorGroup.set, and the DriveTrain are the real classes on stand-in talons and controllers (see {@link StandInRobot}), 
+ * so every branch they take on the robot is timed, only the CAN call at the end is a field store instead. 
+ * interpretController is private, it is timed through teleopUpdate (it and the follower update). <br>
+ * Usage: java org.usfirst.frc.team3555.robot.Benchmark.ControlBenchmarks [result file (benchmarks.json)]
+ */
+public class ControlBenchmarks {
+	public static final int inputCount = 1024;// <- Power of 2
+	
+	private static long leafUpdates;// <- Counted by the leaf actions, so their updates can't be optimized away
+	
+	public static void main(String[] args) throws IOException {
+		String path = args.length > 0 ? args[0] : "benchmarks.json";
+		BenchmarkRunner runner = new BenchmarkRunner();
+		
+		//Stand in stick inputs
+		Random random = new Random(3555);
+		double[] inputs = new double[inputCount];
+		for(int i = 0; i < inputCount; i++)
+			inputs[i] = random.nextDouble() * 2 - 1;
+		
+		//***************************** Input Shaping ***********************************//
+		
+		runner.run("CurvedXboxController.curve (default exponent)", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++)
+				sum += CurvedXboxController.curve(inputs[i & (inputCount - 1)], CurvedXboxController.defaultExponent, CurvedXboxController.defaultDeadzone);
+			return sum;
+		});
+		
+		runner.run("CurvedXboxController.curve (exponent 2)", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++)
+				sum += CurvedXboxController.curve(inputs[i & (inputCount - 1)], 2, CurvedXboxController.defaultDeadzone);
+			return sum;
+		});
+		
+		runner.run("Square by multiplying (baseline for exponent 2)", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++) {
+				double data = inputs[i & (inputCount - 1)];
+				sum += CurvedXboxController.capDeadzone(data * Math.abs(data), CurvedXboxController.defaultDeadzone);
+			}
+			return sum;
+		});
+		
+		//***************************** Unit Conversions ***********************************//
+		
+		runner.run("CANTalon.quadRPMToNative", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++)
+				sum += CANTalon.quadRPMToNative(inputs[i & (inputCount - 1)] * 500, 360);
+			return sum;
+		});
+		
+		runner.run("CANTalon.nativeToQuadRPM", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++)
+				sum += CANTalon.nativeToQuadRPM(inputs[i & (inputCount - 1)] * 1000, 360);
+			return sum;
+		});
+		
+		runner.run("CANTalon.linearVelocityToRPM", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++)
+				sum += CANTalon.linearVelocityToRPM(inputs[i & (inputCount - 1)] * 3, .4788);
+			return sum;
+		});
+		
+		runner.run("CANTalon.compensateVoltage", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++)
+				sum += CANTalon.compensateVoltage(inputs[i & (inputCount - 1)], 11, 12 + inputs[(i + 1) & (inputCount - 1)]);
+			return sum;
+		});
+		
+		//***************************** Talons ***********************************//
+		
+		//Each branch of CANTalon.set
+		CANTalon compensated = createTalon(ControlMode.PercentOutput);
+		compensated.setSoftwareVoltageCompensation(Battery.nominalVoltage);
+		String[] talonNames = { "percent output", "percent output, voltage compensated", "velocity", "position" };
+		CANTalon[] talons = { createTalon(ControlMode.PercentOutput), compensated, createTalon(ControlMode.Velocity), createTalon(ControlMode.Position) };
+		for(int t = 0; t < talons.length; t++) {
+			CANTalon talon = talons[t];
+			runner.run("CANTalon.set (" + talonNames[t] + ")", (operations) -> {
+				for(int i = 0; i < operations; i++)
+					talon.set(inputs[i & (inputCount - 1)]);
+				return ((StandInTalon) talon.getTalon()).getValue();
+			});
+		}
+		
+		//MotorGroup.set set up like the drive's, on its own clock so the ramp sees a loop go by every set
+		SimClock clock = new SimClock();
+		MotorGroup ramped = createGroup(clock, ControlMode.PercentOutput);
+		MotorGroup closedLoop = createGroup(clock, ControlMode.Velocity);
+		MotorGroup backup = createGroup(clock, ControlMode.PercentOutput);
+		backup.setBackups(createTalon(ControlMode.PercentOutput), createTalon(ControlMode.PercentOutput), 5300);
+		backup.setLeftFailed(true);
+		String[] groupNames = { "percent output, ramp limited", "velocity, passed through", "percent output, left on its backup" };
+		MotorGroup[] groups = { ramped, closedLoop, backup };
+		for(int g = 0; g < groups.length; g++) {
+			MotorGroup group = groups[g];
+			runner.run("MotorGroup.set (" + groupNames[g] + ")", (operations) -> {
+				for(int i = 0; i < operations; i++) {
+					clock.advance(.02);
+					group.set(inputs[i & (inputCount - 1)], inputs[(i + 5) & (inputCount - 1)]);
+				}
+				return group.getLeftController().getSetPoint();
+			});
+		}
+		
+		//***************************** Drive Train ***********************************//
+		
+		StandInRobot robot = new StandInRobot();
+		DriveTrain drive = robot.getCore().getDrive();
+		StandInJoystick driver = robot.getDriver();
+		drive.teleopInit();
+		
+		//A quarter of the loops have the stick centered, so the heading hold runs too
+		runner.run("DriveTrain.teleopUpdate (interpretController)", (operations) -> {
+			for(int i = 0; i < operations; i++) {
+				double stick = (i & 3) == 0 ? 0 : inputs[i & (inputCount - 1)];
+				driver.setAxis(CurvedXboxController.leftX, stick);
+				driver.setAxis(CurvedXboxController.rightTrigger, Math.abs(inputs[(i + 3) & (inputCount - 1)]));
+				robot.getClock().advance(StandInRobot.period);
+				drive.teleopUpdate();
+			}
+			return drive.getLeftDistance();
+		});
+		
+		robot.getCore().teleopInit();
+		runner.run("RobotCore teleop loop (every subsystem)", (operations) -> {
+			for(int i = 0; i < operations; i++) {
+				driver.setAxis(CurvedXboxController.leftX, inputs[i & (inputCount - 1)]);
+				driver.setAxis(CurvedXboxController.rightTrigger, Math.abs(inputs[(i + 3) & (inputCount - 1)]));
+				robot.teleopTick();
+			}
+			return drive.getLeftDistance();
+		});
+		
+		//***************************** Drive Math ***********************************//
+		
+		HeadingHistory history = new HeadingHistory(50);
+		for(int i = 0; i < 50; i++)
+			history.add(i * .02, inputs[i]);
+		runner.run("HeadingHistory.get (80 ms back)", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++)
+				sum += history.get(.98 - .08 + inputs[i & (inputCount - 1)] * .01);
+			return sum;
+		});
+		
+		DriveDistanceController distance = new DriveDistanceController(3, .15, .02, .2);
+		distance.start(0, 0, 2, 2, 1.5);
+		runner.run("DriveDistanceController.update", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++) {
+				double position = inputs[i & (inputCount - 1)] + 1;
+				distance.update(position, position, i * .005);
+				sum += distance.getLeftCommand();
+			}
+			return sum;
+		});
+		
+		HeadingHold hold = new HeadingHold(2, .15);
+		hold.start(0, 0);
+		runner.run("HeadingHold.getCorrection", (operations) -> {
+			double sum = 0;
+			for(int i = 0; i < operations; i++)
+				sum += hold.getCorrection(inputs[i & (inputCount - 1)], inputs[(i + 7) & (inputCount - 1)]);
+			return sum;
+		});
+		
+		KalmanFilter kalman = new KalmanFilter(10, 5, 20, 1.0 / 4096);
+		runner.run("KalmanFilter.step", (operations) -> {
+			for(int i = 0; i < operations; i++)
+				kalman.step(inputs[i & (inputCount - 1)], inputs[(i + 3) & (inputCount - 1)] * 12, .02);
+			return kalman.getVelocity();
+		});
+		
+		//***************************** Action Trees ***********************************//
+		
+		int[][] shapes = { { 1, 1 }, { 2, 16 }, { 3, 4 }, { 5, 3 }, { 8, 2 } };// <- { depth, width }
+		for(int[] shape : shapes) {
+			for(int simultaneous = 0; simultaneous < 2; simultaneous++) {
+				ActionQueue queue = new ActionQueue();
+				queue.add(createTree(shape[0], shape[1], simultaneous == 1));
+				queue.update();//Start everything, the first update of a set only starts its actions
+				
+				runner.run("ActionQueue.update (depth " + shape[0] + ", width " + shape[1] + (simultaneous == 1 ? ", simultaneous)" : ", in order)"), (operations) -> {
+					for(int i = 0; i < operations; i++)
+						queue.update();
+					return leafUpdates;
+				});
+			}
+		}
+		
+		runner.save(path);
+		System.out.println("Saved to " + path);
+	}
+	
+	/**
+	 * @param mode - Control mode, on a quad encoder with 360 units a rotation
+	 * @return - An enabled talon, on a stand-in
+	 */
+	private static CANTalon createTalon(ControlMode mode) {
+		CANTalon talon = new CANTalon(new StandInTalon(0));
+		talon.setControlMode(mode);
+		talon.setFeedbackDevice(FeedbackDevice.QuadEncoder);
+		talon.setSensorUnitsPerRotation(360);
+		talon.setEnabled(true);
+		return talon;
+	}
+	
+	/**
+	 * @return - A group set up like the drive's main group (default config ramp limits), on stand-ins
+	 */
+	private static MotorGroup createGroup(SimClock clock, ControlMode mode) {
+		MotorGroup group = new MotorGroup(createTalon(mode), createTalon(mode));
+		DriveActions.setUpGroup(group, Battery.nominalVoltage);
+		group.setControlMode(mode);
+		group.setRampLimits(4, 40);
+		group.setClock(clock);
+		group.setEnabled(true);
+		return group;
+	}
+	
+	/**
+	 * Build a tree of actions that never finish, so every update walks the same tree
+	 * 
+	 * @param depth - Levels of sets, 1 is a single action
+	 * @param width - Actions in each set
+	 * @param simultaneous - Whether the sets run their actions all at once, or in order
+	 */
+	private static Action createTree(int depth, int width, boolean simultaneous) {
+		if(depth <= 1)
+			return new Action(() -> {}, (startTime) -> ++leafUpdates < 0, () -> {});
+		
+		Action[] children = new Action[width];
+		for(int i = 0; i < width; i++)
+			children[i] = createTree(depth - 1, width, simultaneous);
+		return new Action(simultaneous, children);
+	}
+}
@@ -0,0 +1,90 @@
+package org.usfirst.frc.team3555.robot.Benchmark;
+
+import java.util.ArrayList;
+
+import org.usfirst.frc.team3555.robot.Loop.ControlLoop;
+import org.usfirst.frc.team3555.robot.Loop.SimClock;
+
+/**
+ * Runs a {@link ControlLoop} off of a {@link SimClock}, and checks that it keeps time the way the robot expects: <br>
+ *  The slow callbacks run once every slow divider ticks, on the same timestamp as the fast ones <br>
+ *  Jitter is how far each gap between ticks was from the period <br>
+ *  A tick that takes longer than the period is an overrun <br>
+ *  resetStatistics() clears everything at the start of the next tick <br>
+ * Each check is printed, and the exit code is 1 if any failed, so this can fail a build. <br>
+ * Usage: java org.usfirst.frc.team3555.robot.Benchmark.LoopCheck
+ */
+public class LoopCheck {
+	public static final double frequency = 200;
+	public static final int slowDivider = 4;
+	public static final double tolerance = 1e-9;
+
+	private static ArrayList<String> results = new ArrayList<>();
+	private static boolean failed;
+
+	public static void main(String[] args) {
+		double period = 1.0 / frequency;
+
+		SimClock clock = new SimClock();
+		ControlLoop loop = new ControlLoop(clock, frequency, slowDivider);
+
+		int[] fast = new int[1], slow = new int[1];
+		double[] lastFast = new double[1], lastSlow = new double[1];
+		double[] work = new double[1];// <- Seconds the next fast callback takes
+		loop.addFast((timestamp) -> {
+			fast[0]++;
+			lastFast[0] = timestamp;
+			clock.advance(work[0]);
+			work[0] = 0;
+		});
+		loop.addSlow((timestamp) -> {
+			slow[0]++;
+			lastSlow[0] = timestamp;
+		});
+
+		//On time
+		for(int i = 0; i < 100; i++) {
+			loop.tick();
+			clock.advance(period);
+		}
+		check("100 ticks", loop.getTicks() == 100, loop.getTicks());
+		check("Fast callbacks every tick", fast[0] == 100, fast[0]);
+		check("Slow callbacks every " + slowDivider + " ticks", slow[0] == 100 / slowDivider, slow[0]);
+		check("Slow callbacks get the tick's timestamp", Math.abs(lastSlow[0] - (96 * period)) < tolerance, lastSlow[0]);
+		check("No jitter on time", loop.getMaxJitter() < tolerance, loop.getMaxJitter());
+		check("No overruns on time", loop.getOverruns() == 0, loop.getOverruns());
+
+		//One tick 2 ms late
+		clock.advance(.002);
+		loop.tick();
+		clock.advance(period);
+		check("Late tick is jitter", Math.abs(loop.getMaxJitter() - .002) < tolerance, loop.getMaxJitter());
+		check("Average jitter", Math.abs(loop.getAverageJitter() - (.002 / 100)) < tolerance, loop.getAverageJitter());
+
+		//One tick that takes 1.5 periods
+		work[0] = period * 1.5;
+		loop.tick();
+		check("Long tick is an overrun", loop.getOverruns() == 1, loop.getOverruns());
+		check("Long tick's execution", Math.abs(loop.getLastExecution() - period * 1.5) < tolerance, loop.getLastExecution());
+		check("Max execution", Math.abs(loop.getMaxExecution() - period * 1.5) < tolerance, loop.getMaxExecution());
+
+		//Reset is only applied by the next tick
+		loop.resetStatistics();
+		check("Reset waits for a tick", loop.getTicks() == 102, loop.getTicks());
+		clock.advance(period);
+		loop.tick();
+		check("Reset clears the ticks", loop.getTicks() == 1, loop.getTicks());
+		check("Reset clears the overruns", loop.getOverruns() == 0, loop.getOverruns());
+		check("Reset clears the jitter", loop.getMaxJitter() == 0, loop.getMaxJitter());
+		check("Fast timestamp is the clock's", Math.abs(lastFast[0] - clock.getTime()) < tolerance, lastFast[0]);
+
+		for(String result : results)
+			System.out.println(result);
+		System.exit(failed ? 1 : 0);
+	}
+
+	private static void check(String name, boolean passed, double value) {
+		failed |= !passed;
+		results.add(String.format("%-4s %-50s %s", passed ? "ok" : "FAIL", name, value));
+	}
+}
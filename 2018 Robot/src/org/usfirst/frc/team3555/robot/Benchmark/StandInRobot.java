@@ -0,0 +1,112 @@
+package org.usfirst.frc.team3555.robot.Benchmark;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.usfirst.frc.team3555.robot.RobotCore;
+import org.usfirst.frc.team3555.robot.Config.ConfigFile;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Dashboard.DashboardPublisher;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Hardware.StandInJoystick;
+import org.usfirst.frc.team3555.robot.Hardware.StandInTalon;
+import org.usfirst.frc.team3555.robot.Loop.SimClock;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryLogger;
+
+/**
+ * The robot's {@link RobotCore}, on stand-in hardware (see {@link Hardware}), for the benchmarks and checks. <br>
+ * The clock only moves when a tick is done, so every tick is one robot loop later no matter how fast the code runs. 
+ * The driver's controller and the operator's joystick are stand-ins too, set them to drive the robot like the drivers would. 
+ * The drive's encoders follow what their talons are told, so the drive's actions finish. <br>
+ * Only make one, the hardware is stand-ins from then on
+ */
+class StandInRobot {
+	public static final double period = .02;// <- seconds, same as the robot
+	
+	private SimClock clock;
+	private RobotConfig config;
+	private RobotCore core;
+	private TelemetryLogger telemetry;
+	
+	//The drive's talons with the encoders, and where they are (Native units, kept as doubles so slow speeds still move them)
+	private StandInTalon leftDrive, rightDrive;
+	private double leftPosition, rightPosition;
+	private double fullSpeed;// <- Native units / 100 ms at full percent output
+	
+	/**
+	 * Build the subsystems with the default config
+	 */
+	StandInRobot() throws IOException {
+		clock = new SimClock();
+		Hardware.useStandIns(clock);
+		
+		config = new RobotConfig(ConfigFile.empty());
+		core = new RobotCore(config);
+		
+		//Nothing reads these back, they are only there for the subsystems to register with (The telemetry is drained, the same as on the robot)
+		File file = File.createTempFile("stand_in_telemetry", ".bin");
+		file.deleteOnExit();
+		telemetry = new TelemetryLogger(file.getPath());
+		core.init(null, new PowerArbiter(400, 150, 10.5, 7.5), telemetry.createRing(8192), new DashboardPublisher(), null);
+		telemetry.start();
+		
+		leftDrive = Hardware.getStandInTalon(config.getDrive().getLeftMaster());
+		rightDrive = Hardware.getStandInTalon(config.getDrive().getRightMaster());
+		fullSpeed = CANTalon.quadRPMToNative(config.getDrive().getBackupFullSpeed(), 360);
+	}
+	
+	/**
+	 * Move the drive's encoders by what their talons were told last loop (Velocity is exact, percent output is a share of the full speed)
+	 */
+	private void moveDrive() {
+		leftPosition = move(leftDrive, leftPosition);
+		rightPosition = move(rightDrive, rightPosition);
+	}
+	
+	private double move(StandInTalon talon, double position) {
+		double velocity = 0;
+		if(talon.getMode() == ControlMode.Velocity)
+			velocity = talon.getValue();
+		else if(talon.getMode() == ControlMode.PercentOutput)
+			velocity = talon.getValue() * fullSpeed;
+		
+		position += velocity * 10 * period;
+		talon.setVelocity((int) velocity);
+		talon.setPosition((int) position);
+		return position;
+	}
+	
+	/**
+	 * One autonomous loop, the same calls the robot makes
+	 */
+	void autonomousTick() {
+		moveDrive();
+		Replay.startTick(Replay.autonomous);
+		core.autonomousPeriodic();
+		core.periodic();
+		clock.advance(period);
+	}
+	
+	/**
+	 * One teleop loop, the same calls the robot makes
+	 */
+	void teleopTick() {
+		moveDrive();
+		Replay.startTick(Replay.teleop);
+		core.teleopPeriodic();
+		core.periodic();
+		clock.advance(period);
+	}
+	
+	StandInJoystick getDriver() { return Hardware.getStandInJoystick(config.getDrive().getControllerPort()); }
+	StandInJoystick getOperator() { return Hardware.getStandInJoystick(config.getOperatorPort()); }
+	
+	SimClock getClock() { return clock; }
+	RobotConfig getConfig() { return config; }
+	RobotCore getCore() { return core; }
+}
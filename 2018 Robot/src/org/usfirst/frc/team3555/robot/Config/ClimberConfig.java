@@ -0,0 +1,37 @@
+package org.usfirst.frc.team3555.robot.Config;
+
+/**
+ * Settings of the {@link org.usfirst.frc.team3555.robot.SubSystems.Climber}, the "climber." keys of the config file. <br>
+ * Turning it on or off and the ID only change on a restart, everything else can be reloaded while disabled
+ */
+public final class ClimberConfig {
+	//Restart
+	private final boolean enabled;// <- Off leaves the climber out of the robot, for a robot without one
+	private final int id;
+
+	//Reload
+	private final double stallCurrent;// <- amps
+	private final double stallVelocity;// <- rpm
+	private final double deadzone;
+
+	public ClimberConfig(ConfigFile file) {
+		enabled = file.getBoolean("climber.enabled", true);
+		id = file.getInt("climber.id", 46, 0, 62);//TODO Check Id #
+
+		stallCurrent = file.getDouble("climber.stallCurrent", 40, 0, 200);
+		stallVelocity = file.getDouble("climber.stallVelocity", 5, 0, 10000);
+		deadzone = file.getDouble("climber.deadzone", .05, 0, .5);
+	}
+
+	/**
+	 * @return - Whether or not the robot has to be restarted to go from this config to the other one
+	 */
+	public boolean needsRestart(ClimberConfig other) { return enabled != other.enabled || id != other.id; }
+
+	public boolean isEnabled() { return enabled; }
+	public int getID() { return id; }
+
+	public double getStallCurrent() { return stallCurrent; }
+	public double getStallVelocity() { return stallVelocity; }
+	public double getDeadzone() { return deadzone; }
+}
@@ -0,0 +1,142 @@
+package org.usfirst.frc.team3555.robot.Config;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * The "key = value" lines of a config file, read as typed values. <br>
+ * Every value is read with the default the code would use, and the range it has to be in.
+ * A missing key is the default, a value that isn't a number or is out of range is the default AND an error. <br>
+ * Keys that are never read are errors too, so a typo in a key name doesn't quietly do nothing. <br>
+ * The config objects read what they need from this once, and keep it in final fields.
+ */
+public class ConfigFile {
+	private Properties properties;
+	private Set<String> read;
+	private List<String> errors;
+
+	/**
+	 * @param properties - The lines of the file, empty for every default
+	 */
+	public ConfigFile(Properties properties) {
+		this.properties = properties;
+
+		read = new HashSet<>();
+		errors = new ArrayList<>();
+	}
+
+	/**
+	 * @return - A config file with no lines, every value will be the default
+	 */
+	public static ConfigFile empty() { return new ConfigFile(new Properties()); }
+
+	/**
+	 * Read the lines of a file
+	 *
+	 * @param path - The file
+	 * @return - The file's lines
+	 */
+	public static ConfigFile read(String path) throws IOException {
+		Properties properties = new Properties();
+		try(InputStream in = new FileInputStream(path)) {
+			properties.load(in);
+		}
+		return new ConfigFile(properties);
+	}
+
+	/**
+	 * @param key - Name of the value
+	 * @param defaultValue - Value if the key is missing or bad
+	 * @param min - Lowest the value can be
+	 * @param max - Highest the value can be
+	 * @return - The value in the file
+	 */
+	public int getInt(String key, int defaultValue, int min, int max) {
+		String text = get(key);
+		if(text == null)
+			return defaultValue;
+
+		try {
+			int value = Integer.parseInt(text);
+			if(value >= min && value <= max)
+				return value;
+			errors.add(key + " = " + value + " is not in " + min + " to " + max);
+		} catch (NumberFormatException e) {
+			errors.add(key + " = " + text + " is not a whole number");
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * @param key - Name of the value
+	 * @param defaultValue - Value if the key is missing or bad
+	 * @param min - Lowest the value can be
+	 * @param max - Highest the value can be
+	 * @return - The value in the file
+	 */
+	public double getDouble(String key, double defaultValue, double min, double max) {
+		String text = get(key);
+		if(text == null)
+			return defaultValue;
+
+		try {
+			double value = Double.parseDouble(text);
+			if(value >= min && value <= max)
+				return value;
+			errors.add(key + " = " + value + " is not in " + min + " to " + max);
+		} catch (NumberFormatException e) {
+			errors.add(key + " = " + text + " is not a number");
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * @param key - Name of the value
+	 * @param defaultValue - Value if the key is missing or bad
+	 * @return - The value in the file (true / false)
+	 */
+	public boolean getBoolean(String key, boolean defaultValue) {
+		String text = get(key);
+		if(text == null)
+			return defaultValue;
+
+		if(text.equalsIgnoreCase("true"))
+			return true;
+		if(text.equalsIgnoreCase("false"))
+			return false;
+		errors.add(key + " = " + text + " is not true or false");
+		return defaultValue;
+	}
+
+	private String get(String key) {
+		read.add(key);
+
+		String text = properties.getProperty(key);
+		return text == null ? null : text.trim();
+	}
+
+	/**
+	 * Add an error for every key in the file that was never read. Call this after everything has been read
+	 */
+	public void checkUnread() {
+		for(String key : properties.stringPropertyNames())
+			if(!read.contains(key))
+				errors.add(key + " is not a config value");
+	}
+
+	/**
+	 * @return - Whether or not every value was good
+	 */
+	public boolean isValid() { return errors.isEmpty(); }
+
+	/**
+	 * @return - What was wrong with the file
+	 */
+	public List<String> getErrors() { return errors; }
+}
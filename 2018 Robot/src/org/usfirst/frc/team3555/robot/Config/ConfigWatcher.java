@@ -0,0 +1,123 @@
+package org.usfirst.frc.team3555.robot.Config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Watches the config file, and reads it again on its own thread whenever it is saved. <br>
+ * A file with any bad values is not used at all (so a half finished edit can't half apply), the errors are reported instead. <br>
+ * A good file is handed to the main thread through poll(), which only swaps a reference, so picking up a new config makes no garbage in the loop.
+ * It is up to the robot to only poll while disabled. <br>
+ * IDs and ports can't change while the robot is running, if they are different a restart is asked for, and the rest of the file is still used.
+ */
+public class ConfigWatcher {
+	public static final long settleMillis = 100;// <- Editors save in more than one write, wait for them to finish
+
+	private Path file;
+	private RobotConfig running;// <- What the robot was started with
+	private AtomicReference<RobotConfig> pending;
+
+	private WatchService watchService;
+	private Thread thread;
+
+	/**
+	 * @param path - The config file
+	 * @param running - The config the robot was started with
+	 */
+	public ConfigWatcher(String path, RobotConfig running) {
+		this.file = Paths.get(path).toAbsolutePath();
+		this.running = running;
+
+		pending = new AtomicReference<>();
+	}
+
+	/**
+	 * Start watching on a background thread
+	 */
+	public void start() {
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			DriverStation.reportError("Could not watch the config file: " + e.getMessage(), false);
+			return;//The boot config is kept
+		}
+
+		thread = new Thread(this::run, "Config Watcher");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	/**
+	 * Stop watching
+	 */
+	public void stop() {
+		if(watchService == null)
+			return;
+
+		try {
+			watchService.close();
+		} catch (IOException e) {
+		}
+	}
+
+	/**
+	 * The background thread, wait for the file to change and read it
+	 */
+	private void run() {
+		try {
+			while(true) {
+				WatchKey key = watchService.take();
+
+				boolean changed = false;
+				for(WatchEvent<?> event : key.pollEvents())
+					if(file.getFileName().equals(event.context()))
+						changed = true;
+				key.reset();
+
+				if(changed) {
+					Thread.sleep(settleMillis);
+					key.pollEvents();//The rest of the same save
+					reload();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {//Stopped
+		}
+	}
+
+	/**
+	 * Read the file, and hand it to the main thread if it is good
+	 */
+	private void reload() {
+		RobotConfig config = RobotConfig.load(file.toString());
+
+		if(!config.isValid()) {
+			DriverStation.reportError("Config not reloaded: " + String.join(", ", config.getErrors()), false);
+			return;
+		}
+
+		if(running.needsRestart(config))
+			DriverStation.reportWarning("Config has new IDs or ports, restart the robot code to use them", false);
+
+		pending.set(config);
+		DriverStation.reportWarning("Config reloaded, it is used while the robot is disabled", false);
+	}
+
+	/**
+	 * Take the newest good config, if there is one. Only swaps a reference, safe to call every loop
+	 *
+	 * @return - The config to apply, null if the file hasn't changed
+	 */
+	public RobotConfig poll() { return pending.getAndSet(null); }
+}
@@ -0,0 +1,56 @@
+package org.usfirst.frc.team3555.robot.Config;
+
+/**
+ * Settings of the {@link org.usfirst.frc.team3555.robot.SubSystems.CubeIO}, the "cubeIO." keys of the config file. <br>
+ * Turning it on or off, the IDs, the servo channel, and the release button only change on a restart, everything else can be reloaded while disabled
+ */
+public final class CubeIOConfig {
+	//Restart
+	private final boolean enabled;// <- Off leaves the intake out of the robot, for a robot without one
+	private final int leftID, rightID;
+	private final int servoChannel;
+	private final int releaseButton;// <- 0 = none
+
+	//Reload
+	private final double stallCurrent;// <- amps
+	private final double acquireCurrent;// <- amps
+	private final double holdPower;
+	private final double intakeSpeed;
+	private final int spinUpSamples;
+	private final double knobDeadzone;
+
+	public CubeIOConfig(ConfigFile file) {
+		enabled = file.getBoolean("cubeIO.enabled", true);
+		leftID = file.getInt("cubeIO.leftID", 47, 0, 62);//TODO Check ID #s
+		rightID = file.getInt("cubeIO.rightID", 48, 0, 62);
+		servoChannel = file.getInt("cubeIO.servoChannel", 0, 0, 9);//TODO Get channel #
+		releaseButton = file.getInt("cubeIO.releaseButton", 0, 0, 12);//TODO Decide a button for this (Buttons start at 1)
+
+		stallCurrent = file.getDouble("cubeIO.stallCurrent", 25, 0, 200);
+		acquireCurrent = file.getDouble("cubeIO.acquireCurrent", 15, 0, 200);
+		holdPower = file.getDouble("cubeIO.holdPower", .1, 0, 1);
+		intakeSpeed = file.getDouble("cubeIO.intakeSpeed", .5, 0, 1);
+		spinUpSamples = file.getInt("cubeIO.spinUpSamples", 10, 0, 1000);// <- Robot loops, 200 ms at 50 Hz
+		knobDeadzone = file.getDouble("cubeIO.knobDeadzone", .75, 0, 1);
+	}
+
+	/**
+	 * @return - Whether or not the robot has to be restarted to go from this config to the other one
+	 */
+	public boolean needsRestart(CubeIOConfig other) {
+		return enabled != other.enabled || leftID != other.leftID || rightID != other.rightID || servoChannel != other.servoChannel || releaseButton != other.releaseButton;
+	}
+
+	public boolean isEnabled() { return enabled; }
+	public int getLeftID() { return leftID; }
+	public int getRightID() { return rightID; }
+	public int getServoChannel() { return servoChannel; }
+	public int getReleaseButton() { return releaseButton; }
+
+	public double getStallCurrent() { return stallCurrent; }
+	public double getAcquireCurrent() { return acquireCurrent; }
+	public double getHoldPower() { return holdPower; }
+	public double getIntakeSpeed() { return intakeSpeed; }
+	public int getSpinUpSamples() { return spinUpSamples; }
+	public double getKnobDeadzone() { return knobDeadzone; }
+}
@@ -0,0 +1,101 @@
+package org.usfirst.frc.team3555.robot.Config;
+
+/**
+ * Settings of the {@link org.usfirst.frc.team3555.robot.SubSystems.DriveTrain}, the "drive." keys of the config file. <br>
+ * The IDs and the controller port only change on a restart, everything else can be reloaded while disabled
+ */
+public final class DriveConfig {
+	//Restart
+	private final int leftMaster, rightMaster;// <- Back talons, with the encoders
+	private final int leftFollower, rightFollower;// <- Front talons
+	private final int controllerPort;
+
+	//Reload
+	private final double wheelRadius;// <- meters
+	private final double distanceBetweenWheels;// <- meters
+	private final double deadzone;
+	private final double scaleFactorMinimum;
+	private final double maxAcceleration, maxJerk;// <- output / second, output / second^2
+	private final double autoSpeed;// <- meters / second
+	private final double backupFullSpeed;// <- rpm
+
+	//Gains, TODO Tune on the robot (the align gains are from the AlignSimulation)
+	private final double alignKP;// <- Turn output per radian
+	private final double alignMaxTurn, alignMinTurn;// <- Percent output
+	private final double alignTolerance;// <- degrees
+	private final double alignSettleTime;// <- seconds
+	private final double teleopHoldKP, teleopHoldMaxCorrection;// <- Percent output per meter, percent output
+	private final double autoHoldKP, autoHoldMaxCorrection;// <- rpm per meter, rpm
+	private final double distanceKP;// <- (meters / second) per meter left
+	private final double distanceMinSpeed;// <- meters / second
+	private final double distanceTolerance;// <- meters
+	private final double distanceSettleTime;// <- seconds
+
+	public DriveConfig(ConfigFile file) {
+		leftMaster = file.getInt("drive.leftMaster", 43, 0, 62);
+		rightMaster = file.getInt("drive.rightMaster", 44, 0, 62);
+		leftFollower = file.getInt("drive.leftFollower", 41, 0, 62);
+		rightFollower = file.getInt("drive.rightFollower", 42, 0, 62);
+		controllerPort = file.getInt("drive.controllerPort", 1, 0, 5);
+
+		wheelRadius = file.getDouble("drive.wheelRadius", 0.0762, .01, .5);
+		distanceBetweenWheels = file.getDouble("drive.distanceBetweenWheels", .51, .1, 2);
+		deadzone = file.getDouble("drive.deadzone", .05, 0, .5);
+		scaleFactorMinimum = file.getDouble("drive.scaleFactorMinimum", .3, 0, 1);
+		maxAcceleration = file.getDouble("drive.maxAcceleration", 4, 0, 1000);
+		maxJerk = file.getDouble("drive.maxJerk", 40, 0, 10000);
+		autoSpeed = file.getDouble("drive.autoSpeed", 1.5, .1, 5);
+		backupFullSpeed = file.getDouble("drive.backupFullSpeed", 5300, 0, 20000);
+
+		alignKP = file.getDouble("drive.alignKP", 1, 0, 100);
+		alignMaxTurn = file.getDouble("drive.alignMaxTurn", .4, 0, 1);
+		alignMinTurn = file.getDouble("drive.alignMinTurn", .08, 0, 1);
+		alignTolerance = file.getDouble("drive.alignTolerance", 1, 0, 45);
+		alignSettleTime = file.getDouble("drive.alignSettleTime", .25, 0, 5);
+		teleopHoldKP = file.getDouble("drive.teleopHoldKP", 2, 0, 100);
+		teleopHoldMaxCorrection = file.getDouble("drive.teleopHoldMaxCorrection", .15, 0, 1);
+		autoHoldKP = file.getDouble("drive.autoHoldKP", 400, 0, 100000);
+		autoHoldMaxCorrection = file.getDouble("drive.autoHoldMaxCorrection", 30, 0, 1000);
+		distanceKP = file.getDouble("drive.distanceKP", 3, 0, 100);// <- Slows down over the last half meter at the auto speed
+		distanceMinSpeed = file.getDouble("drive.distanceMinSpeed", .15, 0, 5);
+		distanceTolerance = file.getDouble("drive.distanceTolerance", .02, 0, 1);
+		distanceSettleTime = file.getDouble("drive.distanceSettleTime", .2, 0, 5);
+	}
+
+	/**
+	 * @return - Whether or not the robot has to be restarted to go from this config to the other one
+	 */
+	public boolean needsRestart(DriveConfig other) {
+		return leftMaster != other.leftMaster || rightMaster != other.rightMaster || leftFollower != other.leftFollower ||
+				rightFollower != other.rightFollower || controllerPort != other.controllerPort;
+	}
+
+	public int getLeftMaster() { return leftMaster; }
+	public int getRightMaster() { return rightMaster; }
+	public int getLeftFollower() { return leftFollower; }
+	public int getRightFollower() { return rightFollower; }
+	public int getControllerPort() { return controllerPort; }
+
+	public double getWheelRadius() { return wheelRadius; }
+	public double getDistanceBetweenWheels() { return distanceBetweenWheels; }
+	public double getDeadzone() { return deadzone; }
+	public double getScaleFactorMinimum() { return scaleFactorMinimum; }
+	public double getMaxAcceleration() { return maxAcceleration; }
+	public double getMaxJerk() { return maxJerk; }
+	public double getAutoSpeed() { return autoSpeed; }
+	public double getBackupFullSpeed() { return backupFullSpeed; }
+
+	public double getAlignKP() { return alignKP; }
+	public double getAlignMaxTurn() { return alignMaxTurn; }
+	public double getAlignMinTurn() { return alignMinTurn; }
+	public double getAlignTolerance() { return alignTolerance; }
+	public double getAlignSettleTime() { return alignSettleTime; }
+	public double getTeleopHoldKP() { return teleopHoldKP; }
+	public double getTeleopHoldMaxCorrection() { return teleopHoldMaxCorrection; }
+	public double getAutoHoldKP() { return autoHoldKP; }
+	public double getAutoHoldMaxCorrection() { return autoHoldMaxCorrection; }
+	public double getDistanceKP() { return distanceKP; }
+	public double getDistanceMinSpeed() { return distanceMinSpeed; }
+	public double getDistanceTolerance() { return distanceTolerance; }
+	public double getDistanceSettleTime() { return distanceSettleTime; }
+}
@@ -0,0 +1,45 @@
+package org.usfirst.frc.team3555.robot.Config;
+
+/**
+ * Settings of the {@link org.usfirst.frc.team3555.robot.SubSystems.Lift}, the "lift." keys of the config file. <br>
+ * Turning it on or off, the ID, and the encoder only change on a restart, everything else can be reloaded while disabled
+ */
+public final class LiftConfig {
+	//Restart
+	private final boolean enabled;// <- Off leaves the lift out of the robot, for a robot without one
+	private final int id;
+	private final int sensorUnitsPerRotation;
+
+	//Reload
+	private final double stallCurrent;// <- amps
+	private final double stallVelocity;// <- rpm
+	private final double velocityDamping;// <- percent output per rotation / second
+	private final double deadzone;
+
+	public LiftConfig(ConfigFile file) {
+		enabled = file.getBoolean("lift.enabled", true);
+		id = file.getInt("lift.id", 45, 0, 62);//TODO Check Id #
+		sensorUnitsPerRotation = file.getInt("lift.sensorUnitsPerRotation", 1024, 1, 100000);
+
+		stallCurrent = file.getDouble("lift.stallCurrent", 30, 0, 200);
+		stallVelocity = file.getDouble("lift.stallVelocity", 5, 0, 10000);
+		velocityDamping = file.getDouble("lift.velocityDamping", .01, 0, 1);
+		deadzone = file.getDouble("lift.deadzone", .05, 0, .5);
+	}
+
+	/**
+	 * @return - Whether or not the robot has to be restarted to go from this config to the other one
+	 */
+	public boolean needsRestart(LiftConfig other) {
+		return enabled != other.enabled || id != other.id || sensorUnitsPerRotation != other.sensorUnitsPerRotation;
+	}
+
+	public boolean isEnabled() { return enabled; }
+	public int getID() { return id; }
+	public int getSensorUnitsPerRotation() { return sensorUnitsPerRotation; }
+
+	public double getStallCurrent() { return stallCurrent; }
+	public double getStallVelocity() { return stallVelocity; }
+	public double getVelocityDamping() { return velocityDamping; }
+	public double getDeadzone() { return deadzone; }
+}
@@ -0,0 +1,67 @@
+package org.usfirst.frc.team3555.robot.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Every setting in the config file, read once into final fields. <br>
+ * A new file is a new RobotConfig, nothing in one ever changes, so the watcher thread can read a file while the main thread uses the old one. <br>
+ * Bad values are left at the code's default, and listed in getErrors().
+ */
+public final class RobotConfig {
+	private final DriveConfig drive;
+	private final LiftConfig lift;
+	private final ClimberConfig climber;
+	private final CubeIOConfig cubeIO;
+	private final int operatorPort;// <- Joystick shared by the lift, climber, and intake
+
+	private final List<String> errors;
+
+	public RobotConfig(ConfigFile file) {
+		operatorPort = file.getInt("operator.port", 0, 0, 5);
+		drive = new DriveConfig(file);
+		lift = new LiftConfig(file);
+		climber = new ClimberConfig(file);
+		cubeIO = new CubeIOConfig(file);
+
+		file.checkUnread();
+		errors = Collections.unmodifiableList(file.getErrors());
+	}
+
+	/**
+	 * Read a config file. If there is no file, every setting is the code's default
+	 *
+	 * @param path - The file
+	 * @return - The settings in the file
+	 */
+	public static RobotConfig load(String path) {
+		if(!new File(path).exists())
+			return new RobotConfig(ConfigFile.empty());
+
+		try {
+			return new RobotConfig(ConfigFile.read(path));
+		} catch (IOException e) {
+			ConfigFile empty = ConfigFile.empty();
+			empty.getErrors().add("Could not read " + path + ": " + e.getMessage());
+			return new RobotConfig(empty);
+		}
+	}
+
+	/**
+	 * @return - Whether or not the robot has to be restarted to go from this config to the other one (IDs, ports, and sensors)
+	 */
+	public boolean needsRestart(RobotConfig other) {
+		return operatorPort != other.operatorPort || drive.needsRestart(other.drive) || lift.needsRestart(other.lift) || climber.needsRestart(other.climber) || cubeIO.needsRestart(other.cubeIO);
+	}
+
+	public DriveConfig getDrive() { return drive; }
+	public LiftConfig getLift() { return lift; }
+	public ClimberConfig getClimber() { return climber; }
+	public CubeIOConfig getCubeIO() { return cubeIO; }
+	public int getOperatorPort() { return operatorPort; }
+
+	public boolean isValid() { return errors.isEmpty(); }
+	public List<String> getErrors() { return errors; }
+}
@@ -0,0 +1,157 @@
+package org.usfirst.frc.team3555.robot.Dashboard;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * Puts numbers on the dashboard without flooding the radio or the robot loop. <br>
+ * Each key has: <br>
+ *  Tolerance -> The value has to change by more than this to be sent again <br>
+ *  Min Period -> The value won't be sent more often than this <br>
+ * <br>
+ * set() only stores the value in an array, nothing is sent until flush() is called once at the end of the loop. 
+ * flush() sends every key that has changed enough (and hasn't been sent too recently), then flushes NetworkTables once so they all go out together. <br>
+ * The time flush() takes is measured, and put on the dashboard as well.
+ */
+public class DashboardPublisher {
+	public static final int maxKeys = 64;
+	
+	private NetworkTableInstance instance;
+	private NetworkTable table;
+	
+	private NetworkTableEntry[] entries;
+	private double[] values;// <- Latest value given to set()
+	private double[] sent;// <- Last value that was sent
+	private double[] sentTimes;// <- seconds
+	private double[] tolerances;
+	private double[] minPeriods;// <- seconds
+	private boolean[] hasSent;
+	private int keyCount;
+	
+	/**
+	 * Publish cost
+	 */
+	private int costKey;
+	private long lastFlushNanos;
+	private long maxFlushNanos;
+	private int lastPublished;
+	
+	/**
+	 * Creates a publisher that puts its keys in a table
+	 * 
+	 * @param instance - NetworkTables to publish to (NetworkTableInstance.getDefault() on the robot)
+	 * @param tableName - Table to put the keys in
+	 */
+	public DashboardPublisher(NetworkTableInstance instance, String tableName) {
+		this.instance = instance;
+		this.table = instance.getTable(tableName);
+		
+		entries = new NetworkTableEntry[maxKeys];
+		values = new double[maxKeys];
+		sent = new double[maxKeys];
+		sentTimes = new double[maxKeys];
+		tolerances = new double[maxKeys];
+		minPeriods = new double[maxKeys];
+		hasSent = new boolean[maxKeys];
+		
+		costKey = addKey("Dashboard Publish Time", .0001, 1);
+	}
+	
+	/**
+	 * Creates a publisher that keeps its values but never sends them, for running the subsystems off of the robot (replays and checks)
+	 */
+	public DashboardPublisher() {
+		entries = new NetworkTableEntry[maxKeys];
+		values = new double[maxKeys];
+		sent = new double[maxKeys];
+		sentTimes = new double[maxKeys];
+		tolerances = new double[maxKeys];
+		minPeriods = new double[maxKeys];
+		hasSent = new boolean[maxKeys];
+		
+		costKey = addKey("Dashboard Publish Time", .0001, 1);
+	}
+	
+	/**
+	 * Add a number to publish
+	 * 
+	 * @param name - Name of the key in the table
+	 * @param tolerance - Amount the value has to change by to be sent again
+	 * @param minPeriod - Seconds to wait before sending the value again
+	 * @return - The key number to set the value with
+	 */
+	public int addKey(String name, double tolerance, double minPeriod) {
+		if(keyCount == maxKeys)
+			throw new IllegalStateException("Too many dashboard keys, max is " + maxKeys);
+		
+		if(table != null)
+			entries[keyCount] = table.getEntry(name);
+		tolerances[keyCount] = tolerance;
+		minPeriods[keyCount] = minPeriod;
+		return keyCount++;
+	}
+	
+	/**
+	 * Store a value to be published on the next flush
+	 * 
+	 * @param key - Key from addKey
+	 * @param value - The value
+	 */
+	public void set(int key, double value) { values[key] = value; }
+	
+	public void set(int key, boolean value) { values[key] = value ? 1 : 0; }
+	
+	/**
+	 * Send every value that has changed enough, and is allowed to be sent, in one batch. 
+	 * Call this once at the end of the loop
+	 * 
+	 * @param now - Current time in seconds
+	 */
+	public void flush(double now) {
+		long start = System.nanoTime();
+		int published = 0;
+		
+		for(int i = 0; i < keyCount; i++) {
+			if(hasSent[i]) {
+				if(Math.abs(values[i] - sent[i]) <= tolerances[i])
+					continue;
+				if(now - sentTimes[i] < minPeriods[i])
+					continue;
+			}
+			
+			if(entries[i] != null)
+				entries[i].setDouble(values[i]);
+			sent[i] = values[i];
+			sentTimes[i] = now;
+			hasSent[i] = true;
+			published++;
+		}
+		
+		if(published > 0 && instance != null)
+			instance.flush();
+		
+		lastPublished = published;
+		lastFlushNanos = System.nanoTime() - start;
+		if(lastFlushNanos > maxFlushNanos)
+			maxFlushNanos = lastFlushNanos;
+		set(costKey, lastFlushNanos / 1e9);
+	}
+	
+	/**
+	 * @return - Seconds the last flush took
+	 */
+	public double getLastFlushTime() { return lastFlushNanos / 1e9; }
+	
+	/**
+	 * @return - Most seconds any flush has taken
+	 */
+	public double getMaxFlushTime() { return maxFlushNanos / 1e9; }
+	
+	/**
+	 * @return - Amount of values sent by the last flush
+	 */
+	public int getLastPublished() { return lastPublished; }
+	
+	public int getKeyCount() { return keyCount; }
+}
@@ -0,0 +1,265 @@
+package org.usfirst.frc.team3555.robot.Dashboard;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Lets the PIDF gains of the talons be changed from the dashboard while the robot is running, no deploy needed. <br>
+ * Each group of talons shares one set of gains, shown as "Group/kP", "Group/kI", "Group/kD", "Group/kF" in the table. <br>
+ * A gain is only sent to the talons when it has changed, and has stopped changing for the debounce time,
+ * so typing a number (or dragging a slider) doesn't send every value on the way to the bus. <br>
+ * The gains are queued for the {@link org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANIO} thread, so the loop never waits on the talons. 
+ * Only one gain is in flight at a time, it is applied (and saved) once every talon of the group has taken it. 
+ * If a talon doesn't take it, every talon is put back to the old gain, and so is the dashboard. <br>
+ * Negative or not a number values are not accepted, the dashboard is put back to the gain the talons have. <br>
+ * Accepted gains are saved to a file by save() (every disabled loop, so gains tuned while disabled are kept too), and that file is loaded when the groups are added, so the tuning is kept after a reboot.
+ * The file wins over the gains the code gives the talons, delete it to go back to the code's gains.
+ */
+public class PIDFTuner {
+	public static final int maxGroups = 8;
+	public static final int gainsPerGroup = 4;
+
+	private static final String[] gainNames = { "kP", "kI", "kD", "kF" };
+
+	private NetworkTable table;
+	private String filePath;
+	private Properties saved;
+
+	private double debounce;// <- seconds
+
+	private String[] names;
+	private CANTalon[][] talons;
+	private int groupCount;
+
+	/**
+	 * Gain index = group * 4 + (0 = P, 1 = I, 2 = D, 3 = F)
+	 * Applied -> What the talons have
+	 * Pending -> Last value read from the dashboard, and when it changed
+	 */
+	private NetworkTableEntry[] entries;
+	private double[] applied;
+	private double[] pending;
+	private double[] changeTimes;
+	private boolean changed;// <- Something to save
+	
+	/**
+	 * The gain that was sent and hasn't been answered yet, -1 for none
+	 */
+	private int inFlight;
+	private double inFlightValue;
+	private int inFlightErrors;// <- Config errors of the group's talons before it was sent
+
+	/**
+	 * Creates the tuner, and loads the saved gains
+	 *
+	 * @param instance - NetworkTables to put the gains in (NetworkTableInstance.getDefault() on the robot)
+	 * @param tableName - Table to put the groups in
+	 * @param filePath - File the accepted gains are saved to and loaded from
+	 * @param debounce - Seconds a value has to stay the same before it is sent to the talons
+	 */
+	public PIDFTuner(NetworkTableInstance instance, String tableName, String filePath, double debounce) {
+		this.table = instance.getTable(tableName);
+		this.filePath = filePath;
+		this.debounce = debounce;
+
+		names = new String[maxGroups];
+		talons = new CANTalon[maxGroups][];
+		entries = new NetworkTableEntry[maxGroups * gainsPerGroup];
+		applied = new double[maxGroups * gainsPerGroup];
+		pending = new double[maxGroups * gainsPerGroup];
+		changeTimes = new double[maxGroups * gainsPerGroup];
+		inFlight = -1;
+
+		saved = new Properties();
+		try(InputStream in = new FileInputStream(filePath)) {
+			saved.load(in);
+		} catch (IOException e) {//No file yet, the code's gains are used
+		}
+	}
+
+	/**
+	 * Add talons that share a set of gains. The gains start as the first talon's, unless there are saved ones, which are sent to every talon.
+	 * Call this when the robot starts, after the talons have been given their gains
+	 *
+	 * @param name - Name of the group in the table and the file
+	 * @param talons - The talons to tune
+	 * @return - Index of the group
+	 */
+	public int add(String name, CANTalon... talons) {
+		if(groupCount == maxGroups)
+			throw new IllegalStateException("Too many tuning groups, max is " + maxGroups);
+
+		int group = groupCount++;
+		names[group] = name;
+		this.talons[group] = talons;
+
+		for(int k = 0; k < gainsPerGroup; k++) {
+			int index = group * gainsPerGroup + k;
+			double gain = getGain(talons[0], k);
+
+			String savedGain = saved.getProperty(name + "." + gainNames[k]);
+			if(savedGain != null) {
+				try {
+					double loaded = Double.parseDouble(savedGain);
+					if(isAcceptable(loaded) && loaded != gain) {
+						gain = loaded;
+						for(CANTalon talon : talons)
+							setGain(talon, k, gain);
+					}
+				} catch (NumberFormatException e) {
+					DriverStation.reportError("Bad saved gain " + name + "." + gainNames[k] + ": " + savedGain, false);
+				}
+			}
+
+			entries[index] = table.getEntry(name + "/" + gainNames[k]);
+			entries[index].setDouble(gain);
+			applied[index] = gain;
+			pending[index] = gain;
+		}
+		return group;
+	}
+
+	/**
+	 * Read the dashboard, and send a gain that has settled on a new value. Call this once a loop
+	 *
+	 * @param now - Current time in seconds
+	 */
+	public void update(double now) {
+		if(inFlight != -1)
+			finishInFlight();
+		boolean sent = inFlight != -1;
+
+		for(int i = 0; i < groupCount * gainsPerGroup; i++) {
+			double value = entries[i].getDouble(applied[i]);
+
+			//Double.compare, so a NaN equals itself and gets through the debounce to be rejected
+			if(Double.compare(value, pending[i]) != 0) {//Still being changed, start the debounce over
+				pending[i] = value;
+				changeTimes[i] = now;
+				continue;
+			}
+
+			if(Double.compare(value, applied[i]) == 0 || sent || now - changeTimes[i] < debounce)
+				continue;
+
+			if(!isAcceptable(value)) {
+				DriverStation.reportWarning(names[i / gainsPerGroup] + " " + gainNames[i % gainsPerGroup] + " can't be " + value, false);
+				entries[i].setDouble(applied[i]);
+				pending[i] = applied[i];
+				continue;
+			}
+
+			inFlight = i;
+			inFlightValue = value;
+			inFlightErrors = getConfigErrors(talons[i / gainsPerGroup]);
+			for(CANTalon talon : talons[i / gainsPerGroup])
+				setGain(talon, i % gainsPerGroup, value);
+			sent = true;//One at a time, the rest wait for it to be answered
+		}
+	}
+	
+	/**
+	 * Once every talon of the group has been sent the gain in flight, apply it if they all took it, or put everything back if one didn't
+	 */
+	private void finishInFlight() {
+		CANTalon[] group = talons[inFlight / gainsPerGroup];
+		for(CANTalon talon : group)
+			if(!talon.isConfigDone())
+				return;
+		
+		int i = inFlight;
+		inFlight = -1;
+		if(getConfigErrors(group) == inFlightErrors) {
+			applied[i] = inFlightValue;
+			changed = true;
+			return;
+		}
+		
+		DriverStation.reportWarning(names[i / gainsPerGroup] + " " + gainNames[i % gainsPerGroup] + " of " + inFlightValue + " wasn't taken, back to " + applied[i], false);
+		for(CANTalon talon : group)
+			setGain(talon, i % gainsPerGroup, applied[i]);
+		entries[i].setDouble(applied[i]);
+		pending[i] = applied[i];
+	}
+	
+	private static int getConfigErrors(CANTalon[] group) {
+		int errors = 0;
+		for(CANTalon talon : group)
+			errors += talon.getConfigErrors();
+		return errors;
+	}
+
+	/**
+	 * Write the accepted gains to the file, if any have changed.
+	 * This writes a file, so call it when disabled, not from the enabled loop. Nothing is done if nothing changed, so it can be called every disabled loop
+	 */
+	public void save() {
+		if(!changed)
+			return;
+
+		for(int i = 0; i < groupCount * gainsPerGroup; i++)
+			saved.setProperty(names[i / gainsPerGroup] + "." + gainNames[i % gainsPerGroup], Double.toString(applied[i]));
+
+		try(OutputStream out = new FileOutputStream(filePath)) {
+			saved.store(out, "PIDF gains from the dashboard");
+			changed = false;
+		} catch (IOException e) {
+			DriverStation.reportError("Could not save the gains: " + e.getMessage(), false);
+		}
+	}
+
+	private static boolean isAcceptable(double gain) { return gain >= 0 && !Double.isNaN(gain) && !Double.isInfinite(gain); }
+
+	private static double getGain(CANTalon talon, int gain) {
+		switch(gain) {
+		case 0: return talon.getP();
+		case 1: return talon.getI();
+		case 2: return talon.getD();
+		default: return talon.getF();
+		}
+	}
+
+	/**
+	 * Only the one gain is configured, the others are left alone on the talon
+	 */
+	private static void setGain(CANTalon talon, int gain, double value) {
+		switch(gain) {
+		case 0: talon.setP(value); break;
+		case 1: talon.setI(value); break;
+		case 2: talon.setD(value); break;
+		default: talon.setF(value);
+		}
+	}
+
+	/**
+	 * @return - The gain the talons have (0 = P, 1 = I, 2 = D, 3 = F)
+	 */
+	public double getApplied(int group, int gain) { return applied[group * gainsPerGroup + gain]; }
+
+	/**
+	 * @return - Whether or not a gain has been sent, and not all of the talons have answered yet
+	 */
+	public boolean isInFlight() { return inFlight != -1; }
+	
+	/**
+	 * @return - Whether or not there are accepted gains that haven't been saved
+	 */
+	public boolean hasUnsaved() { return changed; }
+
+	public int getGroupCount() { return groupCount; }
+	public String getName(int group) { return names[group]; }
+
+	public double getDebounce() { return debounce; }
+	public void setDebounce(double debounce) { this.debounce = debounce; }
+}
@@ -0,0 +1,11 @@
+package org.usfirst.frc.team3555.robot.Events;
+
+@FunctionalInterface
+public interface Condition {
+	/**
+	 * Read the sensor or input, only called once a loop by the {@link EventBus}
+	 * 
+	 * @return -> Whether or not the condition is true right now
+	 */
+	public abstract boolean sample();
+}
@@ -0,0 +1,12 @@
+package org.usfirst.frc.team3555.robot.Events;
+
+@FunctionalInterface
+public interface EdgeListener {
+	/**
+	 * Called by the {@link EventBus} on a loop where a subscribed condition changed
+	 * 
+	 * @param rising -> Bits of the subscribed conditions that just became true
+	 * @param falling -> Bits of the subscribed conditions that just became false
+	 */
+	public abstract void edge(long rising, long falling);
+}
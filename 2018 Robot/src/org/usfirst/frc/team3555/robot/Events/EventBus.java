@@ -0,0 +1,204 @@
+package org.usfirst.frc.team3555.robot.Events;
+
+import java.util.function.DoubleSupplier;
+
+import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+
+/**
+ * Reads every digital condition the robot waits on (limit switches, buttons, a reading crossing a threshold) once a loop, in one place. <br>
+ * Each condition is a bit, so the whole robot's state is one long, and the edges are two more: <br>
+ *  Rising -> Bits that became true this loop <br>
+ *  Falling -> Bits that became false this loop <br>
+ * Subsystems subscribe to the bits they care about, and are only called on a loop where one of them changed.
+ * Actions check the bits instead of reading the hardware, so any amount of actions can wait on the same switch for one read a loop. <br>
+ * The first sample only sets the state, a button already held when the robot starts is not an edge. <br>
+ * Nothing is made after the conditions are added, sampling makes no garbage.
+ */
+public class EventBus {
+	public static final int maxConditions = 64;// <- Bits in a long
+	public static final int maxListeners = 16;
+
+	/**
+	 * @param event - Index from add()
+	 * @return - The bit of the event, to make masks with
+	 */
+	public static long bit(int event) { return 1L << event; }
+
+	private String[] names;
+	private int count;
+
+	/**
+	 * Each condition is a digital read, or a reading with a threshold
+	 * A threshold turns on past "on", and doesn't turn off until it is back past "off", so a noisy reading near the line doesn't flicker
+	 */
+	private Condition[] conditions;
+	private DoubleSupplier[] readings;
+	private double[] onLevels, offLevels;
+
+	private long state, rising, falling;
+	private boolean sampled;
+
+	private long[] masks;
+	private EdgeListener[] listeners;
+	private int listenerCount;
+
+	public EventBus() {
+		names = new String[maxConditions];
+		conditions = new Condition[maxConditions];
+		readings = new DoubleSupplier[maxConditions];
+		onLevels = new double[maxConditions];
+		offLevels = new double[maxConditions];
+
+		masks = new long[maxListeners];
+		listeners = new EdgeListener[maxListeners];
+	}
+
+	/**
+	 * Add a digital condition to sample every loop
+	 *
+	 * @param name - Name of the condition
+	 * @param condition - The read (A limit switch, a button...)
+	 * @return - The event index, for bit(), isSet(), rose(), and fell()
+	 */
+	public int add(String name, Condition condition) {
+		if(count == maxConditions)
+			throw new IllegalStateException("Too many conditions, max is " + maxConditions);
+
+		names[count] = name;
+		conditions[count] = condition;
+		return count++;
+	}
+
+	/**
+	 * Add a reading that is true past a threshold.
+	 * If on is above off, it is true when the reading goes above on, and false once it drops below off.
+	 * If on is below off, it is true when the reading goes below on, and false once it rises above off
+	 *
+	 * @param name - Name of the condition
+	 * @param reading - The reading
+	 * @param on - Level that makes the condition true
+	 * @param off - Level that makes it false again
+	 * @return - The event index, for bit(), isSet(), rose(), and fell()
+	 */
+	public int addThreshold(String name, DoubleSupplier reading, double on, double off) {
+		int event = add(name, null);
+		readings[event] = reading;
+		onLevels[event] = on;
+		offLevels[event] = off;
+		return event;
+	}
+
+	/**
+	 * Call the listener on every loop that one of the events in the mask changes
+	 *
+	 * @param mask - Bits of the events to listen to (bit(a) | bit(b))
+	 * @param listener - Called with the edges of the mask's events
+	 */
+	public void subscribe(long mask, EdgeListener listener) {
+		if(listenerCount == maxListeners)
+			throw new IllegalStateException("Too many event listeners, max is " + maxListeners);
+
+		masks[listenerCount] = mask;
+		listeners[listenerCount] = listener;
+		listenerCount++;
+	}
+
+	/**
+	 * Read every condition, find the edges, and call the listeners that have one.
+	 * Call this once a loop, before the subsystems and actions are updated
+	 */
+	public void sample() {
+		long next = 0;
+		for(int i = 0; i < count; i++)
+			if(read(i))
+				next |= bit(i);
+
+		if(sampled) {
+			rising = next & ~state;
+			falling = ~next & state;
+		} else {//Nothing to compare to yet
+			rising = 0;
+			falling = 0;
+			sampled = true;
+		}
+		state = next;
+
+		long edges = rising | falling;
+		if(edges == 0)
+			return;
+
+		for(int i = 0; i < listenerCount; i++)
+			if((edges & masks[i]) != 0)
+				listeners[i].edge(rising & masks[i], falling & masks[i]);
+	}
+
+	/**
+	 * Forget the state, so the next sample only sets it and has no edges (like the first sample). 
+	 * Call this when the conditions start coming from somewhere else, like a replay starting or ending
+	 */
+	public void reset() {
+		state = 0;
+		rising = 0;
+		falling = 0;
+		sampled = false;
+	}
+	
+	/**
+	 * @return - Whether or not the condition is true this loop
+	 */
+	private boolean read(int event) {
+		if(conditions[event] != null)
+			return conditions[event].sample();
+
+		double reading = readings[event].getAsDouble();
+		boolean set = (state & bit(event)) != 0;
+		double on = onLevels[event], off = offLevels[event];
+
+		if(on > off)//True above
+			return set ? reading > off : reading >= on;
+		return set ? reading < off : reading <= on;//True below
+	}
+
+	/**
+	 * Creates an action that waits for an event to be true (or false).
+	 * It only checks the bus, so it adds no reads of its own
+	 *
+	 * @param event - Event to wait for
+	 * @param value - Whether to wait for it to be true or false
+	 * @param timeoutSeconds - Seconds to give up after
+	 * @return - Action object to be added to the autonomous queue
+	 */
+	public Action getWaitAction(int event, boolean value, double timeoutSeconds) {
+		return new Action(null, (startTime) -> {
+			if(isSet(event) == value)
+				return true;
+			return Replay.currentTimeMillis() >= (timeoutSeconds * 1000) + startTime;
+		}, null);
+	}
+
+	/**
+	 * @return - Whether or not the event is true this loop
+	 */
+	public boolean isSet(int event) { return (state & bit(event)) != 0; }
+
+	/**
+	 * @return - Whether or not the event became true this loop
+	 */
+	public boolean rose(int event) { return (rising & bit(event)) != 0; }
+
+	/**
+	 * @return - Whether or not the event became false this loop
+	 */
+	public boolean fell(int event) { return (falling & bit(event)) != 0; }
+
+	/**
+	 * @return - Bits of every event that is true this loop
+	 */
+	public long getState() { return state; }
+	public long getRising() { return rising; }
+	public long getFalling() { return falling; }
+
+	public String getName(int event) { return names[event]; }
+	public int getCount() { return count; }
+}
@@ -0,0 +1,16 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+/**
+ * The battery readings that {@link org.usfirst.frc.team3555.robot.Power.Battery} caches once a loop
+ */
+public interface BatteryIO {
+	/**
+	 * @return - volts
+	 */
+	public double getVoltage();
+
+	/**
+	 * @return - amps drawn by the whole robot
+	 */
+	public double getTotalCurrent();
+}
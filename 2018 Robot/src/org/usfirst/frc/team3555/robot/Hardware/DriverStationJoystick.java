@@ -0,0 +1,22 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Joystick;
+
+/**
+ * A port of the real driver station. WPILib's joystick already has every read but the button bitfield
+ */
+public class DriverStationJoystick extends Joystick implements JoystickIO {
+	private DriverStation ds;
+
+	/**
+	 * @param port - USB port on the driver station
+	 */
+	public DriverStationJoystick(int port) {
+		super(port);
+		ds = DriverStation.getInstance();
+	}
+
+	@Override
+	public int getButtons() { return ds.getStickButtons(getPort()); }
+}
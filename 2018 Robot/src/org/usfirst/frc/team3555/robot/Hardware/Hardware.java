@@ -0,0 +1,127 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+import java.util.Arrays;
+
+import org.usfirst.frc.team3555.robot.Loop.Clock;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Servo;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Makes the talons, joysticks, servos, and battery that the robot code talks to, and gives it the time. <br>
+ * On the robot these are the real hardware. After useStandIns() they are stand-ins that only exist in memory, with the time from a {@link Clock}, 
+ * so the subsystems can be built and run on a computer without the HAL (replays, checks, and benchmarks). <br>
+ * A stand-in is made once per CAN ID / port and handed back every time after, so whatever runs the code can set the sensors and buttons, and look at the commands. <br>
+ * Errors and warnings go to the driver station on the robot, and to stderr off of it.
+ */
+public class Hardware {
+	public static final int maxTalonID = 62;
+	public static final int joystickPorts = 6;
+
+	private static Clock clock;// <- null on the robot
+
+	private static StandInTalon[] standInTalons = new StandInTalon[maxTalonID + 1];
+	private static JoystickIO[] joysticks = new JoystickIO[joystickPorts];
+	private static BatteryIO battery;
+
+	/**
+	 * Make stand-ins instead of hardware from now on, and forget any stand-ins made before. 
+	 * Only call this off of the robot, before anything is made
+	 *
+	 * @param clock - Where the time comes from
+	 */
+	public static void useStandIns(Clock clock) {
+		Hardware.clock = clock;
+
+		Arrays.fill(standInTalons, null);
+		Arrays.fill(joysticks, null);
+		battery = new StandInBattery();
+	}
+
+	/**
+	 * @return - Whether stand-ins are being made instead of hardware
+	 */
+	public static boolean isStandIn() { return clock != null; }
+
+	/**
+	 * @param id - CAN ID
+	 * @return - The talon with the ID (The same stand-in for the same ID)
+	 */
+	public static TalonIO talon(int id) {
+		if(!isStandIn())
+			return new PhoenixTalon(id);
+
+		if(standInTalons[id] == null)
+			standInTalons[id] = new StandInTalon(id);
+		return standInTalons[id];
+	}
+
+	/**
+	 * @param port - Driver station port
+	 * @return - The port's raw reads, the same object every time so the pressed and released edges are only given once
+	 */
+	public static JoystickIO joystick(int port) {
+		if(joysticks[port] == null)
+			joysticks[port] = isStandIn() ? new StandInJoystick(port) : new DriverStationJoystick(port);
+		return joysticks[port];
+	}
+
+	/**
+	 * @param channel - PWM channel
+	 * @return - The servo, a stand-in ignores what it is set to
+	 */
+	public static ServoIO servo(int channel) {
+		if(isStandIn())
+			return (value) -> {};
+		return new Servo(channel)::set;
+	}
+
+	/**
+	 * @return - The battery, made on the first call
+	 */
+	public static BatteryIO battery() {
+		if(battery == null)
+			battery = new PDPBattery();
+		return battery;
+	}
+
+	/**
+	 * @return - The stand-in for the ID, null if there isn't one
+	 */
+	public static StandInTalon getStandInTalon(int id) { return isStandIn() ? standInTalons[id] : null; }
+
+	/**
+	 * @return - The stand-in for the port, null when using the real driver station
+	 */
+	public static StandInJoystick getStandInJoystick(int port) { return isStandIn() ? (StandInJoystick) joystick(port) : null; }
+
+	/**
+	 * @return - The stand-in battery, null when using the real battery
+	 */
+	public static StandInBattery getStandInBattery() { return isStandIn() ? (StandInBattery) battery : null; }
+
+	/**
+	 * @return - FPGA time in seconds, or the clock's time
+	 */
+	public static double getTimestamp() { return isStandIn() ? clock.getTime() : Timer.getFPGATimestamp(); }
+
+	/**
+	 * @return - System time in milliseconds, or the clock's time in milliseconds
+	 */
+	public static long currentTimeMillis() { return isStandIn() ? (long) (clock.getTime() * 1000) : System.currentTimeMillis(); }
+
+	public static void reportError(String message) {
+		if(isStandIn())
+			System.err.println("Error: " + message);
+		else
+			DriverStation.reportError(message, false);
+	}
+
+	public static void reportWarning(String message) {
+		if(isStandIn())
+			System.err.println("Warning: " + message);
+		else
+			DriverStation.reportWarning(message, false);
+	}
+}
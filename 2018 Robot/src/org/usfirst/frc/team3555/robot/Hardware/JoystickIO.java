@@ -0,0 +1,38 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+/**
+ * The raw reads of one driver station port. <br>
+ * On the robot this is a {@link DriverStationJoystick}, off of the robot it is a {@link StandInJoystick}. 
+ * These are straight from the port, the controller wrappers put the macro and the replay in front of them
+ */
+public interface JoystickIO {
+	/**
+	 * @param axis - Axis number (starting at 0)
+	 * @return - -1 to 1
+	 */
+	public double getRawAxis(int axis);
+
+	/**
+	 * @param button - Button number (starting at 1)
+	 */
+	public boolean getRawButton(int button);
+
+	/**
+	 * @return - Whether the button went down since the last time this was asked
+	 */
+	public boolean getRawButtonPressed(int button);
+
+	/**
+	 * @return - Whether the button went up since the last time this was asked
+	 */
+	public boolean getRawButtonReleased(int button);
+
+	public int getAxisCount();
+
+	/**
+	 * @return - Every button, bit (button - 1) is set if the button is held
+	 */
+	public int getButtons();
+
+	public int getPort();
+}
@@ -0,0 +1,21 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+import edu.wpi.first.wpilibj.PowerDistributionPanel;
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * The real battery, the voltage from the roboRIO and the current from the PDP (which is on the CAN bus, so this is slow)
+ */
+public class PDPBattery implements BatteryIO {
+	private PowerDistributionPanel pdp;
+
+	public PDPBattery() {
+		pdp = new PowerDistributionPanel();
+	}
+
+	@Override
+	public double getVoltage() { return RobotController.getBatteryVoltage(); }
+
+	@Override
+	public double getTotalCurrent() { return pdp.getTotalCurrent(); }
+}
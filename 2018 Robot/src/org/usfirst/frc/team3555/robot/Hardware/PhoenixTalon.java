@@ -0,0 +1,31 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+import com.ctre.phoenix.motorcontrol.SensorCollection;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+
+/**
+ * A real Talon SRX on the CAN bus. Phoenix already has every call of {@link TalonIO}, only the sensor collection's reads are passed on here
+ */
+public class PhoenixTalon extends WPI_TalonSRX implements TalonIO {
+	private SensorCollection sensors;
+
+	/**
+	 * @param deviceNumber - CAN ID of the talon
+	 */
+	public PhoenixTalon(int deviceNumber) {
+		super(deviceNumber);
+		sensors = getSensorCollection();
+	}
+
+	@Override
+	public boolean isFwdLimitSwitchClosed() { return sensors.isFwdLimitSwitchClosed(); }
+
+	@Override
+	public boolean isRevLimitSwitchClosed() { return sensors.isRevLimitSwitchClosed(); }
+
+	@Override
+	public int getAnalogIn() { return sensors.getAnalogIn(); }
+
+	@Override
+	public int getAnalogInVel() { return sensors.getAnalogInVel(); }
+}
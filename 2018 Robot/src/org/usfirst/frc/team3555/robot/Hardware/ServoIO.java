@@ -0,0 +1,12 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+/**
+ * A PWM servo, all the robot does with one is move it
+ */
+@FunctionalInterface
+public interface ServoIO {
+	/**
+	 * @param value - Position, 0 to 1
+	 */
+	public abstract void set(double value);
+}
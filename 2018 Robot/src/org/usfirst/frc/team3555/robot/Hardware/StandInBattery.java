@@ -0,0 +1,18 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+/**
+ * A battery that only exists in memory, it reads whatever it was last set to (a full battery with nothing running to start)
+ */
+public class StandInBattery implements BatteryIO {
+	private volatile double voltage = 12;// <- Volatile, the power arbiter reads it on the control loop's thread
+	private volatile double totalCurrent;
+
+	@Override
+	public double getVoltage() { return voltage; }
+
+	@Override
+	public double getTotalCurrent() { return totalCurrent; }
+
+	public void setVoltage(double voltage) { this.voltage = voltage; }
+	public void setTotalCurrent(double totalCurrent) { this.totalCurrent = totalCurrent; }
+}
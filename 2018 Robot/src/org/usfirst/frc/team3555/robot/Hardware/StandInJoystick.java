@@ -0,0 +1,66 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+/**
+ * A driver station port that only exists in memory. Whatever the axes and buttons were last set to is what is read. <br>
+ * Pressed and released work like the driver station's, each edge is given once, to the first read after it
+ */
+public class StandInJoystick implements JoystickIO {
+	public static final int axisCount = 6;
+	public static final int buttonCount = 12;
+
+	private int port;
+	private double[] axes;
+	private int buttons;
+	private int pressed, released;// <- Edges that haven't been read yet, as bits
+
+	/**
+	 * @param port - Port it stands in for
+	 */
+	public StandInJoystick(int port) {
+		this.port = port;
+		axes = new double[axisCount];
+	}
+
+	public void setAxis(int axis, double value) { axes[axis] = value; }
+
+	public void setButton(int button, boolean held) {
+		int bit = 1 << (button - 1);
+		if(held && (buttons & bit) == 0)
+			pressed |= bit;
+		else if(!held && (buttons & bit) != 0)
+			released |= bit;
+
+		buttons = held ? buttons | bit : buttons & ~bit;
+	}
+
+	@Override
+	public double getRawAxis(int axis) { return axis < axisCount ? axes[axis] : 0; }
+
+	@Override
+	public boolean getRawButton(int button) { return button > 0 && (buttons & (1 << (button - 1))) != 0; }
+
+	@Override
+	public boolean getRawButtonPressed(int button) {
+		int bit = 1 << (button - 1);
+		boolean edge = (pressed & bit) != 0;
+		pressed &= ~bit;
+		return edge;
+	}
+
+	@Override
+	public boolean getRawButtonReleased(int button) {
+		int bit = 1 << (button - 1);
+		boolean edge = (released & bit) != 0;
+		released &= ~bit;
+		return edge;
+	}
+
+	@Override
+	public int getAxisCount() { return axisCount; }
+
+	@Override
+	public int getButtons() { return buttons; }
+
+	@Override
+	public int getPort() { return port; }
+}
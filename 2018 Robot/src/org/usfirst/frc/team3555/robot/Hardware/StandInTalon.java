@@ -0,0 +1,275 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.Faults;
+import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
+import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+
+/**
+ * A talon that only exists in memory, for running the robot code off of the robot (replays, checks, and benchmarks). <br>
+ * Commands and configs are kept so they can be looked at, every config call is taken (ErrorCode.OK). 
+ * The sensors read whatever they were last set to, nothing moves on its own. <br>
+ * Every field is a primitive, so commanding and reading one never makes garbage.
+ */
+public class StandInTalon implements TalonIO {
+	private int id;
+
+	/**
+	 * Commands
+	 */
+	private ControlMode mode = ControlMode.PercentOutput;
+	private double value;
+	private int commandCount;
+	private boolean brake, inverted;
+	private boolean voltageCompensation, currentLimited, limitSwitches = true, softLimits = true;
+
+	/**
+	 * Configs
+	 */
+	private double p, i, d, f;
+	private FeedbackDevice feedbackDevice = FeedbackDevice.None;
+	private int forwardSoftLimit, reverseSoftLimit;
+	private double voltageSaturation;
+	private int continuousCurrentLimit, peakCurrentLimit;
+	private int configCount;
+
+	/**
+	 * Sensors
+	 */
+	private int position, velocity;// <- Native units
+	private double current;// <- amps
+	private double outputVoltage;// <- volts
+	private double busVoltage = 12;// <- volts
+	private double temperature = 25;// <- celsius
+	private boolean forwardLimit, reverseLimit;
+	private int analogIn, analogInVel;
+
+	/**
+	 * Status
+	 */
+	private ErrorCode lastError = ErrorCode.OK;
+	private int faults;// <- Faults.toBitfield()
+	private boolean reset;
+
+	/**
+	 * @param id - CAN ID it stands in for
+	 */
+	public StandInTalon(int id) { this.id = id; }
+
+	//***************************** Commands ***********************************//
+
+	@Override
+	public void set(ControlMode mode, double value) {
+		this.mode = mode;
+		this.value = value;
+		commandCount++;
+	}
+
+	@Override
+	public void neutralOutput() { set(ControlMode.Disabled, 0); }
+
+	@Override
+	public void setNeutralMode(NeutralMode neutralMode) { brake = neutralMode == NeutralMode.Brake; }
+
+	@Override
+	public void setInverted(boolean invert) { inverted = invert; }
+
+	@Override
+	public boolean getInverted() { return inverted; }
+
+	@Override
+	public void enableVoltageCompensation(boolean enable) { voltageCompensation = enable; }
+
+	@Override
+	public void enableCurrentLimit(boolean enable) { currentLimited = enable; }
+
+	@Override
+	public void overrideLimitSwitchesEnable(boolean enable) { limitSwitches = enable; }
+
+	@Override
+	public void overrideSoftLimitsEnable(boolean enable) { softLimits = enable; }
+
+	//***************************** Configs ***********************************//
+
+	@Override
+	public ErrorCode config_kP(int slotIdx, double value, int timeoutMs) { p = value; return config(); }
+
+	@Override
+	public ErrorCode config_kI(int slotIdx, double value, int timeoutMs) { i = value; return config(); }
+
+	@Override
+	public ErrorCode config_kD(int slotIdx, double value, int timeoutMs) { d = value; return config(); }
+
+	@Override
+	public ErrorCode config_kF(int slotIdx, double value, int timeoutMs) { f = value; return config(); }
+
+	@Override
+	public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx, int timeoutMs) {
+		this.feedbackDevice = feedbackDevice;
+		return config();
+	}
+
+	@Override
+	public ErrorCode setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs) {
+		position = sensorPos;
+		return config();
+	}
+
+	@Override
+	public ErrorCode configForwardSoftLimitThreshold(int forwardSensorLimit, int timeoutMs) {
+		forwardSoftLimit = forwardSensorLimit;
+		return config();
+	}
+
+	@Override
+	public ErrorCode configReverseSoftLimitThreshold(int reverseSensorLimit, int timeoutMs) {
+		reverseSoftLimit = reverseSensorLimit;
+		return config();
+	}
+
+	@Override
+	public ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs) {
+		voltageSaturation = voltage;
+		return config();
+	}
+
+	@Override
+	public ErrorCode configContinuousCurrentLimit(int amps, int timeoutMs) {
+		continuousCurrentLimit = amps;
+		return config();
+	}
+
+	@Override
+	public ErrorCode configPeakCurrentLimit(int amps, int timeoutMs) {
+		peakCurrentLimit = amps;
+		return config();
+	}
+
+	@Override
+	public ErrorCode configForwardLimitSwitchSource(LimitSwitchSource type, LimitSwitchNormal normalOpenOrClose, int timeoutMs) { return config(); }
+
+	@Override
+	public ErrorCode configReverseLimitSwitchSource(LimitSwitchSource type, LimitSwitchNormal normalOpenOrClose, int timeoutMs) { return config(); }
+
+	private ErrorCode config() {
+		configCount++;
+		return lastError = ErrorCode.OK;
+	}
+
+	//***************************** Reads ***********************************//
+
+	@Override
+	public int getSelectedSensorPosition(int pidIdx) { return position; }
+
+	@Override
+	public int getSelectedSensorVelocity(int pidIdx) { return velocity; }
+
+	@Override
+	public double getOutputCurrent() { return current; }
+
+	@Override
+	public double getMotorOutputVoltage() { return outputVoltage; }
+
+	@Override
+	public double getBusVoltage() { return busVoltage; }
+
+	@Override
+	public double getTemperature() { return temperature; }
+
+	@Override
+	public boolean isFwdLimitSwitchClosed() { return forwardLimit; }
+
+	@Override
+	public boolean isRevLimitSwitchClosed() { return reverseLimit; }
+
+	@Override
+	public int getAnalogIn() { return analogIn; }
+
+	@Override
+	public int getAnalogInVel() { return analogInVel; }
+
+	//***************************** Status ***********************************//
+
+	@Override
+	public ErrorCode getLastError() { return lastError; }
+
+	@Override
+	public ErrorCode getFaults(Faults toFill) {
+		toFill.update(faults);
+		return lastError;
+	}
+
+	/**
+	 * @return - Whether it was reset since the last call, like the real talon this clears it
+	 */
+	@Override
+	public boolean hasResetOccurred() {
+		boolean wasReset = reset;
+		reset = false;
+		return wasReset;
+	}
+
+	@Override
+	public int getFirmwareVersion() { return 0x0300; }
+
+	@Override
+	public int getDeviceID() { return id; }
+
+	//***************************** Stand In ***********************************//
+
+	public void setPosition(int position) { this.position = position; }
+	public void setVelocity(int velocity) { this.velocity = velocity; }
+	public void setCurrent(double current) { this.current = current; }
+	public void setOutputVoltage(double outputVoltage) { this.outputVoltage = outputVoltage; }
+	public void setBusVoltage(double busVoltage) { this.busVoltage = busVoltage; }
+	public void setTemperature(double temperature) { this.temperature = temperature; }
+	public void setForwardLimit(boolean closed) { forwardLimit = closed; }
+	public void setReverseLimit(boolean closed) { reverseLimit = closed; }
+	public void setAnalogIn(int analogIn, int analogInVel) {
+		this.analogIn = analogIn;
+		this.analogInVel = analogInVel;
+	}
+
+	/**
+	 * @param error - What every read of the status gives, until the next config call
+	 */
+	public void setLastError(ErrorCode error) { lastError = error; }
+	public void setFaults(int faults) { this.faults = faults; }
+
+	/**
+	 * Act like the talon browned out, it forgets its configs and the next hasResetOccurred() is true
+	 */
+	public void reset() {
+		reset = true;
+		p = i = d = f = 0;
+		feedbackDevice = FeedbackDevice.None;
+		inverted = false;
+		brake = false;
+		voltageCompensation = false;
+		currentLimited = false;
+	}
+
+	public ControlMode getMode() { return mode; }
+	public double getValue() { return value; }
+	public int getCommandCount() { return commandCount; }
+	public boolean isBrake() { return brake; }
+	public boolean isVoltageCompensated() { return voltageCompensation; }
+	public boolean isCurrentLimited() { return currentLimited; }
+	public boolean isLimitSwitchEnabled() { return limitSwitches; }
+	public boolean isSoftLimitEnabled() { return softLimits; }
+
+	public double getP() { return p; }
+	public double getI() { return i; }
+	public double getD() { return d; }
+	public double getF() { return f; }
+	public FeedbackDevice getFeedbackDevice() { return feedbackDevice; }
+	public int getForwardSoftLimit() { return forwardSoftLimit; }
+	public int getReverseSoftLimit() { return reverseSoftLimit; }
+	public double getVoltageSaturation() { return voltageSaturation; }
+	public int getContinuousCurrentLimit() { return continuousCurrentLimit; }
+	public int getPeakCurrentLimit() { return peakCurrentLimit; }
+	public int getConfigCount() { return configCount; }
+}
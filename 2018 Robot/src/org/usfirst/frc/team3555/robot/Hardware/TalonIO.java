@@ -0,0 +1,64 @@
+package org.usfirst.frc.team3555.robot.Hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.Faults;
+import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
+import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+
+/**
+ * The calls {@link org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon} makes to a Talon SRX, named the same as Phoenix's. <br>
+ * On the robot this is a {@link PhoenixTalon}, off of the robot it is a {@link StandInTalon}, so the same subsystem code can run without the HAL.
+ */
+public interface TalonIO {
+	//***************************** Commands ***********************************//
+
+	public void set(ControlMode mode, double value);
+	public void neutralOutput();
+	public void setNeutralMode(NeutralMode neutralMode);
+	public void setInverted(boolean invert);
+	public boolean getInverted();
+	public void enableVoltageCompensation(boolean enable);
+	public void enableCurrentLimit(boolean enable);
+	public void overrideLimitSwitchesEnable(boolean enable);
+	public void overrideSoftLimitsEnable(boolean enable);
+
+	//***************************** Configs ***********************************//
+
+	public ErrorCode config_kP(int slotIdx, double value, int timeoutMs);
+	public ErrorCode config_kI(int slotIdx, double value, int timeoutMs);
+	public ErrorCode config_kD(int slotIdx, double value, int timeoutMs);
+	public ErrorCode config_kF(int slotIdx, double value, int timeoutMs);
+	public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx, int timeoutMs);
+	public ErrorCode setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs);
+	public ErrorCode configForwardSoftLimitThreshold(int forwardSensorLimit, int timeoutMs);
+	public ErrorCode configReverseSoftLimitThreshold(int reverseSensorLimit, int timeoutMs);
+	public ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs);
+	public ErrorCode configContinuousCurrentLimit(int amps, int timeoutMs);
+	public ErrorCode configPeakCurrentLimit(int amps, int timeoutMs);
+	public ErrorCode configForwardLimitSwitchSource(LimitSwitchSource type, LimitSwitchNormal normalOpenOrClose, int timeoutMs);
+	public ErrorCode configReverseLimitSwitchSource(LimitSwitchSource type, LimitSwitchNormal normalOpenOrClose, int timeoutMs);
+
+	//***************************** Reads ***********************************//
+
+	public int getSelectedSensorPosition(int pidIdx);
+	public int getSelectedSensorVelocity(int pidIdx);
+	public double getOutputCurrent();
+	public double getMotorOutputVoltage();
+	public double getBusVoltage();
+	public double getTemperature();
+	public boolean isFwdLimitSwitchClosed();
+	public boolean isRevLimitSwitchClosed();
+	public int getAnalogIn();
+	public int getAnalogInVel();
+
+	//***************************** Status ***********************************//
+
+	public ErrorCode getLastError();
+	public ErrorCode getFaults(Faults toFill);
+	public boolean hasResetOccurred();
+	public int getFirmwareVersion();
+	public int getDeviceID();
+}
@@ -0,0 +1,9 @@
+package org.usfirst.frc.team3555.robot.Loop;
+
+@FunctionalInterface
+public interface Clock {
+	/**
+	 * @return -> The current time in seconds
+	 */
+	public abstract double getTime();
+}
@@ -0,0 +1,190 @@
+package org.usfirst.frc.team3555.robot.Loop;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Runs control code at a fixed rate, separate from the driver station packets that IterativeRobot runs on. <br>
+ * There are two sets of callbacks: <br>
+ *  Fast -> Run every time the loop runs (100 - 200 Hz), for things like sampling sensors and current <br>
+ *  Slow -> Run every few loops, for things that don't need to be as quick <br>
+ * <br>
+ * The loop keeps track of how well it is keeping time: <br>
+ *  Jitter -> How far the time between two runs was from the period <br>
+ *  Overrun -> A run that took longer than the period <br>
+ * <br>
+ * On the robot start() uses a Notifier to call tick(). 
+ * Off the robot, give the loop a {@link SimClock} and call tick() by hand.
+ * 
+ * NOTE: The callbacks run on the Notifier's thread, NOT the main robot thread. Be careful with anything that is shared with teleopPeriodic.
+ */
+public class ControlLoop {
+	public static final int maxCallbacks = 16;
+	
+	private Clock clock;
+	private Notifier notifier;
+	
+	private double period;// <- seconds
+	private int slowDivider;// <- The slow callbacks run once every slowDivider ticks
+	
+	private LoopCallback[] fastCallbacks;
+	private int fastCount;
+	private LoopCallback[] slowCallbacks;
+	private int slowCount;
+	
+	/**
+	 * Statistics
+	 * Written by the loop's thread, volatile so that they can be read safely from the main thread
+	 */
+	private volatile boolean hasRun;
+	private volatile double lastStart;
+	private volatile long ticks;
+	private volatile long overruns;
+	private volatile double maxJitter;// <- seconds
+	private volatile double totalJitter;// <- seconds
+	private volatile double maxExecution;// <- seconds
+	private volatile double lastExecution;// <- seconds
+	
+	/**
+	 * Set by resetStatistics(), the loop's thread clears the statistics at the start of its next tick so they are only ever written by one thread
+	 */
+	private volatile boolean resetRequested;
+	
+	/**
+	 * Creates a control loop that runs off of the FPGA clock
+	 * 
+	 * @param frequency - Times a second to run the fast callbacks
+	 * @param slowDivider - Run the slow callbacks once every this many ticks
+	 */
+	public ControlLoop(double frequency, int slowDivider) {
+		this(Timer::getFPGATimestamp, frequency, slowDivider);
+	}
+	
+	/**
+	 * Creates a control loop that runs off of the given clock
+	 * 
+	 * @param clock - Clock to measure the time with
+	 * @param frequency - Times a second to run the fast callbacks
+	 * @param slowDivider - Run the slow callbacks once every this many ticks
+	 */
+	public ControlLoop(Clock clock, double frequency, int slowDivider) {
+		this.clock = clock;
+		this.period = 1.0 / frequency;
+		this.slowDivider = Math.max(1, slowDivider);
+		
+		fastCallbacks = new LoopCallback[maxCallbacks];
+		slowCallbacks = new LoopCallback[maxCallbacks];
+	}
+	
+	/**
+	 * Add code to be run every tick. 
+	 * Add all callbacks BEFORE starting the loop
+	 * 
+	 * @param callback - Code to run
+	 */
+	public void addFast(LoopCallback callback) {
+		if(fastCount == maxCallbacks)
+			throw new IllegalStateException("Too many fast callbacks, max is " + maxCallbacks);
+		fastCallbacks[fastCount++] = callback;
+	}
+	
+	/**
+	 * Add code to be run every few ticks (set by the slow divider). 
+	 * Add all callbacks BEFORE starting the loop
+	 * 
+	 * @param callback - Code to run
+	 */
+	public void addSlow(LoopCallback callback) {
+		if(slowCount == maxCallbacks)
+			throw new IllegalStateException("Too many slow callbacks, max is " + maxCallbacks);
+		slowCallbacks[slowCount++] = callback;
+	}
+	
+	/**
+	 * Start running the loop with a Notifier
+	 */
+	public void start() {
+		if(notifier == null)
+			notifier = new Notifier(this::tick);
+		
+		hasRun = false;
+		notifier.startPeriodic(period);
+	}
+	
+	/**
+	 * Stop the Notifier, the loop can be started again later
+	 */
+	public void stop() {
+		if(notifier != null)
+			notifier.stop();
+	}
+	
+	/**
+	 * Run the loop once -> The fast callbacks, and the slow callbacks if it is their turn. 
+	 * This is what the Notifier calls, call it directly to run the loop with a {@link SimClock}
+	 */
+	public void tick() {
+		double start = clock.getTime();
+		
+		if(resetRequested) {
+			clearStatistics();
+			resetRequested = false;
+		}
+		
+		if(hasRun) {
+			double jitter = Math.abs((start - lastStart) - period);
+			totalJitter += jitter;
+			if(jitter > maxJitter)
+				maxJitter = jitter;
+		}
+		lastStart = start;
+		hasRun = true;
+		
+		for(int i = 0; i < fastCount; i++)
+			fastCallbacks[i].update(start);
+		
+		if(ticks % slowDivider == 0)
+			for(int i = 0; i < slowCount; i++)
+				slowCallbacks[i].update(start);
+		
+		ticks++;
+		
+		lastExecution = clock.getTime() - start;
+		if(lastExecution > maxExecution)
+			maxExecution = lastExecution;
+		if(lastExecution > period)
+			overruns++;
+	}
+	
+	/**
+	 * Clear all of the statistics. 
+	 * This is safe to call from any thread, they are cleared at the start of the next tick
+	 */
+	public void resetStatistics() { resetRequested = true; }
+	
+	private void clearStatistics() {
+		ticks = 0;
+		overruns = 0;
+		maxJitter = 0;
+		totalJitter = 0;
+		maxExecution = 0;
+		lastExecution = 0;
+		hasRun = false;
+	}
+	
+	/**
+	 * @return - Average difference between the expected period and the measured period in seconds
+	 */
+	public double getAverageJitter() {
+		if(ticks < 2)
+			return 0;
+		return totalJitter / (ticks - 1);
+	}
+	
+	public double getMaxJitter() { return maxJitter; }
+	public double getMaxExecution() { return maxExecution; }
+	public double getLastExecution() { return lastExecution; }
+	public long getOverruns() { return overruns; }
+	public long getTicks() { return ticks; }
+	public double getPeriod() { return period; }
+}
@@ -0,0 +1,11 @@
+package org.usfirst.frc.team3555.robot.Loop;
+
+@FunctionalInterface
+public interface LoopCallback {
+	/**
+	 * Dictates what is to be done every time the loop runs
+	 * 
+	 * @param timestamp -> The time (seconds) that this run of the loop started at
+	 */
+	public abstract void update(double timestamp);
+}
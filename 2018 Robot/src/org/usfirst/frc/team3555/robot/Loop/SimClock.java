@@ -0,0 +1,28 @@
+package org.usfirst.frc.team3555.robot.Loop;
+
+/**
+ * A clock that only moves when it is told to. <br>
+ * Used to run a {@link ControlLoop} (or anything else that takes a {@link Clock}) off of the robot, without waiting on real time.
+ */
+public class SimClock implements Clock {
+	private double time;// <- seconds
+	
+	public SimClock() {}
+	
+	/**
+	 * @param time - Time to start at in seconds
+	 */
+	public SimClock(double time) { this.time = time; }
+	
+	@Override
+	public double getTime() { return time; }
+	
+	/**
+	 * Move the clock forward
+	 * 
+	 * @param seconds - Seconds to move forward by
+	 */
+	public void advance(double seconds) { time += seconds; }
+	
+	public void setTime(double time) { this.time = time; }
+}
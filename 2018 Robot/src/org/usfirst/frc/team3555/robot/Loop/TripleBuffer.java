@@ -0,0 +1,58 @@
+package org.usfirst.frc.team3555.robot.Loop;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the latest value from one thread to another, without locks and without allocating. <br>
+ * There are three objects: one the writer is filling, one the reader is using, and one in the middle. 
+ * publish() swaps the writer's object with the middle one, and latest() swaps the middle one with the reader's (only if something new was published). <br>
+ * The reader always gets the newest finished object, and the writer never waits on the reader. Old values are simply overwritten. <br>
+ * <br>
+ * NOTE: Only one thread can write, and only one thread can read. Fill getWriteBuffer() then call publish(), and only use the object from latest() until the next call to latest()
+ */
+public class TripleBuffer<T> {
+	private static final int fresh = 4;// <- Set on the middle index when it hasn't been read yet
+	
+	private final Object[] buffers;
+	private final AtomicInteger middle;
+	private int writeIndex;
+	private int readIndex;
+	
+	/**
+	 * @param first, second, third - The three objects to pass around (they should all start the same)
+	 */
+	public TripleBuffer(T first, T second, T third) {
+		buffers = new Object[] { first, second, third };
+		writeIndex = 0;
+		middle = new AtomicInteger(1);
+		readIndex = 2;
+	}
+	
+	/**
+	 * @return - The object for the writer to fill
+	 */
+	@SuppressWarnings("unchecked")
+	public T getWriteBuffer() { return (T) buffers[writeIndex]; }
+	
+	/**
+	 * Make the filled write buffer available to the reader, and get a new one to write to
+	 */
+	public void publish() {
+		writeIndex = middle.getAndSet(writeIndex | fresh) & 3;
+	}
+	
+	/**
+	 * @return - The newest published object (the same one as last time if nothing new was published)
+	 */
+	@SuppressWarnings("unchecked")
+	public T latest() {
+		if((middle.get() & fresh) != 0)
+			readIndex = middle.getAndSet(readIndex) & 3;
+		return (T) buffers[readIndex];
+	}
+	
+	/**
+	 * @return - Whether or not something has been published that the reader hasn't gotten yet
+	 */
+	public boolean hasNew() { return (middle.get() & fresh) != 0; }
+}
@@ -0,0 +1,167 @@
+package org.usfirst.frc.team3555.robot.Macro;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.SubSystems.SubSystemRegistry;
+
+/**
+ * A recording of the driver station inputs over a stretch of teleop, that can be played back as an {@link Action}. <br>
+ * Each frame is one loop: the time since the start (for logging), and for every recorded port the axes and the buttons. <br>
+ *  Time -> float seconds <br>
+ *  Axes -> short, -1 to 1 scaled to +- 32767 <br>
+ *  Buttons -> int, bit (button - 1) is set if the button is held <br>
+ * So a frame of two controllers is 36 bytes, and a 15 second macro is about 27 KB. <br>
+ * Everything is in arrays that are made when the macro is recorded or loaded, playing it back only reads them.
+ */
+public class Macro {
+	public static final int axesPerPort = 6;
+	public static final int fileVersion = 1;
+
+	private static final int magic = 0x4D41434F;// <- "MACO"
+
+	private int[] ports;
+	private int frameCount;
+
+	private float[] times;// <- [frame]
+	private short[] axes;// <- [(frame * ports + port) * axesPerPort + axis]
+	private int[] buttons;// <- [frame * ports + port]
+
+	/**
+	 * Used by the {@link MacroRecorder}, and load()
+	 */
+	Macro(int[] ports, int frameCount, float[] times, short[] axes, int[] buttons) {
+		this.ports = ports;
+		this.frameCount = frameCount;
+		this.times = times;
+		this.axes = axes;
+		this.buttons = buttons;
+	}
+
+	/**
+	 * Creates an action that plays the macro back.
+	 * Every loop the inputs are set to the next frame, then the subsystems' teleop code is run with them.
+	 * So the same action works in teleop (instead of the normal teleop update) and in autonomous. <br>
+	 * The macro owns every subsystem while it plays, in autonomous the subsystems' autonomous update is skipped (see {@link MacroPlayer#isPlaying()}). 
+	 * The subsystems keep the last frame's commands when it ends
+	 *
+	 * @param subSystems - Subsystems to run the teleop code of
+	 * @return - Action object to be added to the autonomous queue, or updated in teleop
+	 */
+	public Action getAction(SubSystemRegistry subSystems) {
+		return new Action(() -> {//Start
+			MacroPlayer.start(this);
+		}, (startTime) -> {//Update
+			boolean done = MacroPlayer.update();
+			subSystems.teleopUpdate();
+			return done;
+		}, () -> {//Clean Up
+			MacroPlayer.stop();
+		});
+	}
+
+	/**
+	 * @param port - Joystick port
+	 * @return - Index of the port in this macro, -1 if it wasn't recorded
+	 */
+	public int getPortIndex(int port) {
+		for(int i = 0; i < ports.length; i++)
+			if(ports[i] == port)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * @return - The axis in a frame, -1 to 1
+	 */
+	public double getAxis(int frame, int portIndex, int axis) {
+		return axes[(frame * ports.length + portIndex) * axesPerPort + axis] / 32767.0;
+	}
+
+	/**
+	 * @return - Bits of the buttons held in a frame, bit (button - 1)
+	 */
+	public int getButtons(int frame, int portIndex) { return buttons[frame * ports.length + portIndex]; }
+
+	/**
+	 * @return - Seconds from the start of the macro to the frame
+	 */
+	public double getTime(int frame) { return times[frame]; }
+
+	/**
+	 * @return - Seconds from the start to the last frame
+	 */
+	public double getDuration() { return frameCount == 0 ? 0 : times[frameCount - 1]; }
+
+	public int getFrameCount() { return frameCount; }
+	public int getPortCount() { return ports.length; }
+	public int getPort(int portIndex) { return ports[portIndex]; }
+
+	//***************************** File ***********************************//
+
+	/**
+	 * Write the macro to a file
+	 *
+	 * @param path - The file
+	 */
+	public void save(String path) throws IOException {
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+			out.writeInt(magic);
+			out.writeInt(fileVersion);
+			out.writeInt(ports.length);
+			for(int port : ports)
+				out.writeInt(port);
+			out.writeInt(frameCount);
+
+			for(int frame = 0; frame < frameCount; frame++) {
+				out.writeFloat(times[frame]);
+				for(int port = 0; port < ports.length; port++) {
+					for(int axis = 0; axis < axesPerPort; axis++)
+						out.writeShort(axes[(frame * ports.length + port) * axesPerPort + axis]);
+					out.writeInt(buttons[frame * ports.length + port]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Read a macro from a file
+	 *
+	 * @param path - The file
+	 * @return - The macro
+	 */
+	public static Macro load(String path) throws IOException {
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+			if(in.readInt() != magic)
+				throw new IOException(path + " is not a macro");
+			int version = in.readInt();
+			if(version != fileVersion)
+				throw new IOException(path + " is macro version " + version + ", expected " + fileVersion);
+
+			int[] ports = new int[in.readInt()];
+			for(int i = 0; i < ports.length; i++)
+				ports[i] = in.readInt();
+
+			int frameCount = in.readInt();
+			float[] times = new float[frameCount];
+			short[] axes = new short[frameCount * ports.length * axesPerPort];
+			int[] buttons = new int[frameCount * ports.length];
+
+			for(int frame = 0; frame < frameCount; frame++) {
+				times[frame] = in.readFloat();
+				for(int port = 0; port < ports.length; port++) {
+					for(int axis = 0; axis < axesPerPort; axis++)
+						axes[(frame * ports.length + port) * axesPerPort + axis] = in.readShort();
+					buttons[frame * ports.length + port] = in.readInt();
+				}
+			}
+			return new Macro(ports, frameCount, times, axes, buttons);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package org.usfirst.frc.team3555.robot.Macro;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.Events.EventBus;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Hardware.JoystickIO;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+import org.usfirst.frc.team3555.robot.SubSystems.SubSystemRegistry;
+
+/**
+ * Records and plays back macros in teleop, from two buttons on the driver's controller. <br>
+ * Back starts and stops recording, Start plays the macro (or stops it early). While a macro plays, it runs the teleop code with its inputs instead of the driver's. <br>
+ * The buttons and the frame times go through {@link Replay}, but not through the {@link MacroPlayer}, so a macro playing back can't press them. <br>
+ * The robot and the {@link org.usfirst.frc.team3555.robot.Replay.ReplayRunner} both run teleop through update(), so a replay records and plays macros on the same loops the robot did.
+ */
+public class MacroControl {
+	public static final int recordButton = 7;// <- Back
+	public static final int playButton = 8;// <- Start
+
+	private SubSystemRegistry subSystems;
+	private EventBus events;
+	private int recordEvent, playEvent;
+
+	private MacroRecorder recorder;
+	private Macro macro;
+	private Action playback;
+	private boolean unsaved;
+
+	/**
+	 * @param subSystems - Subsystems a macro runs the teleop code of
+	 * @param events - Event bus to read the buttons with, sampled before each update()
+	 * @param driverPort - Port of the controller with the buttons
+	 * @param ports - Joystick ports to record
+	 * @param maxSeconds - Longest macro that can be recorded
+	 * @param loopHz - How often update() is called
+	 */
+	public MacroControl(SubSystemRegistry subSystems, EventBus events, int driverPort, int[] ports, double maxSeconds, double loopHz) {
+		this.subSystems = subSystems;
+		this.events = events;
+
+		JoystickIO driver = Hardware.joystick(driverPort);
+		int recordSource = Replay.source(Replay.button, driverPort, recordButton);
+		int playSource = Replay.source(Replay.button, driverPort, playButton);
+		recordEvent = events.add("Macro Record Button", () -> Replay.read(recordSource, driver.getRawButton(recordButton)));
+		playEvent = events.add("Macro Play Button", () -> Replay.read(playSource, driver.getRawButton(playButton)));
+
+		recorder = new MacroRecorder(ports, maxSeconds, loopHz);
+	}
+
+	/**
+	 * The teleop tick: start or stop recording and playing from the buttons, then run either the macro or the driver's teleop code
+	 */
+	public void update() {
+		double now = Replay.getTimestamp();
+
+		if(events.rose(recordEvent) && playback == null) {
+			if(recorder.isRecording())
+				finish();
+			else
+				recorder.start(now);
+		}
+
+		if(events.rose(playEvent) && !recorder.isRecording()) {
+			if(playback != null)
+				playback.interupt();
+			else if(macro != null)
+				playback = macro.getAction(subSystems);
+		}
+
+		if(recorder.isRecording() && !recorder.record(now))//Full
+			finish();
+
+		if(playback != null) {
+			if(!playback.isStarted())
+				playback.start();
+			if(playback.update()) {
+				playback.cleanUp();
+				playback = null;
+			}
+		} else
+			subSystems.teleopUpdate();
+	}
+
+	/**
+	 * Finish a recording, and stop a macro from teleop or from the autonomous queue, the controllers are live again
+	 */
+	public void stop() {
+		if(recorder.isRecording())
+			finish();
+		MacroPlayer.stop();
+		playback = null;
+	}
+
+	/**
+	 * Stop recording, and keep the macro to play and save
+	 */
+	private void finish() {
+		Macro recorded = recorder.finish();
+		if(recorded == null)
+			return;
+
+		macro = recorded;
+		unsaved = true;
+		Hardware.reportWarning("Recorded a " + macro.getDuration() + " s macro");
+	}
+
+	/**
+	 * Load the macro to play, if there is one
+	 *
+	 * @param path - The macro file
+	 */
+	public void load(String path) {
+		if(!new File(path).exists())
+			return;
+
+		try {
+			setMacro(Macro.load(path));
+		} catch (IOException e) {
+			Hardware.reportError("Could not load the macro: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Save the macro, if one was recorded since the last save. Only call this while disabled
+	 *
+	 * @param path - The macro file
+	 */
+	public void save(String path) {
+		if(!unsaved)
+			return;
+
+		try {
+			macro.save(path);
+			unsaved = false;
+		} catch (IOException e) {
+			Hardware.reportError("Could not save the macro: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return - The macro that Start plays, null if there isn't one
+	 */
+	public Macro getMacro() { return macro; }
+
+	/**
+	 * Replace the macro that Start plays, it counts as saved
+	 *
+	 * @param macro - The macro, null for none
+	 */
+	public void setMacro(Macro macro) {
+		this.macro = macro;
+		unsaved = false;
+	}
+
+	public boolean isRecording() { return recorder.isRecording(); }
+	public boolean isPlaying() { return playback != null; }
+}
@@ -0,0 +1,115 @@
+package org.usfirst.frc.team3555.robot.Macro;
+
+/**
+ * Plays a {@link Macro} back by standing in for the driver station. <br>
+ * The controller wrappers send their raw reads through here (before {@link org.usfirst.frc.team3555.robot.Replay.Replay}, so a match recording has the macro's inputs in it).
+ * While a macro is playing, the ports it recorded read from the current frame, every other port is live. <br>
+ * Every update() plays exactly one frame, so the code sees the same inputs for the same amount of loops as when it was recorded, even if a loop runs late.
+ * Every read in a loop sees the same frame, and pressed / released are the changes from the last frame, so no press is ever skipped. <br>
+ * Only the main robot thread should use this, like the controllers themselves.
+ */
+public class MacroPlayer {
+	private static Macro macro;
+	private static int frame, lastFrame;
+	private static boolean started;// <- Whether the first frame has been played
+	private static boolean playing;
+
+	/**
+	 * Start playing a macro, the first update() plays its first frame
+	 *
+	 * @param macro - The macro
+	 */
+	public static void start(Macro macro) {
+		MacroPlayer.macro = macro;
+		frame = 0;
+		lastFrame = 0;
+		started = false;
+		playing = macro.getFrameCount() > 0;
+	}
+
+	/**
+	 * Move to the next frame. Call this once a loop, before the inputs are read
+	 *
+	 * @return - Whether or not the macro has played its last frame
+	 */
+	public static boolean update() {
+		if(!playing)
+			return true;
+
+		lastFrame = frame;
+		if(started && frame + 1 < macro.getFrameCount())//Stays on the last frame if it is updated after it is done
+			frame++;
+		started = true;
+
+		return frame + 1 >= macro.getFrameCount();
+	}
+
+	/**
+	 * Stop playing, every port is live again
+	 */
+	public static void stop() { playing = false; }
+
+	public static boolean isPlaying() { return playing; }
+
+	/**
+	 * @return - Frame that is being played
+	 */
+	public static int getFrame() { return frame; }
+
+	/**
+	 * @return - Seconds into the recording of the frame being played, for logging (the frames are played by loop, not by time)
+	 */
+	public static double getRecordedTime() { return playing ? macro.getTime(frame) : 0; }
+
+	//***************************** Reads ***********************************//
+
+	/**
+	 * @param port - Joystick port
+	 * @param axis - Axis number
+	 * @param live - The value from the driver station
+	 * @return - The macro's value if it is playing this port, otherwise the live value
+	 */
+	public static double axis(int port, int axis, double live) {
+		int index = playingIndex(port);
+		if(index == -1 || axis >= Macro.axesPerPort)
+			return live;
+		return macro.getAxis(frame, index, axis);
+	}
+
+	/**
+	 * @param port - Joystick port
+	 * @param button - Button number (starting at 1)
+	 * @param live - The value from the driver station
+	 * @return - The macro's value if it is playing this port, otherwise the live value
+	 */
+	public static boolean button(int port, int button, boolean live) {
+		int index = playingIndex(port);
+		if(index == -1)
+			return live;
+		return isHeld(macro.getButtons(frame, index), button);
+	}
+
+	/**
+	 * @return - Whether the button went down between the last loop's frame and this one (or the live value)
+	 */
+	public static boolean buttonPressed(int port, int button, boolean live) {
+		int index = playingIndex(port);
+		if(index == -1)
+			return live;
+		return isHeld(macro.getButtons(frame, index), button) && !isHeld(macro.getButtons(lastFrame, index), button);
+	}
+
+	/**
+	 * @return - Whether the button went up between the last loop's frame and this one (or the live value)
+	 */
+	public static boolean buttonReleased(int port, int button, boolean live) {
+		int index = playingIndex(port);
+		if(index == -1)
+			return live;
+		return !isHeld(macro.getButtons(frame, index), button) && isHeld(macro.getButtons(lastFrame, index), button);
+	}
+
+	private static int playingIndex(int port) { return playing ? macro.getPortIndex(port) : -1; }
+
+	private static boolean isHeld(int buttons, int button) { return button > 0 && (buttons & (1 << (button - 1))) != 0; }
+}
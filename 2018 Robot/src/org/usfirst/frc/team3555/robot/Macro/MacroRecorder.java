@@ -0,0 +1,109 @@
+package org.usfirst.frc.team3555.robot.Macro;
+
+import java.util.Arrays;
+
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Hardware.JoystickIO;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+
+/**
+ * Records the driver station inputs into a {@link Macro}, one frame a loop. <br>
+ * The inputs are read from the driver station directly, so every axis and button is recorded, not just the ones the code happens to read. 
+ * They still go through {@link Replay}, so a replay records the same macro. <br>
+ * The arrays are made once for the longest macro, recording a frame makes no garbage. finish() copies out the frames that were used.
+ */
+public class MacroRecorder {
+	private int[] ports;
+	private JoystickIO[] joysticks;
+	private int maxFrames;
+
+	private float[] times;
+	private short[] axes;
+	private int[] buttons;
+
+	private int frameCount;
+	private double startTime;
+	private boolean recording;
+
+	/**
+	 * @param ports - Joystick ports to record
+	 * @param maxSeconds - Longest macro that can be recorded
+	 * @param loopHz - How often record() is called
+	 */
+	public MacroRecorder(int[] ports, double maxSeconds, double loopHz) {
+		this.ports = ports;
+		joysticks = new JoystickIO[ports.length];
+		for(int i = 0; i < ports.length; i++)
+			joysticks[i] = Hardware.joystick(ports[i]);
+		this.maxFrames = (int) Math.ceil(maxSeconds * loopHz);
+
+		times = new float[maxFrames];
+		axes = new short[maxFrames * ports.length * Macro.axesPerPort];
+		buttons = new int[maxFrames * ports.length];
+	}
+
+	/**
+	 * Start a new macro, forgetting anything that was being recorded
+	 *
+	 * @param now - Current time in seconds
+	 */
+	public void start(double now) {
+		frameCount = 0;
+		startTime = now;
+		recording = true;
+	}
+
+	/**
+	 * Record this loop's inputs. Call this once a loop while recording
+	 *
+	 * @param now - Current time in seconds
+	 * @return - Whether or not there was room for the frame (Recording stops when it is full)
+	 */
+	public boolean record(double now) {
+		if(!recording)
+			return false;
+		if(frameCount == maxFrames) {
+			recording = false;
+			return false;
+		}
+
+		times[frameCount] = (float) (now - startTime);
+		for(int port = 0; port < ports.length; port++) {
+			int p = ports[port];
+			JoystickIO joystick = joysticks[port];
+			int axisCount = Math.min(Macro.axesPerPort, (int) Replay.read(Replay.source(Replay.stickAxisCount, p, 0), joystick.getAxisCount()));
+			for(int axis = 0; axis < Macro.axesPerPort; axis++) {
+				double value = axis < axisCount ? Replay.read(Replay.source(Replay.axis, p, axis), joystick.getRawAxis(axis)) : 0;
+				axes[(frameCount * ports.length + port) * Macro.axesPerPort + axis] = (short) Math.round(Math.max(-1, Math.min(1, value)) * 32767);
+			}
+			buttons[frameCount * ports.length + port] = (int) Replay.read(Replay.source(Replay.stickButtons, p, 0), joystick.getButtons());
+		}
+
+		frameCount++;
+		return true;
+	}
+
+	/**
+	 * Stop recording, and make the macro out of the frames
+	 *
+	 * @return - The macro, null if nothing was recorded
+	 */
+	public Macro finish() {
+		recording = false;
+		if(frameCount == 0)
+			return null;
+
+		return new Macro(ports.clone(), frameCount, Arrays.copyOf(times, frameCount),
+				Arrays.copyOf(axes, frameCount * ports.length * Macro.axesPerPort), Arrays.copyOf(buttons, frameCount * ports.length));
+	}
+
+	public boolean isRecording() { return recording; }
+
+	/**
+	 * @return - Seconds recorded so far
+	 */
+	public double getRecordedTime() { return frameCount == 0 ? 0 : times[frameCount - 1]; }
+
+	public int getFrameCount() { return frameCount; }
+	public int getMaxFrames() { return maxFrames; }
+}
@@ -0,0 +1,41 @@
+package org.usfirst.frc.team3555.robot.Power;
+
+import org.usfirst.frc.team3555.robot.Hardware.BatteryIO;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+
+/**
+ * Holds the battery readings for the current loop. <br>
+ * Reading the voltage and current takes time (the PDP is on the CAN bus), so they are read once a loop with update(),
+ * and everything else uses the stored values. The readings come from {@link Hardware#battery()}, a stand-in off of the robot.
+ */
+public class Battery {
+	public static final double nominalVoltage = 11;// <- Voltage that full percent output is compensated to
+	
+	private static BatteryIO battery;
+	
+	//Volatile -> These can be updated by the control loop's thread and read from the main thread
+	private static volatile double voltage = 12;// <- volts
+	private static volatile double totalCurrent;// <- amps
+	
+	/**
+	 * Read the battery voltage and total current. 
+	 * Call this once at the start of every loop
+	 */
+	public static void update() {
+		if(battery == null)
+			battery = Hardware.battery();
+		
+		voltage = battery.getVoltage();
+		totalCurrent = battery.getTotalCurrent();
+	}
+	
+	/**
+	 * @return - The battery voltage as of the last update
+	 */
+	public static double getVoltage() { return voltage; }
+	
+	/**
+	 * @return - The total current draw of the robot as of the last update
+	 */
+	public static double getTotalCurrent() { return totalCurrent; }
+}
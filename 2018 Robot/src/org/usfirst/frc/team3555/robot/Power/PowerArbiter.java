@@ -0,0 +1,271 @@
+package org.usfirst.frc.team3555.robot.Power;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Splits the current that the battery can give between the subsystems. <br>
+ * Every loop the battery is read, and a current budget is found from the filtered voltage -> the lower the voltage gets, the smaller the budget.
+ * The budget is handed out to the consumers in priority order (lower number = more important), each consumer will get up to its max current per talon. <br>
+ * The limits are given to the talons with CANTalon.setCurrentLimit, which only talks to the talon when the limit changes.
+ * A limit only moves once it is off by the deadband (or reaches the min / max), so a sagging battery doesn't send new limits every loop. <br>
+ * Every time a limit changes it is recorded, and the record can be saved to a file after the match with saveLog(). 
+ * The record is written by the control loop's thread and saved from the main thread, so it is only touched under this object's lock (saveLog() copies it out, then writes the file without the lock).
+ */
+public class PowerArbiter {
+	public static final int maxConsumers = 8;
+	public static final int logSize = 1024;
+	public static final double endgameSeconds = 30;
+	public static final double voltageSmoothing = .1;// <- How much of the new reading goes into the filtered voltage each loop
+	public static final int limitDeadband = 2;// <- amps
+	
+	/**
+	 * Budget
+	 * Above the sag voltage the full budget is given out, it then shrinks to the minimum budget at the brownout voltage
+	 */
+	private double fullBudget;// <- amps
+	private double minimumBudget;// <- amps
+	private double sagVoltage;
+	private double brownoutVoltage;
+	private volatile double filteredVoltage;// <- 0 until the first reading
+	
+	/**
+	 * Consumers -> A set of talons that share a priority and current limit
+	 */
+	private String[] names;
+	private CANTalon[][] talons;
+	private int[] priorities;
+	private int[] endgamePriorities;
+	private int[] maxCurrents;// <- amps per talon
+	private int[] minCurrents;// <- amps per talon, a consumer will never be throttled below this
+	private int[] limits;// <- amps per talon that was last given
+	private int[] order;// <- consumer indices sorted by priority
+	private int consumers;
+	
+	/**
+	 * Log of throttling decisions, a ring so the latest decisions are always kept
+	 */
+	private double[] logTime;
+	private int[] logConsumer;
+	private int[] logLimit;
+	private double[] logVoltage;
+	private double[] logCurrent;
+	private int logIndex;
+	private int logCount;
+	
+	/**
+	 * Copy of the log that saveLog() writes from, made once
+	 */
+	private double[] savedTime;
+	private int[] savedConsumer;
+	private int[] savedLimit;
+	private double[] savedVoltage;
+	private double[] savedCurrent;
+	
+	/**
+	 * Creates an arbiter with no consumers
+	 * 
+	 * @param fullBudget - Amps to give out when the battery is healthy
+	 * @param minimumBudget - Amps to give out when the battery is at the brownout voltage
+	 * @param sagVoltage - Voltage to start throttling at
+	 * @param brownoutVoltage - Voltage where the budget is the smallest
+	 */
+	public PowerArbiter(double fullBudget, double minimumBudget, double sagVoltage, double brownoutVoltage) {
+		this.fullBudget = fullBudget;
+		this.minimumBudget = minimumBudget;
+		this.sagVoltage = sagVoltage;
+		this.brownoutVoltage = brownoutVoltage;
+		
+		names = new String[maxConsumers];
+		talons = new CANTalon[maxConsumers][];
+		priorities = new int[maxConsumers];
+		endgamePriorities = new int[maxConsumers];
+		maxCurrents = new int[maxConsumers];
+		minCurrents = new int[maxConsumers];
+		limits = new int[maxConsumers];
+		order = new int[maxConsumers];
+		
+		logTime = new double[logSize];
+		logConsumer = new int[logSize];
+		logLimit = new int[logSize];
+		logVoltage = new double[logSize];
+		logCurrent = new double[logSize];
+		
+		savedTime = new double[logSize];
+		savedConsumer = new int[logSize];
+		savedLimit = new int[logSize];
+		savedVoltage = new double[logSize];
+		savedCurrent = new double[logSize];
+	}
+	
+	/**
+	 * Add a set of talons that will share a current limit
+	 * 
+	 * @param name - Name to show in the log
+	 * @param priority - Priority during the match (lower = more important)
+	 * @param endgamePriority - Priority during the last 30 seconds of teleop
+	 * @param minCurrent - Amps per talon that this will never go below
+	 * @param maxCurrent - Amps per talon that this will be given when there is enough to go around
+	 * @param talons - The talons of this consumer
+	 */
+	public void addConsumer(String name, int priority, int endgamePriority, int minCurrent, int maxCurrent, CANTalon... talons) {
+		if(consumers == maxConsumers)
+			throw new IllegalStateException("Too many power consumers, max is " + maxConsumers);
+		
+		names[consumers] = name;
+		this.talons[consumers] = talons;
+		priorities[consumers] = priority;
+		endgamePriorities[consumers] = endgamePriority;
+		minCurrents[consumers] = minCurrent;
+		maxCurrents[consumers] = maxCurrent;
+		order[consumers] = consumers;
+		consumers++;
+	}
+	
+	/**
+	 * Read the battery, and hand out the current limits. 
+	 * Call this once every loop
+	 */
+	public void update() {
+		Battery.update();
+		
+		//The match time is -1 without a field, practice isn't endgame
+		double matchTime = DriverStation.getInstance().getMatchTime();
+		boolean endgame = DriverStation.getInstance().isOperatorControl() && matchTime >= 0 && matchTime <= endgameSeconds;
+		sortByPriority(endgame ? endgamePriorities : priorities);
+		
+		double voltage = Battery.getVoltage();
+		if(filteredVoltage == 0)
+			filteredVoltage = voltage;
+		else
+			filteredVoltage += (voltage - filteredVoltage) * voltageSmoothing;
+		
+		double remaining = getBudget(filteredVoltage);
+		
+		//Everyone gets their minimum first, so the least important consumers don't get shut off completely
+		for(int i = 0; i < consumers; i++)
+			remaining -= minCurrents[i] * talons[i].length;
+		
+		for(int i = 0; i < consumers; i++) {
+			int consumer = order[i];
+			int count = talons[consumer].length;
+			
+			int extra = (int) Math.max(0, Math.min(maxCurrents[consumer] - minCurrents[consumer], remaining / count));
+			remaining -= extra * count;
+			
+			setLimit(consumer, minCurrents[consumer] + extra);
+		}
+	}
+	
+	/**
+	 * Finds the amount of current that can be used at the given voltage
+	 * 
+	 * @param voltage - Battery voltage
+	 * @return - Budget in amps
+	 */
+	public double getBudget(double voltage) {
+		if(voltage >= sagVoltage)
+			return fullBudget;
+		if(voltage <= brownoutVoltage)
+			return minimumBudget;
+		
+		double percent = (voltage - brownoutVoltage) / (sagVoltage - brownoutVoltage);
+		return minimumBudget + (fullBudget - minimumBudget) * percent;
+	}
+	
+	/**
+	 * Insertion sort the consumers by priority, nothing is allocated and there are only a few consumers
+	 */
+	private void sortByPriority(int[] priority) {
+		for(int i = 1; i < consumers; i++) {
+			int consumer = order[i];
+			int j = i - 1;
+			while(j >= 0 && priority[order[j]] > priority[consumer]) {
+				order[j + 1] = order[j];
+				j--;
+			}
+			order[j + 1] = consumer;
+		}
+	}
+	
+	/**
+	 * Give a limit to the talons of a consumer, and record it if it changed by more than the deadband
+	 */
+	private void setLimit(int consumer, int limit) {
+		if(limits[consumer] == limit)
+			return;
+		if(Math.abs(limit - limits[consumer]) < limitDeadband && limit != minCurrents[consumer] && limit != maxCurrents[consumer])
+			return;
+		
+		limits[consumer] = limit;
+		for(CANTalon talon : talons[consumer])
+			talon.setCurrentLimit(limit);
+		
+		log(consumer, limit);
+	}
+	
+	/**
+	 * Record a limit change
+	 */
+	private synchronized void log(int consumer, int limit) {
+		logTime[logIndex] = Timer.getFPGATimestamp();
+		logConsumer[logIndex] = consumer;
+		logLimit[logIndex] = limit;
+		logVoltage[logIndex] = Battery.getVoltage();
+		logCurrent[logIndex] = Battery.getTotalCurrent();
+		logIndex = (logIndex + 1) % logSize;
+		if(logCount < logSize)
+			logCount++;
+	}
+	
+	/**
+	 * Write every recorded limit change to a csv file (oldest first). 
+	 * Only call this when the robot is disabled, writing files is slow. 
+	 * The control loop keeps running while this writes, so the log is copied out first
+	 * 
+	 * @param path - Path of the file to write
+	 */
+	public void saveLog(String path) {
+		int count;
+		synchronized(this) {
+			count = logCount;
+			int start = (logIndex - logCount + logSize) % logSize;
+			for(int i = 0; i < count; i++) {
+				int index = (start + i) % logSize;
+				savedTime[i] = logTime[index];
+				savedConsumer[i] = logConsumer[index];
+				savedLimit[i] = logLimit[index];
+				savedVoltage[i] = logVoltage[index];
+				savedCurrent[i] = logCurrent[index];
+			}
+		}
+		
+		try(PrintWriter writer = new PrintWriter(new FileWriter(path))) {
+			writer.println("time,consumer,limit,voltage,totalCurrent");
+			
+			for(int i = 0; i < count; i++)
+				writer.println(savedTime[i] + "," + names[savedConsumer[i]] + "," + savedLimit[i] + "," + savedVoltage[i] + "," + savedCurrent[i]);
+		} catch (IOException e) {
+			DriverStation.reportError("Could not save the power log: " + e.getMessage(), false);
+		}
+	}
+	
+	/**
+	 * @param consumer - Index of the consumer (order they were added in)
+	 * @return - The limit that the consumer's talons were last given
+	 */
+	public int getLimit(int consumer) { return limits[consumer]; }
+	
+	/**
+	 * @return - The battery voltage that the budget is found from
+	 */
+	public double getFilteredVoltage() { return filteredVoltage; }
+	
+	public int getConsumerCount() { return consumers; }
+}
@@ -0,0 +1,302 @@
+package org.usfirst.frc.team3555.robot.Replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+
+/**
+ * Records every input that the robot code reads (joysticks, sensors, time), and every command that it sends to the talons, so a match can be played back. <br>
+ * The controller and talon wrappers send their reads through read(), and their commands through command(). <br>
+ * <br>
+ * Modes: <br>
+ *  Off -> Reads come straight from the hardware <br>
+ *  Record -> Reads come from the hardware, and are written to the file along with the commands <br>
+ *  Replay -> Reads come from the file, commands are compared to what was recorded instead of being sent to the talons <br>
+ * <br>
+ * The code reads things in the same order every time, so the file is just every read and command in order, with a marker at the start of each tick. 
+ * Each entry is: int source, double value. The source says what was read, so a replay that reads something different is caught. 
+ * A recording is written by a {@link ReplayWriter} on its own thread, the robot loop only copies the entries into its ring. <br>
+ * <br>
+ * NOTE: Only the thread that started recording (the main robot thread) is recorded. Reads from the control loop's thread always come from the hardware, 
+ * what those threads hand to the main thread (the battery reading, current limits, the CAN IO buffers, vision targets) is recorded when the main thread reads it.
+ */
+public class Replay {
+	public static final int off = 0;
+	public static final int record = 1;
+	public static final int replay = 2;
+	
+	/**
+	 * Kinds of sources, the top byte of the source
+	 */
+	public static final int tick = 1;
+	public static final int axis = 2;
+	public static final int button = 3;
+	public static final int buttonPressed = 4;
+	public static final int buttonReleased = 5;
+	public static final int sensorPosition = 6;
+	public static final int sensorVelocity = 7;
+	public static final int outputCurrent = 8;
+	public static final int forwardLimit = 9;
+	public static final int reverseLimit = 10;
+	public static final int time = 11;
+	public static final int motorCommand = 12;
+	public static final int batteryVoltage = 13;
+	public static final int outputVoltage = 14;
+	public static final int stickAxisCount = 15;
+	public static final int stickButtons = 16;// <- Every button of a port as bits
+	public static final int busVoltage = 17;
+	public static final int temperature = 18;
+	public static final int lastError = 19;// <- ErrorCode.value
+	public static final int faults = 20;// <- Faults.toBitfield()
+	public static final int resetOccurred = 21;
+	public static final int currentLimit = 22;
+	public static final int analogIn = 23;
+	public static final int visionFound = 24;
+	public static final int visionAngle = 25;
+	public static final int visionCaptureTime = 26;// <- seconds
+	
+	/**
+	 * Robot modes for the tick markers
+	 */
+	public static final int autonomous = 1;
+	public static final int teleop = 2;
+	
+	private static int mode = off;
+	private static Thread thread;
+	
+	private static ReplayWriter out;
+	private static DataInputStream in;
+	
+	/**
+	 * Replay results
+	 */
+	private static long ticks;
+	private static long commands;
+	private static long commandMismatches;
+	private static double maxCommandError;
+	private static long divergences;
+	private static boolean ended;
+	
+	/**
+	 * Put a kind, a device, and an index into one source number
+	 * 
+	 * @param kind - What was read (axis, button...)
+	 * @param device - Joystick port / talon ID
+	 * @param index - Axis / button number, 0 if there isn't one
+	 */
+	public static int source(int kind, int device, int index) {
+		return (kind << 24) | ((device & 0xFFFF) << 8) | (index & 0xFF);
+	}
+	
+	/**
+	 * Start recording everything read by this thread
+	 * 
+	 * @param path - File to record to
+	 */
+	public static void startRecording(String path) {
+		stop();
+		try {
+			out = new ReplayWriter(path);
+			thread = Thread.currentThread();
+			mode = record;
+		} catch (IOException e) {
+			Hardware.reportError("Could not start recording: " + e.getMessage());
+		}
+	}
+	
+	/**
+	 * Start playing back a recording on this thread
+	 * 
+	 * @param path - File to play back
+	 */
+	public static void startReplay(String path) throws IOException {
+		stop();
+		in = new DataInputStream(new BufferedInputStream(new FileInputStream(path), 1 << 16));
+		thread = Thread.currentThread();
+		mode = replay;
+		
+		ticks = 0;
+		commands = 0;
+		commandMismatches = 0;
+		maxCommandError = 0;
+		divergences = 0;
+		ended = false;
+	}
+	
+	/**
+	 * Stop recording or playing back, and close the file
+	 */
+	public static void stop() {
+		mode = off;
+		if(out != null)
+			out.close();
+		try {
+			if(in != null)
+				in.close();
+		} catch (IOException e) {
+			Hardware.reportError("Could not close the recording: " + e.getMessage());
+		}
+		out = null;
+		in = null;
+	}
+	
+	/**
+	 * Mark the start of a tick, call this at the start of each periodic
+	 * 
+	 * @param robotMode - autonomous or teleop
+	 */
+	public static void startTick(int robotMode) {
+		if(isActive())
+			write(source(tick, 0, 0), robotMode);
+	}
+	
+	/**
+	 * Move to the next tick of the recording
+	 * 
+	 * @return - The robot mode of the tick, or -1 when the recording is over
+	 */
+	public static int nextTick() {
+		while(!ended) {
+			int source = readSource();
+			double value = readValue();
+			if(ended)
+				break;
+			if(source == source(tick, 0, 0)) {
+				ticks++;
+				return (int) value;
+			}
+			divergences++;//Something recorded last tick that wasn't used
+		}
+		return -1;
+	}
+	
+	/**
+	 * Pass a value that was read through the recording
+	 * 
+	 * @param source - What was read, from source()
+	 * @param live - Value from the hardware
+	 * @return - The value to use
+	 */
+	public static double read(int source, double live) {
+		if(!isActive())
+			return live;
+		
+		if(mode == record) {
+			write(source, live);
+			return live;
+		}
+		
+		int recordedSource = readSource();
+		double recorded = readValue();
+		if(recordedSource != source)
+			divergences++;
+		return recorded;
+	}
+	
+	public static boolean read(int source, boolean live) {
+		return read(source, live ? 1 : 0) != 0;
+	}
+	
+	/**
+	 * @return - FPGA time in seconds, through the recording
+	 */
+	public static double getTimestamp() {
+		return read(source(time, 0, 0), Hardware.getTimestamp());
+	}
+	
+	/**
+	 * @return - System time in milliseconds, through the recording
+	 */
+	public static long currentTimeMillis() {
+		return (long) read(source(time, 0, 1), Hardware.currentTimeMillis());
+	}
+	
+	/**
+	 * Pass a command for a talon through the recording
+	 * 
+	 * @param device - Talon ID
+	 * @param value - The value that is being sent to the talon
+	 * @return - Whether or not the command should actually be sent to the talon (false during a replay)
+	 */
+	public static boolean command(int device, double value) {
+		if(!isActive())
+			return mode != replay;
+		
+		int source = source(motorCommand, device, 0);
+		if(mode == record) {
+			write(source, value);
+			return true;
+		}
+		
+		int recordedSource = readSource();
+		double recorded = readValue();
+		commands++;
+		
+		if(recordedSource != source) {
+			divergences++;
+		} else {
+			double error = Math.abs(recorded - value);
+			if(error > 1e-9)
+				commandMismatches++;
+			if(error > maxCommandError)
+				maxCommandError = error;
+		}
+		return false;
+	}
+	
+	/**
+	 * @return - Whether or not this thread is being recorded or replayed
+	 */
+	private static boolean isActive() {
+		return mode != off && Thread.currentThread() == thread;
+	}
+	
+	private static void write(int source, double value) {
+		if(!out.put(source, value)) {//A recording with a gap can't be played back
+			mode = off;
+			if(!out.isFailed())//The writer already reported its error
+				Hardware.reportError("Recording stopped, the writer fell behind");
+		}
+	}
+	
+	private static int readSource() {
+		try {
+			return in.readInt();
+		} catch (EOFException e) {
+			ended = true;
+		} catch (IOException e) {
+			ended = true;
+			Hardware.reportError("Replay stopped: " + e.getMessage());
+		}
+		return 0;
+	}
+	
+	private static double readValue() {
+		if(ended)
+			return 0;
+		try {
+			return in.readDouble();
+		} catch (IOException e) {
+			ended = true;
+		}
+		return 0;
+	}
+	
+	/**
+	 * @return - Amount of recorded entries that the writer hasn't written yet
+	 */
+	public static int getPendingWrites() { return out == null ? 0 : out.getPending(); }
+	
+	public static int getMode() { return mode; }
+	public static boolean isReplaying() { return mode == replay; }
+	
+	public static long getTicks() { return ticks; }
+	public static long getCommands() { return commands; }
+	public static long getCommandMismatches() { return commandMismatches; }
+	public static double getMaxCommandError() { return maxCommandError; }
+	public static long getDivergences() { return divergences; }
+}
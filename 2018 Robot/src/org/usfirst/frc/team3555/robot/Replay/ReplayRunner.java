@@ -0,0 +1,116 @@
+package org.usfirst.frc.team3555.robot.Replay;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.usfirst.frc.team3555.robot.RobotCore;
+import org.usfirst.frc.team3555.robot.Config.ConfigFile;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Dashboard.DashboardPublisher;
+import org.usfirst.frc.team3555.robot.Events.EventBus;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Loop.SimClock;
+import org.usfirst.frc.team3555.robot.Macro.Macro;
+import org.usfirst.frc.team3555.robot.Macro.MacroControl;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryLogger;
+
+/**
+ * Plays a recording back through the real subsystem and action code as fast as possible. <br>
+ * Every tick the same {@link RobotCore} hooks that the robot called are called again, with every read coming from the recording. 
+ * The commands the code gives are compared to the ones that were recorded instead of being sent to the talons, so this is safe to run on a disabled robot. <br>
+ * If the code has changed since the recording, the mismatches show where it behaves differently. <br>
+ * <br>
+ * replay() builds fresh subsystems on stand-in hardware (see {@link Hardware}), so a recording can be played back on a computer: <br>
+ * Usage: java org.usfirst.frc.team3555.robot.Replay.ReplayRunner recording.replay [robot.properties] <br>
+ * NOTE: The control loop isn't run, so the power arbiter's current limits are only what the recording read back, 
+ * and the robot's macro file isn't loaded (Copy a recording that didn't play a macro, or one that recorded it first)
+ */
+public class ReplayRunner {
+	private RobotCore core;
+	
+	/**
+	 * @param core - Subsystems, actions, events, and macros to replay through, fill the queue the same way it was filled when recording
+	 */
+	public ReplayRunner(RobotCore core) {
+		this.core = core;
+	}
+	
+	/**
+	 * Play the whole recording back
+	 * 
+	 * @param path - The recording
+	 * @return - A summary of how the commands compared
+	 */
+	public String run(String path) throws IOException {
+		long start = System.nanoTime();
+		int lastMode = -1;
+		
+		EventBus events = core.getEvents();
+		MacroControl macros = core.getMacros();
+		
+		Replay.startReplay(path);
+		events.reset();//The state is from the live robot, not the recording
+		Macro kept = macros.getMacro();//A macro recorded in the replay isn't kept
+		try {
+			int mode;
+			while((mode = Replay.nextTick()) != -1) {
+				if(mode == Replay.autonomous) {
+					if(lastMode != mode)
+						core.autonomousInit();
+					core.autonomousPeriodic();
+				} else if(mode == Replay.teleop) {
+					if(lastMode != mode)
+						core.teleopInit();
+					core.teleopPeriodic();
+				}
+				core.periodic();
+				lastMode = mode;
+			}
+		} finally {
+			Replay.stop();
+			macros.stop();
+			macros.setMacro(kept);
+			events.reset();//And the state is from the recording now, not the live robot
+		}
+		
+		double seconds = (System.nanoTime() - start) / 1e9;
+		return "Replayed " + Replay.getTicks() + " ticks in " + seconds + " s, "
+			+ Replay.getCommandMismatches() + " / " + Replay.getCommands() + " commands differed (max error " + Replay.getMaxCommandError() + "), "
+			+ Replay.getDivergences() + " reads/commands out of order";
+	}
+	
+	/**
+	 * Play a recording back through fresh subsystems on stand-in hardware, nothing on the robot is needed. 
+	 * Only call this off of the robot, the hardware is stand-ins from then on
+	 * 
+	 * @param path - The recording
+	 * @param config - The config the robot had when it recorded
+	 * @return - A summary of how the commands compared
+	 */
+	public static String replay(String path, RobotConfig config) throws IOException {
+		Hardware.useStandIns(new SimClock());
+		
+		RobotCore core = new RobotCore(config);
+		
+		//Nothing reads these back, they are only there for the subsystems to register with
+		PowerArbiter power = new PowerArbiter(400, 150, 10.5, 7.5);
+		TelemetryLogger telemetry = new TelemetryLogger(new File(System.getProperty("java.io.tmpdir"), "replay_telemetry.bin").getPath());
+		core.init(null, power, telemetry.createRing(8192), new DashboardPublisher(), null);
+		
+		return new ReplayRunner(core).run(path);
+	}
+	
+	public static void main(String[] args) throws IOException {
+		if(args.length < 1) {
+			System.err.println("Usage: ReplayRunner recording.replay [robot.properties]");
+			System.exit(2);
+		}
+		
+		RobotConfig config = args.length > 1 ? RobotConfig.load(args[1]) : new RobotConfig(ConfigFile.empty());
+		for(String error : config.getErrors())
+			System.err.println("Config: " + error);
+		
+		System.out.println(replay(args[0], config));
+	}
+}
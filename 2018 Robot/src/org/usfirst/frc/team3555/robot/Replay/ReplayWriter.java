@@ -0,0 +1,152 @@
+package org.usfirst.frc.team3555.robot.Replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+
+/**
+ * Writes a recording on a background thread, so the robot loop never waits on the flash. <br>
+ * The main thread puts entries into a ring of arrays that are made when the recording starts, the writer's thread drains it into the file.
+ * No locks are used, the main thread only moves the head and the writer only moves the tail (like {@link org.usfirst.frc.team3555.robot.Telemetry.TelemetryRing}). <br>
+ * A recording with a missing entry can't be played back, so if the ring is ever full put() fails and the recording should stop.
+ */
+class ReplayWriter {
+	public static final int capacity = 1 << 15;// <- Entries, a few hundred loops' worth
+	public static final int entryBytes = 4 + 8;// <- source, value
+	public static final long flushPeriodNanos = 20000000;// <- 20 ms
+
+	private int[] sources;
+	private double[] values;
+	private int mask;
+
+	private volatile long head;// <- Next entry to write, only changed by the main thread
+	private volatile long tail;// <- Next entry to read, only changed by the writer
+
+	private FileChannel file;
+	private ByteBuffer buffer;
+	private Thread thread;
+	private volatile boolean running;
+	private volatile boolean failed;
+
+	/**
+	 * Open the file, and start the writer's thread
+	 *
+	 * @param path - File to record to
+	 */
+	ReplayWriter(String path) throws IOException {
+		sources = new int[capacity];
+		values = new double[capacity];
+		mask = capacity - 1;
+		buffer = ByteBuffer.allocateDirect(entryBytes * 1024);
+
+		file = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+		running = true;
+		thread = new Thread(this::run, "Replay Writer");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	/**
+	 * Add an entry to be written.
+	 * Only the thread being recorded calls this
+	 *
+	 * @return - Whether or not there was room, and the file is still being written
+	 */
+	boolean put(int source, double value) {
+		long h = head;
+		if(failed || h - tail >= capacity)
+			return false;
+
+		int index = (int) (h & mask);
+		sources[index] = source;
+		values[index] = value;
+
+		head = h + 1;//Publish the entry
+		return true;
+	}
+
+	/**
+	 * Stop the writer's thread, write everything left, and close the file
+	 */
+	void close() {
+		running = false;
+		try {
+			thread.join(1000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * The writer's thread, drain the ring until closed
+	 */
+	private void run() {
+		try {
+			while(running) {
+				if(drain() == 0)
+					LockSupport.parkNanos(flushPeriodNanos);
+			}
+			drain();
+		} catch (IOException e) {
+			failed = true;
+			Hardware.reportError("Recording stopped: " + e.getMessage());
+		}
+
+		try {
+			file.close();
+		} catch (IOException e) {
+			Hardware.reportError("Could not close the recording: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Copy the ring into the file
+	 *
+	 * @return - Amount of entries written
+	 */
+	private int drain() throws IOException {
+		long t = tail;
+		long h = head;
+		int count = 0;
+
+		while(t < h) {
+			int index = (int) (t & mask);
+			buffer.putInt(sources[index]);
+			buffer.putDouble(values[index]);
+			t++;
+			count++;
+
+			if(buffer.remaining() < entryBytes) {
+				write();
+				tail = t;//Free the space
+			}
+		}
+		write();
+		tail = t;
+		return count;
+	}
+
+	private void write() throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining())
+			file.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * @return - Amount of entries waiting to be written
+	 */
+	int getPending() { return (int) (head - tail); }
+
+	/**
+	 * @return - Whether or not the file could not be written
+	 */
+	boolean isFailed() { return failed; }
+}
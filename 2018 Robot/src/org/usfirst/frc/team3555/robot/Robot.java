@@ -7,45 +7,257 @@
 
 package org.usfirst.frc.team3555.robot;
 
-import org.usfirst.frc.team3555.robot.Autonomous.ActionQueue;
-import org.usfirst.frc.team3555.robot.SubSystems.DriveTrain;
+import org.usfirst.frc.team3555.robot.Config.ConfigWatcher;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Dashboard.DashboardPublisher;
+import org.usfirst.frc.team3555.robot.Dashboard.PIDFTuner;
+import org.usfirst.frc.team3555.robot.Loop.ControlLoop;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+import org.usfirst.frc.team3555.robot.Replay.ReplayRunner;
+import org.usfirst.frc.team3555.robot.SubSystems.SubSystemRegistry;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANHealthMonitor;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANIO;
+import org.usfirst.frc.team3555.robot.Telemetry.AllocationBudget;
+import org.usfirst.frc.team3555.robot.Telemetry.LogFiles;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryLogger;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryRing;
+import org.usfirst.frc.team3555.robot.Vision.CameraStreamer;
+import org.usfirst.frc.team3555.robot.Vision.CubeTarget;
+import org.usfirst.frc.team3555.robot.Vision.CubeVision;
+import org.usfirst.frc.team3555.robot.Vision.StreamProfile;
 
-import edu.wpi.first.wpilibj.CameraServer;
+import java.io.File;
+import java.io.IOException;
+
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.IterativeRobot;
+import edu.wpi.first.wpilibj.Timer;
 
 public class Robot extends IterativeRobot {
-	private DriveTrain drive;
-//	private Lift lift;
-
-	private ActionQueue actions;
+	public static final String configPath = "/home/lvuser/robot.properties";
+	public static final String macroPath = "/home/lvuser/macro.bin";
+	public static final int logsKept = 10;// <- Of each kind, the flash fills up otherwise
+	
+	private RobotConfig config;
+	private ConfigWatcher configWatcher;
+	
+	//The subsystems and everything that runs them, the same code a replay runs through
+	private RobotCore core;
+	private SubSystemRegistry subSystems;
+	private CANHealthMonitor canHealth;
+	
+	private PowerArbiter power;
+	private ControlLoop controlLoop;
+	
+	private TelemetryLogger telemetry;
+	private TelemetryRing mainTelemetry;
+	private int overrunChannel, jitterChannel, droppedChannel, loopBytesChannel, canUnhealthyChannel;
+	
+	private DashboardPublisher dashboard;
+	private PIDFTuner tuner;
+	private int actionsKey, overrunKey, jitterKey, bandwidthKey, cubeFoundKey, cubeAngleKey, visionLatencyKey, loopBytesKey, mainCycleKey, canCycleKey, canUnhealthyKey, canFaultedKey, talonTempKey;
+	
+	//The enabled loop should make no garbage, any at all is warned about
+	private AllocationBudget loopAllocation;
+	
+	private CameraStreamer camera;
+	private CubeVision cubeVision;
+	
+	private CANIO canIO;
 	
 	@Override
 	public void robotInit() {
-		CameraServer.getInstance().startAutomaticCapture();
+		//IDs, geometry, and limits, a missing file or value is the code's default
+		config = RobotConfig.load(configPath);
+		for(String error : config.getErrors())
+			DriverStation.reportError("Config: " + error, false);
+		
+		camera = new CameraStreamer("Driver", 0);
+		cubeVision = new CubeVision(camera.getCamera());
+		
+		core = new RobotCore(config);
+		subSystems = core.getSubSystems();
+		canHealth = core.getCANHealth();
+		core.getMacros().load(macroPath);
 		
-		drive = new DriveTrain();
-		actions = new ActionQueue();
+		//Every talon is read and commanded on its own thread, the main loop never waits on the bus
+		canIO = new CANIO(100);
+		for(int i = 0; i < subSystems.getCount(); i++)
+			canIO.add(subSystems.get(i).getTalons());
+		
+		//Hand out current by priority when the battery sags, the climber comes first in the endgame
+		power = new PowerArbiter(400, 150, 10.5, 7.5);
+		
+		//200 Hz fast loop, slow loop every 4 ticks (50 Hz)
+		controlLoop = new ControlLoop(200, 4);
+		controlLoop.addSlow((timestamp) -> power.update());
+		
+		//Everything recorded on the main thread goes to one ring, and is written to the file in the background
+		LogFiles.deleteOldest("/home/lvuser", "telemetry_", ".bin", logsKept - 1);
+		telemetry = new TelemetryLogger("/home/lvuser/telemetry_" + System.currentTimeMillis() + ".bin");
+		mainTelemetry = telemetry.createRing(8192);
+		overrunChannel = mainTelemetry.addChannel("Control Loop Overruns");
+		jitterChannel = mainTelemetry.addChannel("Control Loop Max Jitter");
+		droppedChannel = mainTelemetry.addChannel("Telemetry Dropped");
+		loopBytesChannel = mainTelemetry.addChannel("Loop Bytes");
+		canUnhealthyChannel = mainTelemetry.addChannel("CAN Unhealthy");
+		
+		//Only values that changed get sent, all at once at the end of the loop
+		dashboard = new DashboardPublisher(NetworkTableInstance.getDefault(), "Robot");
+		actionsKey = dashboard.addKey("Actions Remaining", 0, 0);
+		overrunKey = dashboard.addKey("Control Loop Overruns", 0, .5);
+		jitterKey = dashboard.addKey("Control Loop Max Jitter", .0005, .5);
+		bandwidthKey = dashboard.addKey("Camera Bandwidth", .05, 1);
+		cubeFoundKey = dashboard.addKey("Cube Found", 0, 0);
+		cubeAngleKey = dashboard.addKey("Cube Angle", .5, 0);
+		visionLatencyKey = dashboard.addKey("Vision Latency", .005, .5);
+		loopBytesKey = dashboard.addKey("Loop Bytes", 0, .5);
+		mainCycleKey = dashboard.addKey("Main Cycle 99%", .001, 1);
+		canCycleKey = dashboard.addKey("CAN IO Cycle 99%", .0001, 1);
+		canUnhealthyKey = dashboard.addKey("CAN Unhealthy", 0, 0);
+		canFaultedKey = dashboard.addKey("CAN Faulted", 0, 0);
+		talonTempKey = dashboard.addKey("Talon Max Temp", 1, 1);
+		
+		//Gains can be changed from the dashboard, a value has to sit for half a second before it is sent to the talons
+		tuner = new PIDFTuner(NetworkTableInstance.getDefault(), "Tuning", "/home/lvuser/gains.properties", .5);
+		
+		loopAllocation = new AllocationBudget("Robot loop", 0, 5);
+		
+		core.init(controlLoop, power, mainTelemetry, dashboard, tuner);
+		telemetry.start();
+		controlLoop.start();
+		canIO.start();
+		
+		//Saving the config file reads it again, the limits and deadzones change the next disabled loop
+		configWatcher = new ConfigWatcher(configPath, config);
+		configWatcher.start();
+	}
+	
+	@Override
+	public void robotPeriodic() {
+		core.periodic();
+		mainTelemetry.record(canUnhealthyChannel, canHealth.getUnhealthyCount());
+		dashboard.set(canUnhealthyKey, canHealth.getUnhealthyCount());
+		dashboard.set(canFaultedKey, canHealth.getFaultedCount());
+		dashboard.set(talonTempKey, canHealth.getMaxTemperature());
+		
+		mainTelemetry.record(overrunChannel, controlLoop.getOverruns());
+		mainTelemetry.record(jitterChannel, controlLoop.getMaxJitter());
+		mainTelemetry.record(droppedChannel, telemetry.getDropped());
+		
+		dashboard.set(actionsKey, core.getActions().size());
+		dashboard.set(overrunKey, controlLoop.getOverruns());
+		dashboard.set(jitterKey, controlLoop.getMaxJitter());
+		
+		updateCameraProfile();
+		dashboard.set(bandwidthKey, camera.getBandwidth());
+		
+		CubeTarget cube = cubeVision.getLatest();
+		dashboard.set(cubeFoundKey, cube.isFound());
+		dashboard.set(cubeAngleKey, cube.getAngle());
+		dashboard.set(visionLatencyKey, cube.getLatency());
+		
+		dashboard.set(mainCycleKey, canIO.getMainCycle().getPercentile(.99));
+		dashboard.set(canCycleKey, canIO.getIOCycle().getPercentile(.99));
+		
+		tuner.update(Timer.getFPGATimestamp());
+		dashboard.flush(Timer.getFPGATimestamp());
+		
+		//Send this loop's commands, and get the sensors for the next loop
+		canIO.endLoop();
+		
+		//Only counts enabled loops, the periodic of the mode starts the count
+		if(loopAllocation.end(Timer.getFPGATimestamp()))
+			DriverStation.reportWarning(loopAllocation.getWarning() + ": " + subSystems.getAllocationReport(), false);
+		mainTelemetry.record(loopBytesChannel, loopAllocation.getLastBytes());
+		dashboard.set(loopBytesKey, loopAllocation.getLastBytes());
+	}
+	
+	/**
+	 * No stream in autonomous, a bigger stream for the climb at the end of teleop, and a small one the rest of the time
+	 */
+	private void updateCameraProfile() {
+		DriverStation ds = DriverStation.getInstance();
+		
+		if(ds.isAutonomous() && ds.isEnabled())
+			camera.setProfile(StreamProfile.off);
+		else if(ds.isOperatorControl() && ds.isEnabled() && ds.getMatchTime() >= 0 && ds.getMatchTime() <= PowerArbiter.endgameSeconds)
+			camera.setProfile(StreamProfile.climbing);
+		else
+			camera.setProfile(StreamProfile.driving);
+	}
+	
+	@Override
+	public void disabledInit() {
+		Replay.stop();
+		
+		//Every enable makes a recording, keep the newest few
+		LogFiles.deleteOldest("/home/lvuser", "auto_", ".replay", logsKept - 1);
+		LogFiles.deleteOldest("/home/lvuser", "teleop_", ".replay", logsKept - 1);
+		core.disable();
+		power.saveLog("/home/lvuser/power_log.csv");
+		tuner.save();
+		core.getMacros().save(macroPath);
+	}
+	
+	/**
+	 * Only take a changed config while disabled, nothing changes under the driver
+	 */
+	@Override
+	public void disabledPeriodic() {
+		core.getEvents().sample();//Keep the state current, so enabling doesn't look like an edge
+		
+		RobotConfig reloaded = configWatcher.poll();
+		if(reloaded != null) {
+			config = reloaded;
+			subSystems.applyConfig(config);
+		}
+		
+		tuner.save();//Gains tuned while disabled are kept too
 	}
 
 	@Override
 	public void autonomousInit() {
-		//Add actions to the queue here
+		Replay.startRecording("/home/lvuser/auto_" + System.currentTimeMillis() + ".replay");
+		core.autonomousInit();
 	}
 
 	@Override
 	public void autonomousPeriodic() {
-//		actions.update();
+		loopAllocation.start();
+		Replay.startTick(Replay.autonomous);
+		core.autonomousPeriodic();
 	}
 
 	@Override
 	public void teleopInit() {
-		drive.teleopUpdate();
-//		lift.teleopUpdate();
+		Replay.startRecording("/home/lvuser/teleop_" + System.currentTimeMillis() + ".replay");
+		core.teleopInit();
 	}
 	
 	@Override
 	public void teleopPeriodic() {
-		drive.teleopUpdate();
-//		lift.teleopUpdate();
+		loopAllocation.start();
+		Replay.startTick(Replay.teleop);
+		core.teleopPeriodic();
+	}
+	
+	/**
+	 * Test mode plays back /home/lvuser/replay.replay (copy a recording there) through the code, without moving anything. 
+	 * This runs on the robot's own subsystems, to replay on a computer instead use {@link ReplayRunner#main(String[])}
+	 */
+	@Override
+	public void testInit() {
+		File recording = new File("/home/lvuser/replay.replay");
+		if(!recording.exists())
+			return;
+		
+		try {
+			DriverStation.reportWarning(new ReplayRunner(core).run(recording.getPath()), false);
+		} catch (IOException e) {
+			DriverStation.reportError("Replay failed: " + e.getMessage(), false);
+		}
 	}
 }
@@ -0,0 +1,140 @@
+package org.usfirst.frc.team3555.robot;
+
+import org.usfirst.frc.team3555.robot.Autonomous.ActionQueue;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Dashboard.DashboardPublisher;
+import org.usfirst.frc.team3555.robot.Dashboard.PIDFTuner;
+import org.usfirst.frc.team3555.robot.Events.EventBus;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Loop.ControlLoop;
+import org.usfirst.frc.team3555.robot.Macro.MacroControl;
+import org.usfirst.frc.team3555.robot.Macro.MacroPlayer;
+import org.usfirst.frc.team3555.robot.Power.Battery;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+import org.usfirst.frc.team3555.robot.SubSystems.Climber;
+import org.usfirst.frc.team3555.robot.SubSystems.CubeIO;
+import org.usfirst.frc.team3555.robot.SubSystems.DriveTrain;
+import org.usfirst.frc.team3555.robot.SubSystems.Lift;
+import org.usfirst.frc.team3555.robot.SubSystems.SubSystemRegistry;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANHealthMonitor;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedJoystick;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryRing;
+
+/**
+ * The part of the robot that reads inputs and commands the talons: the subsystems, the autonomous queue, the event bus, the macros, and the health monitor. <br>
+ * {@link Robot} runs this on the hardware, and {@link org.usfirst.frc.team3555.robot.Replay.ReplayRunner} runs the same ticks on a recording, 
+ * so a replay goes through exactly the code the robot did. Everything here talks to the hardware through {@link Hardware}, 
+ * so it can be built on stand-ins off of the robot. <br>
+ * The threads, the camera, the telemetry file, and the dashboard only watch, they stay in {@link Robot}.
+ */
+public class RobotCore {
+	private SubSystemRegistry subSystems;
+	private CurvedJoystick joyOp;
+	private DriveTrain drive;
+	private Lift lift;// <- null when turned off in the config
+	
+	private ActionQueue actions;
+	private EventBus events;
+	private MacroControl macros;
+	private CANHealthMonitor canHealth;
+	
+	/**
+	 * Make the subsystems and everything that runs them
+	 * 
+	 * @param config - IDs, ports, and limits
+	 */
+	public RobotCore(RobotConfig config) {
+		subSystems = new SubSystemRegistry();
+		drive = subSystems.add(new DriveTrain(config.getDrive()));
+		
+		//The operator's joystick runs everything but the drive, each can be left out in the config
+		joyOp = new CurvedJoystick(config.getOperatorPort());
+		if(config.getLift().isEnabled())
+			lift = subSystems.add(new Lift(joyOp, config.getLift()));
+		if(config.getClimber().isEnabled())
+			subSystems.add(new Climber(joyOp, config.getClimber()));
+		if(config.getCubeIO().isEnabled())
+			subSystems.add(new CubeIO(joyOp, config.getCubeIO()));
+		
+		//2 talons checked a loop, lost after 3 bad polls in a row, back after 10 good ones, warn at 85 C
+		canHealth = new CANHealthMonitor(2, 3, 10, 85);
+		
+		actions = new ActionQueue();
+		
+		//Every switch, button, and threshold that is waited on is read once a loop here
+		events = new EventBus();
+		int lowBattery = events.addThreshold("Battery Low", () -> Replay.read(Replay.source(Replay.batteryVoltage, 0, 0), Battery.getVoltage()), 8, 9);
+		events.subscribe(EventBus.bit(lowBattery), (rising, falling) -> {
+			if(rising != 0)
+				Hardware.reportWarning("Battery below 8 V");
+		});
+		
+		//Back on the driver's controller starts and stops recording a macro, Start plays it (or stops it early)
+		int driverPort = config.getDrive().getControllerPort();
+		macros = new MacroControl(subSystems, events, driverPort, new int[] { config.getOperatorPort(), driverPort }, 15, 50);//Operator joystick and driver controller
+	}
+	
+	/**
+	 * Hand the subsystems what they run on
+	 * 
+	 * @param loop - Control loop, null if it isn't running (replays)
+	 * @param power - Power arbiter
+	 * @param telemetry - Main thread's telemetry ring
+	 * @param dashboard - Dashboard publisher
+	 * @param tuner - Dashboard gain tuner, null for no tuning
+	 */
+	public void init(ControlLoop loop, PowerArbiter power, TelemetryRing telemetry, DashboardPublisher dashboard, PIDFTuner tuner) {
+		subSystems.init(loop, power, telemetry, dashboard, canHealth, tuner, events);
+	}
+	
+	public void autonomousInit() {
+		subSystems.autonomousInit();
+		if(lift != null)
+			actions.add(lift.initOrigin());//The lift's positions are from the bottom limit switch
+		//Add actions to the queue here (A recorded macro is an action too -> macro.getAction(subSystems))
+	}
+	
+	public void autonomousPeriodic() {
+		events.sample();
+		if(!MacroPlayer.isPlaying())//A macro playing in the queue runs the teleop code, it owns the subsystems
+			subSystems.autonomousUpdate();
+		actions.update();
+	}
+	
+	public void teleopInit() {
+		subSystems.teleopInit();
+	}
+	
+	public void teleopPeriodic() {
+		events.sample();
+		macros.update();
+	}
+	
+	/**
+	 * Every loop, after the mode's periodic
+	 */
+	public void periodic() {
+		subSystems.periodic();
+		
+		//A few talons a loop, a lost talon is worked around before the next loop's commands
+		canHealth.update();
+	}
+	
+	/**
+	 * Stop every subsystem, and any macro that was recording or playing
+	 */
+	public void disable() {
+		subSystems.disable();
+		macros.stop();
+	}
+	
+	public SubSystemRegistry getSubSystems() { return subSystems; }
+	public DriveTrain getDrive() { return drive; }
+	public Lift getLift() { return lift; }
+	public CurvedJoystick getOperatorJoystick() { return joyOp; }
+	public ActionQueue getActions() { return actions; }
+	public EventBus getEvents() { return events; }
+	public MacroControl getMacros() { return macros; }
+	public CANHealthMonitor getCANHealth() { return canHealth; }
+}
@@ -0,0 +1,84 @@
+package org.usfirst.frc.team3555.robot.Simulation;
+
+import org.usfirst.frc.team3555.robot.Config.ConfigFile;
+import org.usfirst.frc.team3555.robot.Config.DriveConfig;
+import org.usfirst.frc.team3555.robot.Loop.SimClock;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.HeadingAligner;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.HeadingHistory;
+
+/**
+ * Runs the vision align against a simulated drive train, with camera targets that show up late. <br>
+ * Each run is done twice: once matching the frames to the heading when they were taken (what the robot does), 
+ * and once pretending the frames are from right now (what happens without the history), so the overshoot can be compared. 
+ * The gains are the drive's default config. <br>
+ * Usage: java org.usfirst.frc.team3555.robot.Simulation.AlignSimulation [target degrees] [latency seconds]
+ */
+public class AlignSimulation {
+	public static final double loopPeriod = .02;// <- seconds, same as the robot
+	public static final double framePeriod = 1 / 15.0;// <- seconds between camera frames
+	public static final double timeout = 5;// <- seconds
+	
+	public static void main(String[] args) {
+		double target = args.length > 0 ? Double.parseDouble(args[0]) : 30;
+		double latency = args.length > 1 ? Double.parseDouble(args[1]) : .08;
+		
+		System.out.println("Target " + target + " degrees right, frames " + (latency * 1000) + " ms late");
+		System.out.println("Compensated: " + run(target, latency, true));
+		System.out.println("Naive:       " + run(target, latency, false));
+	}
+	
+	/**
+	 * Align to a target that is still, off to the side of the robot
+	 * 
+	 * @param targetDegrees - Degrees the target starts to the right of the robot
+	 * @param latency - Seconds from a frame being taken to it being used
+	 * @param compensate - Whether or not to match frames to the heading at capture time
+	 * @return - Summary of the run
+	 */
+	public static String run(double targetDegrees, double latency, boolean compensate) {
+		DriveConfig config = new DriveConfig(ConfigFile.empty());
+		SimClock clock = new SimClock();
+		DriveSimulation drive = new DriveSimulation(SimDrive.nominalMaxSpeed, SimDrive.timeConstant, config.getDistanceBetweenWheels());
+		HeadingHistory history = new HeadingHistory(50);
+		HeadingAligner aligner = new HeadingAligner(config.getAlignKP(), config.getAlignMaxTurn(), config.getAlignMinTurn(), config.getAlignTolerance(), config.getAlignSettleTime());
+		
+		double targetHeading = -Math.toRadians(targetDegrees);
+		
+		//Frames that have been taken, but haven't gotten through the pipeline yet
+		double[] pendingCapture = new double[16];
+		double[] pendingAngle = new double[16];
+		int pendingHead = 0, pendingTail = 0;
+		double nextFrame = 0;
+		
+		double maxOvershoot = 0;
+		while(!aligner.isDone() && clock.getTime() < timeout) {
+			double now = clock.getTime();
+			
+			//Camera
+			while(nextFrame <= now) {
+				pendingCapture[pendingTail % pendingCapture.length] = nextFrame;
+				pendingAngle[pendingTail % pendingAngle.length] = Math.toDegrees(drive.getHeading() - targetHeading);//What the camera sees right now
+				pendingTail++;
+				nextFrame += framePeriod;
+			}
+			
+			//Robot loop
+			history.add(now, drive.getEncoderHeading());
+			while(pendingHead < pendingTail && pendingCapture[pendingHead % pendingCapture.length] + latency <= now) {
+				double captureTime = pendingCapture[pendingHead % pendingCapture.length];
+				aligner.addTarget(history, compensate ? captureTime : now, pendingAngle[pendingHead % pendingAngle.length]);
+				pendingHead++;
+			}
+			
+			double turn = aligner.update(drive.getEncoderHeading(), now);
+			drive.update(-turn, turn, loopPeriod);
+			clock.advance(loopPeriod);
+			
+			double past = (targetHeading - drive.getHeading()) * Math.signum(targetHeading);
+			maxOvershoot = Math.max(maxOvershoot, -past);
+		}
+		
+		return String.format("%s in %.2f s, final error %.2f deg, max overshoot %.2f deg", 
+				aligner.isDone() ? "done" : "timed out", clock.getTime(), Math.toDegrees(targetHeading - drive.getHeading()), Math.toDegrees(maxOvershoot));
+	}
+}
@@ -0,0 +1,12 @@
+package org.usfirst.frc.team3555.robot.Simulation;
+
+import org.usfirst.frc.team3555.robot.Autonomous.ActionQueue;
+
+/**
+ * An autonomous routine for the {@link MonteCarlo} runner to try. 
+ * It is built once per run, with that run's drive train, the same way the routine is added to the queue in autonomousInit
+ */
+@FunctionalInterface
+public interface AutonomousPlan {
+	public void build(SimDrive drive, ActionQueue queue);
+}
@@ -0,0 +1,105 @@
+package org.usfirst.frc.team3555.robot.Simulation;
+
+/**
+ * A simple model of a tank drive, for trying out drive code off of the robot. <br>
+ * Each side's speed moves toward (output * max speed) with a time constant, and the sides move the robot like a differential drive. 
+ * Slip is the part of a side's wheel travel that doesn't move the robot, so the encoders (the wheel positions) read further than the robot went. 
+ * Nothing here touches hardware, and all of the state is in primitive fields, so many of these can run at once.
+ */
+public class DriveSimulation {
+	/**
+	 * Robot
+	 */
+	private double maxSpeed;// <- meters / second at full output
+	private double timeConstant;// <- seconds for a side to get ~63% of the way to a new speed
+	private double distanceBetweenWheels;// <- meters
+	private double leftSlip, rightSlip;// <- 0 - 1, part of the wheel travel lost
+	
+	/**
+	 * State
+	 */
+	private double leftVelocity, rightVelocity;// <- meters / second
+	private double leftPosition, rightPosition;// <- meters the wheels have turned (what the encoders see)
+	private double heading;// <- radians, counter clockwise positive
+	private double x, y;// <- meters
+	
+	/**
+	 * @param maxSpeed - Meters per second at full output
+	 * @param timeConstant - Seconds for a side to get ~63% of the way to a new speed
+	 * @param distanceBetweenWheels - Meters between the left and right wheels
+	 */
+	public DriveSimulation(double maxSpeed, double timeConstant, double distanceBetweenWheels) {
+		this.maxSpeed = maxSpeed;
+		this.timeConstant = timeConstant;
+		this.distanceBetweenWheels = distanceBetweenWheels;
+	}
+	
+	/**
+	 * Move the simulation forward
+	 * 
+	 * @param leftOutput - Percent output of the left side (+ forward)
+	 * @param rightOutput - Percent output of the right side (+ forward)
+	 * @param dt - Seconds to move forward by
+	 */
+	public void update(double leftOutput, double rightOutput, double dt) {
+		double blend = timeConstant > 0 ? 1 - Math.exp(-dt / timeConstant) : 1;
+		leftVelocity += (clamp(leftOutput) * maxSpeed - leftVelocity) * blend;
+		rightVelocity += (clamp(rightOutput) * maxSpeed - rightVelocity) * blend;
+		
+		double leftStep = leftVelocity * dt;
+		double rightStep = rightVelocity * dt;
+		leftPosition += leftStep;
+		rightPosition += rightStep;
+		
+		//What the robot actually moved
+		leftStep *= 1 - leftSlip;
+		rightStep *= 1 - rightSlip;
+		
+		double forward = (leftStep + rightStep) / 2.0;
+		double middleHeading = heading + (rightStep - leftStep) / distanceBetweenWheels / 2.0;
+		x += forward * Math.cos(middleHeading);
+		y += forward * Math.sin(middleHeading);
+		heading += (rightStep - leftStep) / distanceBetweenWheels;
+	}
+	
+	private static double clamp(double output) { return Math.max(-1, Math.min(1, output)); }
+	
+	/**
+	 * Put the robot back at the origin, stopped
+	 */
+	public void reset() {
+		leftVelocity = rightVelocity = 0;
+		leftPosition = rightPosition = 0;
+		heading = x = y = 0;
+	}
+	
+	/**
+	 * @return - Heading from the sides' distances, the same way the DriveTrain finds it from the encoders
+	 */
+	public double getEncoderHeading() { return (rightPosition - leftPosition) / distanceBetweenWheels; }
+	
+	public double getLeftVelocity() { return leftVelocity; }
+	public double getRightVelocity() { return rightVelocity; }
+	public double getLeftPosition() { return leftPosition; }
+	public double getRightPosition() { return rightPosition; }
+	public double getHeading() { return heading; }
+	public double getX() { return x; }
+	public double getY() { return y; }
+	
+	public double getMaxSpeed() { return maxSpeed; }
+	public void setMaxSpeed(double maxSpeed) { this.maxSpeed = maxSpeed; }
+	
+	/**
+	 * @param leftSlip - Part of the left wheel travel that doesn't move the robot (0 - 1)
+	 * @param rightSlip - Part of the right wheel travel that doesn't move the robot (0 - 1)
+	 */
+	public void setSlip(double leftSlip, double rightSlip) {
+		this.leftSlip = leftSlip;
+		this.rightSlip = rightSlip;
+	}
+	
+	public double getLeftSlip() { return leftSlip; }
+	public double getRightSlip() { return rightSlip; }
+	public double getTimeConstant() { return timeConstant; }
+	public double getDistanceBetweenWheels() { return distanceBetweenWheels; }
+}
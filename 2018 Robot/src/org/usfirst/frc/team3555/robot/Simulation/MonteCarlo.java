@@ -0,0 +1,200 @@
+package org.usfirst.frc.team3555.robot.Simulation;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.usfirst.frc.team3555.robot.Autonomous.ActionQueue;
+import org.usfirst.frc.team3555.robot.Config.ConfigFile;
+import org.usfirst.frc.team3555.robot.Config.DriveConfig;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+
+/**
+ * Runs an autonomous plan thousands of times on a dev machine, each time with a different battery, wheel slip, and encoder noise, 
+ * and reports how far off the robot ends up and how long it takes. <br>
+ * The runs are split across every core with a fork join pool. Each run has its own {@link SimDrive} (clock, random numbers, and state), 
+ * and writes only its own spot in the result arrays, so nothing is shared and it scales with the cores. 
+ * Run i always uses seed + i, so a bad run can be run again by itself. 
+ * The gains and limits are the drive's config, the defaults unless a config file is given. <br>
+ * Usage: java org.usfirst.frc.team3555.robot.Simulation.MonteCarlo [runs (10000)] [threads (all cores)] [seed] [config file]
+ */
+public class MonteCarlo {
+	public static final double loopPeriod = .02;// <- seconds, same as the robot
+	public static final double maxTime = 15;// <- seconds, autonomous
+	public static final int runsPerTask = 64;// <- Runs done by a task without splitting
+	
+	/**
+	 * Randomized conditions, picked uniformly
+	 */
+	public static final double minVoltage = 11, maxVoltage = 13;
+	public static final double maxSlip = .08;
+	public static final double maxEncoderNoise = .003;// <- meters
+	
+	private AutonomousPlan plan;
+	private DriveConfig config;
+	private long seed;
+	
+	/**
+	 * Results, by run
+	 */
+	private double[] positionErrors;// <- meters from where the plan ends with no noise
+	private double[] headingErrors;// <- degrees
+	private double[] times;// <- seconds
+	private boolean[] finished;// <- false if it was still going at the end of autonomous
+	
+	/**
+	 * Where the plan ends with no slip, no noise, and a full battery
+	 */
+	private double idealX, idealY, idealHeading;
+	
+	public MonteCarlo(AutonomousPlan plan, DriveConfig config, long seed) {
+		this.plan = plan;
+		this.config = config;
+		this.seed = seed;
+	}
+	
+	public static void main(String[] args) {
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 3555;
+		RobotConfig config = args.length > 3 ? RobotConfig.load(args[3]) : new RobotConfig(ConfigFile.empty());
+		
+		//Drive up to the switch, turn, and drive to it
+		MonteCarlo monteCarlo = new MonteCarlo((drive, queue) -> {
+			queue.add(drive.drive(3, 4));
+			queue.add(drive.turnOnDimeDegrees(90, 2));
+			queue.add(drive.drive(1.5, 2));
+		}, config.getDrive(), seed);
+		
+		long start = System.nanoTime();
+		monteCarlo.run(runs, threads);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		
+		System.out.println(runs + " runs on " + threads + " threads in " + String.format("%.2f", seconds) + " s (" + String.format("%.0f", runs / seconds) + " runs / s)");
+		System.out.println(monteCarlo.getReport());
+	}
+	
+	/**
+	 * Do every run
+	 * 
+	 * @param runs - Amount of runs
+	 * @param threads - Threads to run on
+	 */
+	public void run(int runs, int threads) {
+		positionErrors = new double[runs];
+		headingErrors = new double[runs];
+		times = new double[runs];
+		finished = new boolean[runs];
+		
+		SimDrive ideal = new SimDrive(config, seed, SimDrive.fullVoltage, 0, 0, 0);
+		simulate(ideal);
+		idealX = ideal.getSimulation().getX();
+		idealY = ideal.getSimulation().getY();
+		idealHeading = ideal.getSimulation().getHeading();
+		
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			pool.invoke(new Runs(0, runs));
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Splits the runs in half until there are few enough to just do
+	 */
+	private class Runs extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private int from, to;
+		
+		Runs(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to - from <= runsPerTask) {
+				for(int i = from; i < to; i++)
+					runOnce(i);
+				return;
+			}
+			
+			int middle = (from + to) >>> 1;
+			invokeAll(new Runs(from, middle), new Runs(middle, to));
+		}
+	}
+	
+	/**
+	 * Do one run, with conditions picked from its seed
+	 */
+	private void runOnce(int run) {
+		Random random = new Random(seed + run);
+		double voltage = minVoltage + random.nextDouble() * (maxVoltage - minVoltage);
+		double leftSlip = random.nextDouble() * maxSlip;
+		double rightSlip = random.nextDouble() * maxSlip;
+		double noise = random.nextDouble() * maxEncoderNoise;
+		
+		SimDrive drive = new SimDrive(config, random.nextLong(), voltage, leftSlip, rightSlip, noise);
+		finished[run] = simulate(drive);
+		times[run] = drive.getClock().getTime();
+		
+		DriveSimulation sim = drive.getSimulation();
+		positionErrors[run] = Math.hypot(sim.getX() - idealX, sim.getY() - idealY);
+		headingErrors[run] = Math.toDegrees(sim.getHeading() - idealHeading);
+	}
+	
+	/**
+	 * Run the plan on a drive until it is done, or autonomous is over
+	 * 
+	 * @return - Whether or not the plan finished
+	 */
+	private boolean simulate(SimDrive drive) {
+		ActionQueue queue = new ActionQueue();
+		plan.build(drive, queue);
+		
+		while(queue.size() > 0 && drive.getClock().getTime() < maxTime) {
+			queue.update();
+			drive.tick(loopPeriod);
+		}
+		return queue.size() == 0;
+	}
+	
+	/**
+	 * @return - Percentiles of the position error, heading error, and time, and how many runs didn't finish
+	 */
+	public String getReport() {
+		int unfinished = 0;
+		double[] absoluteHeading = new double[headingErrors.length];
+		for(int i = 0; i < finished.length; i++) {
+			if(!finished[i])
+				unfinished++;
+			absoluteHeading[i] = Math.abs(headingErrors[i]);
+		}
+		
+		return "Ideal end: (" + String.format("%.3f", idealX) + ", " + String.format("%.3f", idealY) + ") m, " + String.format("%.1f", Math.toDegrees(idealHeading)) + " deg\n" 
+				+ getPercentiles("Position error (m)", positionErrors) + "\n" 
+				+ getPercentiles("Heading error (deg)", absoluteHeading) + "\n" 
+				+ getPercentiles("Time (s)", times) + "\n" 
+				+ "Didn't finish: " + unfinished + " of " + finished.length;
+	}
+	
+	private static String getPercentiles(String name, double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		
+		return String.format("%-20s 50%%: %8.3f  90%%: %8.3f  99%%: %8.3f  max: %8.3f", name, 
+				getPercentile(sorted, .5), getPercentile(sorted, .9), getPercentile(sorted, .99), sorted[sorted.length - 1]);
+	}
+	
+	private static double getPercentile(double[] sorted, double percent) {
+		int index = (int) Math.ceil(sorted.length * percent) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+	
+	public double[] getPositionErrors() { return positionErrors; }
+	public double[] getHeadingErrors() { return headingErrors; }
+	public double[] getTimes() { return times; }
+	public boolean[] getFinished() { return finished; }
+}
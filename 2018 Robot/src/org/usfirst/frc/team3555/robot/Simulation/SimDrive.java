@@ -0,0 +1,119 @@
+package org.usfirst.frc.team3555.robot.Simulation;
+
+import java.util.Random;
+
+import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.Config.DriveConfig;
+import org.usfirst.frc.team3555.robot.Hardware.StandInTalon;
+import org.usfirst.frc.team3555.robot.Loop.SimClock;
+import org.usfirst.frc.team3555.robot.Power.Battery;
+import org.usfirst.frc.team3555.robot.SubSystems.DriveActions;
+import org.usfirst.frc.team3555.robot.SubSystems.TankDrive;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.MotorGroup;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+
+/**
+ * A simulated drive train, that runs the DriveTrain's own autonomous actions ({@link DriveActions}) and a {@link MotorGroup} set up the same way, 
+ * on stand-in talons that drive a {@link DriveSimulation}. <br>
+ * Every run gets its own SimDrive, with its own clock, random numbers, talons, and state, so runs can go on as many threads as there are. <br>
+ * The velocity PIDs on the talons are modeled as perfect feed forward: the output is the speed asked for over the max speed at full battery. 
+ * A low battery lowers the real max speed, so the robot goes slower than asked.
+ */
+public class SimDrive implements TankDrive {
+	public static final double nominalMaxSpeed = 3;// <- meters / second at full output and a full battery
+	public static final double fullVoltage = 12.5;
+	public static final double timeConstant = .1;
+	
+	private SimClock clock;
+	private DriveSimulation sim;
+	private Random random;
+	private double encoderNoise;// <- meters, standard deviation of each reading
+	
+	private StandInTalon leftTalon, rightTalon;
+	private MotorGroup mainGroup;
+	private DriveActions actions;
+	private double wheelCircumference;// <- meters
+	
+	/**
+	 * @param config - Geometry, gains, and limits, the same as the robot's
+	 * @param seed - Seed for the encoder noise
+	 * @param batteryVoltage - Volts during the run
+	 * @param leftSlip - Part of the left wheel travel that doesn't move the robot
+	 * @param rightSlip - Part of the right wheel travel that doesn't move the robot
+	 * @param encoderNoise - Meters, standard deviation of each encoder reading
+	 */
+	public SimDrive(DriveConfig config, long seed, double batteryVoltage, double leftSlip, double rightSlip, double encoderNoise) {
+		clock = new SimClock();
+		sim = new DriveSimulation(nominalMaxSpeed * Math.min(1, batteryVoltage / fullVoltage), timeConstant, config.getDistanceBetweenWheels());
+		sim.setSlip(leftSlip, rightSlip);
+		random = new Random(seed);
+		this.encoderNoise = encoderNoise;
+		wheelCircumference = 2 * Math.PI * config.getWheelRadius();
+		
+		leftTalon = new StandInTalon(config.getLeftMaster());
+		rightTalon = new StandInTalon(config.getRightMaster());
+		mainGroup = new MotorGroup(new CANTalon(leftTalon), new CANTalon(rightTalon));
+		mainGroup.setClock(clock);
+		DriveActions.setUpGroup(mainGroup, Battery.nominalVoltage);
+		mainGroup.setEnabled(true);
+		
+		actions = new DriveActions(this, config);
+	}
+	
+	/**
+	 * Move the simulation forward, with what was last sent to the talons
+	 */
+	public void tick(double dt) {
+		sim.update(getOutput(leftTalon, 1), getOutput(rightTalon, -1), dt);
+		clock.advance(dt);
+	}
+	
+	/**
+	 * @param sign - -1 for the right side, its set point is negated
+	 * @return - Output of a side, from what was sent to its talon
+	 */
+	private double getOutput(StandInTalon talon, int sign) {
+		ControlMode mode = talon.getMode();
+		if(mode == ControlMode.Velocity) {
+			double rpm = CANTalon.nativeToQuadRPM(talon.getValue(), 360);
+			return sign * CANTalon.rpmToLinearVelocity(rpm, wheelCircumference) / nominalMaxSpeed;
+		}
+		if(mode == ControlMode.PercentOutput)
+			return sign * talon.getValue();
+		return 0;
+	}
+	
+	@Override
+	public MotorGroup getMainGroup() { return mainGroup; }
+	
+	@Override
+	public void updateFollowers() {}
+	
+	@Override
+	public double getLeftDistance() { return sim.getLeftPosition() + random.nextGaussian() * encoderNoise; }
+	
+	@Override
+	public double getRightDistance() { return sim.getRightPosition() + random.nextGaussian() * encoderNoise; }
+	
+	@Override
+	public double getTimestamp() { return clock.getTime(); }
+	
+	//***************************** Actions ***********************************//
+	
+	/**
+	 * Same as DriveTrain.drive(metersLeftSide, metersRightSide, seconds)
+	 */
+	public Action drive(double metersLeftSide, double metersRightSide, double seconds) { return actions.drive(metersLeftSide, metersRightSide, seconds); }
+	
+	public Action drive(double meters, double seconds) { return drive(meters, meters, seconds); }
+	
+	/**
+	 * Same as DriveTrain.turnRightOnDimeDegrees (right side forward, so counter clockwise)
+	 */
+	public Action turnOnDimeDegrees(double degrees, double seconds) { return actions.turnOnDime(Math.toRadians(degrees), seconds); }
+	
+	public SimClock getClock() { return clock; }
+	public DriveSimulation getSimulation() { return sim; }
+}
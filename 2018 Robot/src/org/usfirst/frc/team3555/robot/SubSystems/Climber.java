@@ -1,28 +1,66 @@
 package org.usfirst.frc.team3555.robot.SubSystems;
 
+import org.usfirst.frc.team3555.robot.Config.ClimberConfig;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Power.Battery;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedJoystick;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.StallDetector;
 
 public class Climber extends SubSystem {
 	private CurvedJoystick joyOp;
 	private CANTalon climber;
+	private StallDetector stallDetector;
+	private double deadzone;
 	
 	/**
 	 * ? Bottom out limit switch 
 	 * Encoder on the motor -> CTRE Mag Encoder
+	 * 
+	 * @param joyOp - Operator joystick
+	 * @param config - ID and limits from the config file
 	 */
-	public Climber(CurvedJoystick joyOp) {
+	public Climber(CurvedJoystick joyOp, ClimberConfig config) {
 		this.joyOp = joyOp;
 		
-		climber = new CANTalon(0);
+		climber = new CANTalon(config.getID());
 		climber.enable();
+		climber.setSoftwareVoltageCompensation(Battery.nominalVoltage);
+		
+		stallDetector = new StallDetector(climber, config.getStallCurrent(), config.getStallVelocity());
+		useConfig(config);
 	}
+	
+	/**
+	 * Take the settings that can change while the robot is running
+	 */
+	private void useConfig(ClimberConfig config) {
+		stallDetector.setCurrentThreshold(config.getStallCurrent());
+		stallDetector.setVelocityThreshold(config.getStallVelocity());
+		deadzone = config.getDeadzone();
+	}
+	
+	@Override
+	public void applyConfig(RobotConfig config) { useConfig(config.getClimber()); }
 
 	@Override
 	public void teleopUpdate() {
 		if(joyOp.getRawButton(4)) 
-			climber.set(joyOp.capDeadzone(joyOp.getY() / 2.0));
-		else 
+			climber.set(joyOp.capDeadzone(joyOp.getY() / 2.0, deadzone));
+		else {
 			climber.set(0);
+			stallDetector.reset();//Letting go of the button clears a stall
+		}
+		
+		stallDetector.update();
+	}
+	
+	@Override
+	public void registerPower(PowerArbiter power) {
+		power.addConsumer("Climber", 2, 0, 10, 40, climber);//Most important in the endgame
 	}
+	
+	@Override
+	public CANTalon[] getTalons() { return new CANTalon[] { climber }; }
 }
@@ -0,0 +1,16 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * One loop's commands for every talon on the {@link CANIO} thread, by slot
+ */
+class CANCommands {
+	final boolean[] valid;// <- Whether the talon has been given a command yet
+	final int[] modes;// <- ControlMode.value
+	final double[] values;// <- Native set points
+	
+	CANCommands(int slots) {
+		valid = new boolean[slots];
+		modes = new int[slots];
+		values = new double[slots];
+	}
+}
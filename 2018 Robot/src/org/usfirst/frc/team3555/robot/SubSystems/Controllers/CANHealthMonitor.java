@@ -0,0 +1,270 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.Faults;
+
+/**
+ * Watches every talon for dropping off the bus, faults, resets, and overheating. <br>
+ * Reading the status of every talon every loop would be a lot of extra calls on the main loop, so only a few talons are polled each loop, in turn.
+ * (8 talons at 2 a loop -> each talon is checked every 4 loops) <br>
+ * A talon is lost when its reads give an error (or there is no bus voltage) for a few polls in a row, and comes back after a few good polls in a row.
+ * When a talon is lost or comes back, the listener it was added with is told, so the subsystem can work around it. <br>
+ * A talon that reset (brown out, bumped power wire) has forgotten its settings, so they are sent to it again. <br>
+ * Talons on a {@link CANIO} thread are read from its buffer, so the errors are the IO thread's own and nothing here waits on the bus. <br>
+ * Everything is kept in arrays that are made once, polling only makes garbage when something changes and is reported
+ */
+public class CANHealthMonitor {
+	public static final int maxDevices = 16;
+
+	private CANTalon[] talons;
+	private String[] names;
+	private HealthListener[] listeners;
+	private int count;
+
+	/**
+	 * Polling -> how many talons each loop, and which one is next
+	 */
+	private int devicesPerTick;
+	private int next;
+
+	/**
+	 * Polls in a row it takes to be lost, and to come back
+	 */
+	private int lostPolls, recoverPolls;
+
+	private double maxTemperature;// <- celsius
+
+	/**
+	 * State of each talon
+	 */
+	private boolean[] healthy;
+	private int[] badPolls, goodPolls;
+	private boolean[] faulted, hot;
+
+	/**
+	 * Counts of each talon, these never go down
+	 */
+	private int[] lostCounts;
+	private int[] faultCounts;
+	private int[] hotCounts;
+	private int[] resetCounts;
+
+	/**
+	 * Last reads of each talon
+	 */
+	private int[] lastError;// <- ErrorCode value
+	private int[] lastFaults;// <- Fault bitfield
+	private int[] firmware;
+	private double[] temperature;
+	private double[] busVoltage;
+
+	private Faults faults;
+	private int unhealthy;
+
+	/**
+	 * @param devicesPerTick - Talons to poll each loop
+	 * @param lostPolls - Bad polls in a row before a talon is lost
+	 * @param recoverPolls - Good polls in a row before a lost talon is healthy again
+	 * @param maxTemperature - Temperature (celsius) that is warned about
+	 */
+	public CANHealthMonitor(int devicesPerTick, int lostPolls, int recoverPolls, double maxTemperature) {
+		this.devicesPerTick = devicesPerTick;
+		this.lostPolls = lostPolls;
+		this.recoverPolls = recoverPolls;
+		this.maxTemperature = maxTemperature;
+
+		talons = new CANTalon[maxDevices];
+		names = new String[maxDevices];
+		listeners = new HealthListener[maxDevices];
+
+		healthy = new boolean[maxDevices];
+		badPolls = new int[maxDevices];
+		goodPolls = new int[maxDevices];
+		faulted = new boolean[maxDevices];
+		hot = new boolean[maxDevices];
+
+		lostCounts = new int[maxDevices];
+		faultCounts = new int[maxDevices];
+		hotCounts = new int[maxDevices];
+		resetCounts = new int[maxDevices];
+
+		lastError = new int[maxDevices];
+		lastFaults = new int[maxDevices];
+		firmware = new int[maxDevices];
+		temperature = new double[maxDevices];
+		busVoltage = new double[maxDevices];
+
+		faults = new Faults();
+	}
+
+	/**
+	 * Watch talons, they start out healthy.
+	 * Call this when the robot starts, not while it is running
+	 *
+	 * @param name - Name for the reports (the ID is added)
+	 * @param listener - Told when one of these talons is lost or comes back, null if nothing needs to change
+	 * @param talons - The talons to watch
+	 */
+	public void add(String name, HealthListener listener, CANTalon... talons) {
+		for(CANTalon talon : talons) {
+			if(count == maxDevices)
+				throw new IllegalStateException("Too many talons to watch, max is " + maxDevices);
+
+			this.talons[count] = talon;
+			names[count] = name + " (CAN " + talon.getDeviceID() + ")";
+			listeners[count] = listener;
+			healthy[count] = true;
+
+			firmware[count] = talon.getFirmwareVersion();
+			if(talon.getLastError() != ErrorCode.OK)
+				Hardware.reportError(names[count] + " did not give a firmware version: " + talon.getLastError());
+			talon.hasResetOccurred();//Every talon has reset when the robot turns on, clear it
+
+			count++;
+		}
+	}
+
+	/**
+	 * Poll the next few talons, call this once a loop on the main thread (Listeners are called from here)
+	 */
+	public void update() {
+		for(int i = 0; i < devicesPerTick && i < count; i++) {
+			poll(next);
+			next = (next + 1) % count;
+		}
+	}
+
+	/**
+	 * Read the status of one talon, and decide if it is still healthy
+	 */
+	private void poll(int index) {
+		CANTalon talon = talons[index];
+
+		double voltage = talon.getBusVoltage();
+		ErrorCode error = talon.getLastError();
+		if(error == ErrorCode.OK) {
+			temperature[index] = talon.getTemperature();
+			error = talon.getLastError();
+		}
+		if(error == ErrorCode.OK)
+			error = talon.getFaults(faults);
+
+		busVoltage[index] = voltage;
+		lastError[index] = error.value;
+
+		if(error != ErrorCode.OK || voltage <= 0) {//No status from the talon
+			goodPolls[index] = 0;
+			if(++badPolls[index] >= lostPolls && healthy[index]) {
+				healthy[index] = false;
+				lostCounts[index]++;
+				unhealthy++;
+
+				Hardware.reportError(names[index] + " lost: " + error);
+				if(listeners[index] != null)
+					listeners[index].healthChanged(talon, false);
+			}
+			return;
+		}
+
+		badPolls[index] = 0;
+		lastFaults[index] = faults.toBitfield();
+
+		if(talon.hasResetOccurred()) {
+			resetCounts[index]++;
+			talon.restoreConfig();
+			Hardware.reportWarning(names[index] + " reset, settings sent again");
+		}
+
+		boolean fault = hasFault(faults);
+		if(fault && !faulted[index]) {
+			faultCounts[index]++;
+			Hardware.reportWarning(names[index] + " fault: " + faults);
+		}
+		faulted[index] = fault;
+
+		boolean overheated = temperature[index] >= maxTemperature;
+		if(overheated && !hot[index]) {
+			hotCounts[index]++;
+			Hardware.reportWarning(names[index] + " is at " + temperature[index] + " C");
+		}
+		hot[index] = overheated;
+
+		if(!healthy[index] && ++goodPolls[index] >= recoverPolls) {
+			healthy[index] = true;
+			unhealthy--;
+
+			firmware[index] = talon.getFirmwareVersion();
+			Hardware.reportWarning(names[index] + " is back");
+			if(listeners[index] != null)
+				listeners[index].healthChanged(talon, true);
+		}
+	}
+
+	/**
+	 * The limit switches and soft limits show up as faults, but they are the mechanism working, not the talon failing
+	 *
+	 * @return - Whether or not there is a fault that means something is wrong
+	 */
+	private static boolean hasFault(Faults faults) {
+		return faults.UnderVoltage || faults.HardwareFailure || faults.ResetDuringEn || faults.SensorOverflow ||
+				faults.SensorOutOfPhase || faults.HardwareESDReset || faults.RemoteLossOfSignal;
+	}
+
+	/**
+	 * @return - Amount of talons that are lost right now
+	 */
+	public int getUnhealthyCount() { return unhealthy; }
+
+	/**
+	 * @return - Amount of talons with a fault right now (not counting limits)
+	 */
+	public int getFaultedCount() {
+		int faultedCount = 0;
+		for(int i = 0; i < count; i++)
+			if(faulted[i])
+				faultedCount++;
+		return faultedCount;
+	}
+
+	/**
+	 * @return - Highest temperature of any talon (celsius)
+	 */
+	public double getMaxTemperature() {
+		double max = 0;
+		for(int i = 0; i < count; i++)
+			max = Math.max(max, temperature[i]);
+		return max;
+	}
+
+	public int getCount() { return count; }
+	public CANTalon getTalon(int index) { return talons[index]; }
+	public String getName(int index) { return names[index]; }
+
+	public boolean isHealthy(int index) { return healthy[index]; }
+	public boolean isFaulted(int index) { return faulted[index]; }
+	public boolean isHot(int index) { return hot[index]; }
+
+	public int getLostCount(int index) { return lostCounts[index]; }
+	public int getFaultCount(int index) { return faultCounts[index]; }
+	public int getHotCount(int index) { return hotCounts[index]; }
+	public int getResetCount(int index) { return resetCounts[index]; }
+
+	/**
+	 * @return - Value of the ErrorCode from the last poll
+	 */
+	public int getLastError(int index) { return lastError[index]; }
+
+	/**
+	 * @return - Bitfield of the faults from the last good poll (Faults.toBitfield())
+	 */
+	public int getLastFaults(int index) { return lastFaults[index]; }
+
+	public int getFirmwareVersion(int index) { return firmware[index]; }
+	public double getTemperature(int index) { return temperature[index]; }
+	public double getBusVoltage(int index) { return busVoltage[index]; }
+
+	public double getMaxTemperatureThreshold() { return maxTemperature; }
+	public void setMaxTemperatureThreshold(double maxTemperature) { this.maxTemperature = maxTemperature; }
+}
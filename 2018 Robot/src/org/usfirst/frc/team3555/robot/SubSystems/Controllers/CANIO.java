@@ -0,0 +1,280 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.usfirst.frc.team3555.robot.Loop.TripleBuffer;
+import org.usfirst.frc.team3555.robot.Telemetry.Histogram;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.Faults;
+
+/**
+ * Moves the talon reads and commands off of the main robot thread, onto one thread that only talks to the CAN bus. <br>
+ * The main thread never waits on the bus: <br>
+ *  Commands -> CANTalon.set() puts the set point in a pending buffer. At the end of the loop endLoop() hands the whole buffer to the IO thread <br>
+ *  State -> Every cycle the IO thread reads every talon (sensor, current, output voltage, limit switches, and status) into a buffer and hands it over. endLoop() picks up the newest one for the next loop to read <br>
+ *  Configs -> Gains, sensor resets, and limits are put in a queue, the IO thread sends one a cycle and waits for the talon to answer <br>
+ * The command and state hand offs are a {@link TripleBuffer}, and the config queue is a ring (like {@link org.usfirst.frc.team3555.robot.Telemetry.TelemetryRing}), 
+ * so nothing is locked and nothing is allocated. The status comes from the IO thread too, the last error of a talon is for the last call on it, 
+ * so it has to be read by the thread that makes the calls. <br>
+ * <br>
+ * NOTE: Only the thread that called start() (the main robot thread) uses the buffers. 
+ * Reads, commands, and configs from any other thread (like the control loop) still go straight to the talon.
+ */
+public class CANIO {
+	public static final int maxTalons = 16;
+	public static final int configCapacity = 256;// <- A power of 2
+	
+	private CANTalon[] talons;
+	private int count;
+	
+	private TripleBuffer<CANCommands> commands;
+	private TripleBuffer<CANState> states;
+	
+	/**
+	 * Config queue, the main thread only moves the head and the IO thread only moves the tail
+	 */
+	private int[] configSlots, configKinds;
+	private double[] configValues;
+	private volatile long configHead, configTail;
+	
+	/**
+	 * IO thread only
+	 */
+	private Faults faults;
+	private int[] resetCounts;
+	
+	/**
+	 * Main thread only
+	 */
+	private CANCommands pending;
+	private CANState current;
+	private long lastLoopStart;
+	
+	private Thread owner;
+	private Thread thread;
+	private long periodNanos;
+	private volatile boolean running;
+	
+	/**
+	 * Cycle times
+	 * Main -> Time from one main loop to the next
+	 * IO -> Time it takes the IO thread to write and read every talon
+	 */
+	private Histogram mainCycle;
+	private Histogram ioCycle;
+	
+	/**
+	 * @param frequency - Times a second to talk to the talons
+	 */
+	public CANIO(double frequency) {
+		periodNanos = (long) (1e9 / frequency);
+		talons = new CANTalon[maxTalons];
+		
+		commands = new TripleBuffer<>(new CANCommands(maxTalons), new CANCommands(maxTalons), new CANCommands(maxTalons));
+		states = new TripleBuffer<>(new CANState(maxTalons), new CANState(maxTalons), new CANState(maxTalons));
+		pending = new CANCommands(maxTalons);
+		current = states.latest();
+		
+		configSlots = new int[configCapacity];
+		configKinds = new int[configCapacity];
+		configValues = new double[configCapacity];
+		
+		faults = new Faults();
+		resetCounts = new int[maxTalons];
+		
+		mainCycle = new Histogram(.001, 50);// <- 1 ms bins, up to 50 ms
+		ioCycle = new Histogram(.0001, 100);// <- .1 ms bins, up to 10 ms
+	}
+	
+	/**
+	 * Move talons onto the IO thread. This has to be done before start()
+	 */
+	public void add(CANTalon... talons) {
+		if(running)
+			throw new IllegalStateException("Talons have to be added before the CAN IO thread is started");
+		
+		for(CANTalon talon : talons) {
+			if(count == maxTalons)
+				throw new IllegalStateException("Too many talons, max is " + maxTalons);
+			
+			this.talons[count] = talon;
+			talon.attach(this, count);
+			count++;
+		}
+	}
+	
+	/**
+	 * Start the IO thread. The calling thread becomes the one that uses the buffers
+	 */
+	public void start() {
+		if(running)
+			return;
+		
+		owner = Thread.currentThread();
+		running = true;
+		
+		thread = new Thread(this::run, "CAN IO");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MAX_PRIORITY - 1);
+		thread.start();
+	}
+	
+	/**
+	 * Stop the IO thread, the talons go back to being used directly
+	 */
+	public void stop() {
+		running = false;
+		owner = null;
+		
+		if(thread != null)
+			LockSupport.unpark(thread);
+	}
+	
+	/**
+	 * The IO thread
+	 */
+	private void run() {
+		long next = System.nanoTime();
+		
+		while(running) {
+			long start = System.nanoTime();
+			
+			//One config a cycle, the commands are never held up by more than one wait
+			long tail = configTail;
+			if(tail < configHead) {
+				int index = (int) (tail & (configCapacity - 1));
+				talons[configSlots[index]].applyQueued(configKinds[index], configValues[index]);
+				configTail = tail + 1;
+			}
+			
+			CANCommands command = commands.latest();
+			for(int i = 0; i < count; i++)
+				if(command.valid[i])
+					talons[i].write(CANTalon.getControlMode(command.modes[i]), command.values[i]);
+			
+			CANState state = states.getWriteBuffer();
+			for(int i = 0; i < count; i++) {
+				CANTalon talon = talons[i];
+				state.positions[i] = talon.readPosition();
+				state.velocities[i] = talon.readVelocity();
+				state.currents[i] = talon.readCurrent();
+				state.voltages[i] = talon.readVoltage();
+				state.forwardLimits[i] = talon.readForwardLimit();
+				state.reverseLimits[i] = talon.readReverseLimit();
+				
+				state.busVoltages[i] = talon.readBusVoltage();
+				ErrorCode error = talon.readLastError();
+				if(error == ErrorCode.OK) {
+					state.temperatures[i] = talon.readTemperature();
+					error = talon.readFaults(faults);
+					state.faults[i] = faults.toBitfield();
+				}
+				state.errors[i] = error.value;
+				
+				if(talon.readResetOccurred())
+					resetCounts[i]++;
+				state.resets[i] = resetCounts[i];
+			}
+			state.valid = true;
+			states.publish();
+			
+			ioCycle.record((System.nanoTime() - start) / 1e9);
+			
+			//Wait for the next cycle, skipping cycles if the bus was so slow that they were missed
+			next += periodNanos;
+			long now = System.nanoTime();
+			if(next < now)
+				next = now;
+			LockSupport.parkNanos(next - now);
+		}
+	}
+	
+	/**
+	 * Hand this loop's commands to the IO thread, and get the newest state for the next loop. 
+	 * Call this once at the end of every main loop
+	 */
+	public void endLoop() {
+		if(!isOwner())
+			return;
+		
+		long now = System.nanoTime();
+		if(lastLoopStart != 0)
+			mainCycle.record((now - lastLoopStart) / 1e9);
+		lastLoopStart = now;
+		
+		CANCommands out = commands.getWriteBuffer();
+		for(int i = 0; i < count; i++) {
+			out.valid[i] = pending.valid[i];
+			out.modes[i] = pending.modes[i];
+			out.values[i] = pending.values[i];
+		}
+		commands.publish();
+		
+		current = states.latest();
+	}
+	
+	/**
+	 * @return - Whether the calling thread uses the buffers (otherwise it should go straight to the talon)
+	 */
+	boolean isOwner() { return running && Thread.currentThread() == owner; }
+	
+	/**
+	 * @return - Whether the calling thread uses the buffers, and the IO thread has read the talons at least once
+	 */
+	boolean hasState() { return isOwner() && current.valid; }
+	
+	/**
+	 * Queue a config for the IO thread
+	 * 
+	 * @return - Whether there was room (If not, send it straight to the talon without waiting)
+	 */
+	boolean config(int slot, int kind, double value) {
+		long head = configHead;
+		if(head - configTail >= configCapacity)
+			return false;
+		
+		int index = (int) (head & (configCapacity - 1));
+		configSlots[index] = slot;
+		configKinds[index] = kind;
+		configValues[index] = value;
+		configHead = head + 1;//Publish the config
+		return true;
+	}
+	
+	void command(int slot, int mode, double value) {
+		pending.valid[slot] = true;
+		pending.modes[slot] = mode;
+		pending.values[slot] = value;
+	}
+	
+	int getPosition(int slot) { return current.positions[slot]; }
+	int getVelocity(int slot) { return current.velocities[slot]; }
+	double getCurrent(int slot) { return current.currents[slot]; }
+	double getVoltage(int slot) { return current.voltages[slot]; }
+	boolean getForwardLimit(int slot) { return current.forwardLimits[slot]; }
+	boolean getReverseLimit(int slot) { return current.reverseLimits[slot]; }
+	double getBusVoltage(int slot) { return current.busVoltages[slot]; }
+	double getTemperature(int slot) { return current.temperatures[slot]; }
+	int getError(int slot) { return current.errors[slot]; }
+	int getFaults(int slot) { return current.faults[slot]; }
+	int getResets(int slot) { return current.resets[slot]; }
+	
+	/**
+	 * @return - Configs waiting for the IO thread
+	 */
+	public int getPendingConfigs() { return (int) (configHead - configTail); }
+	
+	public boolean isRunning() { return running; }
+	public int getCount() { return count; }
+	
+	/**
+	 * @return - Time from one main loop to the next (seconds)
+	 */
+	public Histogram getMainCycle() { return mainCycle; }
+	
+	/**
+	 * @return - Time the IO thread takes to write and read every talon (seconds)
+	 */
+	public Histogram getIOCycle() { return ioCycle; }
+}
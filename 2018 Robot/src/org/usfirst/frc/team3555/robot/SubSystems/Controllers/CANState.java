@@ -0,0 +1,39 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * One cycle's sensor readings for every talon on the {@link CANIO} thread, by slot
+ */
+class CANState {
+	final int[] positions;// <- Native units
+	final int[] velocities;// <- Native units
+	final double[] currents;// <- amps
+	final double[] voltages;// <- volts out to the motor
+	final boolean[] forwardLimits;
+	final boolean[] reverseLimits;
+	
+	/**
+	 * Status, for the {@link CANHealthMonitor}
+	 */
+	final double[] busVoltages;// <- volts
+	final double[] temperatures;// <- celsius
+	final int[] errors;// <- ErrorCode.value of this cycle's reads of the talon
+	final int[] faults;// <- Faults.toBitfield()
+	final int[] resets;// <- Times the IO thread has seen the talon reset, this only goes up so a reset isn't lost in a skipped cycle
+	
+	boolean valid;// <- Whether a cycle has been read yet
+	
+	CANState(int slots) {
+		positions = new int[slots];
+		velocities = new int[slots];
+		currents = new double[slots];
+		voltages = new double[slots];
+		forwardLimits = new boolean[slots];
+		reverseLimits = new boolean[slots];
+		
+		busVoltages = new double[slots];
+		temperatures = new double[slots];
+		errors = new int[slots];
+		faults = new int[slots];
+		resets = new int[slots];
+	}
+}
@@ -1,13 +1,22 @@
 package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Hardware.TalonIO;
+import org.usfirst.frc.team3555.robot.Power.Battery;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.Faults;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
 import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
 
 /**
- * Wrapper class of the 2018 WPI_TalonSRX that more resembles the 2017 CANTalon, but is also more convenient for the PID Editor <br> 
+ * Wrapper around a Talon SRX ({@link TalonIO}) that more resembles the 2017 CANTalon, but is also more convenient for the PID Editor <br> 
  * This will: <br>
  *  Store the enabled state of the controller <br>
  *  Store the setpoint and pidf values <br>
@@ -17,24 +26,52 @@ import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
  *  Convert a rpm setpoint into a native velocity setpoint <br> 
  *  Convert native velocity into rpm <br>
  *  Convert native position into rotations <br>
- *  Convert rotations into a distance measure
+ *  Convert rotations into a distance measure <br>
+ *  Compensate percent output for the battery voltage, either on the talon or from the cached battery reading <br>
+ *  Pass sensor reads and commands through {@link Replay} so that they can be recorded and played back <br>
+ *  Read, command, and config through the {@link CANIO} thread once it is added to one, so the main thread never waits on the bus <br>
+ *  Check the error code of every config call, and remember the settings so they can be sent again after the talon resets <br>
+ *  Talk to the talon through {@link TalonIO}, so off of the robot it can be a stand-in from {@link Hardware}
  *  
  * @author Sam Secondo
  */
-public class CANTalon extends WPI_TalonSRX {
+public class CANTalon {
 	public static final int kSlotIdx = 0;
 	public static final int kPidIdx = 0;
 	public static final int kTimeoutMs = 10;
 	
+	/**
+	 * Configs that can be queued for the {@link CANIO} thread
+	 */
+	static final int configP = 0;
+	static final int configI = 1;
+	static final int configD = 2;
+	static final int configF = 3;
+	static final int configFeedbackDevice = 4;// <- FeedbackDevice.value
+	static final int configSensorPosition = 5;// <- Native units
+	static final int configForwardSoftLimit = 6;// <- Native units
+	static final int configReverseSoftLimit = 7;// <- Native units
+	static final int configVoltageSaturation = 8;// <- volts
+	static final int configContinuousCurrent = 9;// <- amps
+	static final int configPeakCurrent = 10;// <- amps
+	static final int configForwardLimitSwitch = 11;// <- The stored source and normal are sent, the value isn't used
+	static final int configReverseLimitSwitch = 12;// <- The stored source and normal are sent, the value isn't used
+	private static final String[] configNames = { "kP", "kI", "kD", "kF", "feedback device", "sensor position", "forward soft limit", "reverse soft limit", 
+			"voltage compensation", "current limit", "peak current limit", "forward limit switch", "reverse limit switch" };
+	
+	//values() makes a new array every call, so they are only made once
+	private static final ControlMode[] controlModes = ControlMode.values();
+	private static final FeedbackDevice[] feedbackDevices = FeedbackDevice.values();
+	
 	public static ControlMode getControlMode(int controlModeValue) {
-		for(ControlMode mode : ControlMode.values())
+		for(ControlMode mode : controlModes)
 			if(mode.value == controlModeValue)
 				return mode;
 		return null;
 	}
 	
 	public static FeedbackDevice getFeedbackDevice(int feedbackDeviceValue) {
-		for(FeedbackDevice device : FeedbackDevice.values()) 
+		for(FeedbackDevice device : feedbackDevices) 
 			if(device.value == feedbackDeviceValue)
 				return device;
 		return null;
@@ -96,9 +133,24 @@ public class CANTalon extends WPI_TalonSRX {
 		return (rpm * distancePerRotation) / 60.0;
 	}
 	
+	/**
+	 * Scale a percent output so that the motor sees the same voltage as it would at the nominal voltage. 
+	 * Nominal / Battery * Percent, capped to +- 1
+	 */
+	public static double compensateVoltage(double percent, double nominalVoltage, double batteryVoltage) {
+		if(batteryVoltage < 1)//No reading, don't blow up the output
+			return percent;
+		
+		double compensated = percent * (nominalVoltage / batteryVoltage);
+		return Math.max(-1, Math.min(1, compensated));
+	}
+	
+	private TalonIO talon;
+	private int id;
+	
 	private boolean enabled;
 	private double p, i, d, f;
-	private double setPoint;
+	private volatile double setPoint;// <- Volatile, set from the control loop's thread as well as the main thread
 	
 	private FeedbackDevice feedbackDevice;
 	private ControlMode controlMode;
@@ -106,6 +158,45 @@ public class CANTalon extends WPI_TalonSRX {
 	private int sensorUnitsPerRotation;
 	private double distancePerRotation;
 	
+	private volatile int currentLimit;// <- amps, 0 = no limit. Set by the power arbiter on the control loop's thread
+	private boolean brake;
+	private boolean inverted;
+	
+	/**
+	 * Limits, kept so they can be sent again after a reset
+	 */
+	private int forwardSoftLimit, reverseSoftLimit;// <- Native units
+	private boolean hasForwardSoftLimit, hasReverseSoftLimit;
+	private boolean softLimitsEnabled = true, limitSwitchesEnabled = true;
+	private LimitSwitchSource forwardLimitSource, reverseLimitSource;// <- null if never set
+	private LimitSwitchNormal forwardLimitNormal, reverseLimitNormal;
+	
+	/**
+	 * Config calls that the talon did not take (Atomic, the current limit is configured from the control loop's thread)
+	 */
+	private AtomicInteger configErrors;
+	
+	/**
+	 * Voltage compensation for percent output
+	 * Hardware -> the talon scales the output itself
+	 * Software -> the set point is scaled by the cached battery voltage before it is sent
+	 */
+	private double nominalVoltage;
+	private boolean softwareVoltageCompensation;
+	
+	/**
+	 * IO thread this talon is on, null if it is used directly
+	 */
+	private CANIO io;
+	private int ioSlot;
+	
+	/**
+	 * Configs queued by the main thread, and applied by the IO thread
+	 */
+	private int configsSent;
+	private volatile int configsApplied;
+	private int resetsSeen;// <- Of the IO thread's reset count
+	
 	/**
 	 * Initializes a CANTalon with a complete clean slate. 
 	 * Make sure to set any sensors, sensor units, control modes, pids, etc...
@@ -114,7 +205,16 @@ public class CANTalon extends WPI_TalonSRX {
 	 * @param deviceNumber -> ID of the CANTalon
 	 */
 	public CANTalon(int deviceNumber) {
-		super(deviceNumber);
+		this(Hardware.talon(deviceNumber));
+	}
+	
+	/**
+	 * @param talon - The talon to wrap (A stand-in for benchmarks and checks)
+	 */
+	public CANTalon(TalonIO talon) {
+		this.talon = talon;
+		id = talon.getDeviceID();
+		configErrors = new AtomicInteger();
 		
 		setControlMode(ControlMode.PercentOutput);
 		setFeedbackDevice(FeedbackDevice.None);
@@ -124,12 +224,8 @@ public class CANTalon extends WPI_TalonSRX {
 		setCoast();
 		setSensorUnitsPerRotation(0);
 		setInverted(false);
-	}
-	
-	public CANTalon(String name, int deviceNumber) {
-		this(deviceNumber);
 		
-		setName("Talon SRX #", deviceNumber + ", " + name);
+		config(configPeakCurrent, 0);//0 -> Only use the continuous limit, set once so changing the limit is one call
 	}
 
 	/**
@@ -141,19 +237,73 @@ public class CANTalon extends WPI_TalonSRX {
 		if(enabled) {
 			if(controlMode == ControlMode.Velocity) {
 				if(feedbackDevice == FeedbackDevice.QuadEncoder || feedbackDevice == FeedbackDevice.CTRE_MagEncoder_Relative)
-					super.set(controlMode, quadRPMToNative(setPoint, sensorUnitsPerRotation));
+					send(quadRPMToNative(setPoint, sensorUnitsPerRotation));
 				else
-					super.set(controlMode, rpmToNative(setPoint, sensorUnitsPerRotation));
+					send(rpmToNative(setPoint, sensorUnitsPerRotation));
 			} else if(controlMode == ControlMode.Position) {
 				if(feedbackDevice == FeedbackDevice.QuadEncoder || feedbackDevice == FeedbackDevice.CTRE_MagEncoder_Relative)
-					super.set(controlMode, quadRotationsToNative(setPoint, sensorUnitsPerRotation));
+					send(quadRotationsToNative(setPoint, sensorUnitsPerRotation));
 				else
-					super.set(controlMode, rotationsToNative(setPoint, sensorUnitsPerRotation));
-			}
-			super.set(controlMode, setPoint);
+					send(rotationsToNative(setPoint, sensorUnitsPerRotation));
+			} else if(controlMode == ControlMode.PercentOutput && softwareVoltageCompensation) {
+				double voltage = Replay.read(Replay.source(Replay.batteryVoltage, 0, 0), Battery.getVoltage());
+				send(compensateVoltage(setPoint, nominalVoltage, voltage));
+			} else 
+				send(setPoint);
+		}
+	}
+	
+	/**
+	 * Send a native value to the talon in the current control mode (Unless a recording is being played back)
+	 */
+	private void send(double value) {
+		if(Replay.command(id, value)) {
+			if(io != null && io.isOwner())
+				io.command(ioSlot, controlMode.value, value);
+			else
+				talon.set(controlMode, value);
 		}
 	}
 	
+	//***************************** CAN IO Thread ***********************************//
+	
+	/**
+	 * Called by {@link CANIO#add(CANTalon...)}
+	 */
+	void attach(CANIO io, int slot) {
+		this.io = io;
+		this.ioSlot = slot;
+	}
+	
+	/**
+	 * These go straight to the talon, they are only called by the IO thread
+	 */
+	void write(ControlMode mode, double value) { talon.set(mode, value); }
+	int readPosition() { return talon.getSelectedSensorPosition(kPidIdx); }
+	int readVelocity() { return talon.getSelectedSensorVelocity(kPidIdx); }
+	double readCurrent() { return talon.getOutputCurrent(); }
+	double readVoltage() { return talon.getMotorOutputVoltage(); }
+	boolean readForwardLimit() { return talon.isFwdLimitSwitchClosed(); }
+	boolean readReverseLimit() { return talon.isRevLimitSwitchClosed(); }
+	double readBusVoltage() { return talon.getBusVoltage(); }
+	double readTemperature() { return talon.getTemperature(); }
+	ErrorCode readLastError() { return talon.getLastError(); }
+	ErrorCode readFaults(Faults toFill) { return talon.getFaults(toFill); }
+	boolean readResetOccurred() { return talon.hasResetOccurred(); }
+	
+	/**
+	 * Send a queued config, waiting for the talon to answer. Only called by the IO thread
+	 */
+	void applyQueued(int kind, double value) {
+		check(applyConfig(kind, value, kTimeoutMs), configNames[kind]);
+		configsApplied++;//Only the IO thread writes this
+	}
+	
+	/**
+	 * @return - Whether reads should come from the IO thread's buffer
+	 */
+	private boolean isBuffered() { return io != null && io.hasState(); }
+	
 	public void setVelocityRPM(double rpm) {
 		setControlMode(ControlMode.Velocity);
 		set(rpm);
@@ -190,25 +340,25 @@ public class CANTalon extends WPI_TalonSRX {
 	public double getP() { return p; }
 	public void setP(double p) {
 		this.p = p;
-		config_kP(kSlotIdx, p, kTimeoutMs);
+		config(configP, p);
 	}
 
 	public double getI() { return i; }
 	public void setI(double i) {
 		this.i = i;
-		config_kI(kSlotIdx, i, kTimeoutMs);
+		config(configI, i);
 	}
 	
 	public double getD() { return d; }
 	public void setD(double d) {
 		this.d = d;
-		config_kD(kSlotIdx, d, kTimeoutMs);
+		config(configD, d);
 	}
 
 	public double getF() { return f; }
 	public void setF(double f) {
 		this.f = f;
-		config_kF(kSlotIdx, f, kTimeoutMs);
+		config(configF, f);
 	}
 	
 	public boolean isEnabled() { return enabled; }
@@ -216,14 +366,36 @@ public class CANTalon extends WPI_TalonSRX {
 		this.enabled = enabled;
 		
 		if(!enabled)
-			stopMotor();
+			talon.neutralOutput();
 	}
 	
 	public void enable() { setEnabled(true); }
 	public void disable() { setEnabled(false); }
 
-	public void setCoast() { setNeutralMode(NeutralMode.Coast); }
-	public void setBrake() { setNeutralMode(NeutralMode.Brake); }
+	public void setCoast() { 
+		brake = false;
+		talon.setNeutralMode(NeutralMode.Coast); 
+	}
+	
+	public void setBrake() { 
+		brake = true;
+		talon.setNeutralMode(NeutralMode.Brake); 
+	}
+	
+	public boolean isBrake() { return brake; }
+	
+	public boolean getInverted() { return inverted; }
+	public void setInverted(boolean inverted) { 
+		this.inverted = inverted;
+		talon.setInverted(inverted); 
+	}
+	
+	public int getDeviceID() { return id; }
+	
+	/**
+	 * @return - The talon this wraps
+	 */
+	public TalonIO getTalon() { return talon; }
 	
 	public int getSensorUnitsPerRotation() { return sensorUnitsPerRotation; }
 	public void setSensorUnitsPerRotation(int sensorUnitsPerRotation) { this.sensorUnitsPerRotation = sensorUnitsPerRotation; }
@@ -235,7 +407,7 @@ public class CANTalon extends WPI_TalonSRX {
 	public void setFeedbackDevice(int value) { setFeedbackDevice(getFeedbackDevice(value)); }
 	public void setFeedbackDevice(FeedbackDevice feedbackDevice) {
 		this.feedbackDevice = feedbackDevice;
-		configSelectedFeedbackSensor(feedbackDevice, kPidIdx, kTimeoutMs);
+		config(configFeedbackDevice, feedbackDevice.value);
 	}
 	
 	public ControlMode getControlMode() { return controlMode; }
@@ -276,26 +448,311 @@ public class CANTalon extends WPI_TalonSRX {
 	public double getNativeVelocity() { return getSelectedSensorVelocity(kPidIdx); }
 	public double getNativePosition() { return getSelectedSensorPosition(kPidIdx); } 
 	
-	public int getAnalogInNativeVelocity() { return getSensorCollection().getAnalogInVel(); }
+	public int getSelectedSensorPosition(int pidIdx) {
+		int live = isBuffered() && pidIdx == kPidIdx ? io.getPosition(ioSlot) : talon.getSelectedSensorPosition(pidIdx);
+		return (int) Replay.read(Replay.source(Replay.sensorPosition, id, pidIdx), live);
+	}
+	
+	public int getSelectedSensorVelocity(int pidIdx) {
+		int live = isBuffered() && pidIdx == kPidIdx ? io.getVelocity(ioSlot) : talon.getSelectedSensorVelocity(pidIdx);
+		return (int) Replay.read(Replay.source(Replay.sensorVelocity, id, pidIdx), live);
+	}
+	
+	public double getOutputCurrent() {
+		double live = isBuffered() ? io.getCurrent(ioSlot) : talon.getOutputCurrent();
+		return Replay.read(Replay.source(Replay.outputCurrent, id, 0), live);
+	}
+	
+	public double getMotorOutputVoltage() {
+		double live = isBuffered() ? io.getVoltage(ioSlot) : talon.getMotorOutputVoltage();
+		return Replay.read(Replay.source(Replay.outputVoltage, id, 0), live);
+	}
+	
+	public boolean isForwardLimitSwitchClosed() {
+		boolean live = isBuffered() ? io.getForwardLimit(ioSlot) : talon.isFwdLimitSwitchClosed();
+		return Replay.read(Replay.source(Replay.forwardLimit, id, 0), live);
+	}
+	
+	public boolean isReverseLimitSwitchClosed() {
+		boolean live = isBuffered() ? io.getReverseLimit(ioSlot) : talon.isRevLimitSwitchClosed();
+		return Replay.read(Replay.source(Replay.reverseLimit, id, 0), live);
+	}
+	
+	public int getAnalogInNativeVelocity() { return (int) Replay.read(Replay.source(Replay.analogIn, id, 1), talon.getAnalogInVel()); }
 	public double getAnalogInRPMVelocity() { return nativeToRPM(getAnalogInNativeVelocity(), 1024); }
 	
-	public int getAnalogInNativePosition() { return getSensorCollection().getAnalogIn(); }
+	public int getAnalogInNativePosition() { return (int) Replay.read(Replay.source(Replay.analogIn, id, 0), talon.getAnalogIn()); }
 	public double getAnalogInRotationPosition() { return nativeToRotations(getAnalogInNativePosition(), 4096); }
 	
-	public void setSensorPosition(int sensorPos) { setSelectedSensorPosition(sensorPos, kPidIdx, kTimeoutMs); }
+	public void setSensorPosition(int sensorPos) { config(configSensorPosition, sensorPos); }
+	
+	public void setForwardLimitSwitch(LimitSwitchSource source, LimitSwitchNormal normal) {
+		forwardLimitSource = source;
+		forwardLimitNormal = normal;
+		config(configForwardLimitSwitch, 0);
+	}
+	
+	public void setReverseLimitSwitch(LimitSwitchSource source, LimitSwitchNormal normal) {
+		reverseLimitSource = source;
+		reverseLimitNormal = normal;
+		config(configReverseLimitSwitch, 0);
+	}
+	
+	//***************************** Health ***********************************//
+	
+	/**
+	 * These are read by the {@link CANHealthMonitor} on the main thread, and go through the recording like the sensors so a replay sees the same losses and resets
+	 */
+	public double getBusVoltage() { 
+		double live = isBuffered() ? io.getBusVoltage(ioSlot) : talon.getBusVoltage();
+		return Replay.read(Replay.source(Replay.busVoltage, id, 0), live); 
+	}
+	
+	public double getTemperature() { 
+		double live = isBuffered() ? io.getTemperature(ioSlot) : talon.getTemperature();
+		return Replay.read(Replay.source(Replay.temperature, id, 0), live); 
+	}
+	
+	public int getFirmwareVersion() { return talon.getFirmwareVersion(); }
+	
+	/**
+	 * @return - Error of the last read. When buffered this is the IO thread's reads of the talon this cycle, 
+	 * the main thread's own calls would only see whatever the IO thread did last
+	 */
+	public ErrorCode getLastError() { 
+		int live = isBuffered() ? io.getError(ioSlot) : talon.getLastError().value;
+		return ErrorCode.valueOf((int) Replay.read(Replay.source(Replay.lastError, id, 0), live)); 
+	}
+	
+	/**
+	 * @param toFill - Filled with the faults
+	 * @return - Error code of the read
+	 */
+	public ErrorCode getFaults(Faults toFill) {
+		int error;
+		if(isBuffered()) {
+			toFill.update(io.getFaults(ioSlot));
+			error = io.getError(ioSlot);
+		} else 
+			error = talon.getFaults(toFill).value;
+		
+		toFill.update((int) Replay.read(Replay.source(Replay.faults, id, 0), toFill.toBitfield()));
+		return ErrorCode.valueOf((int) Replay.read(Replay.source(Replay.lastError, id, 1), error));
+	}
+	
+	/**
+	 * @return - Whether the talon has reset since the last call
+	 */
+	public boolean hasResetOccurred() { 
+		boolean live;
+		if(isBuffered()) {
+			int resets = io.getResets(ioSlot);
+			live = resets != resetsSeen;
+			resetsSeen = resets;
+		} else 
+			live = talon.hasResetOccurred();
+		return Replay.read(Replay.source(Replay.resetOccurred, id, 0), live); 
+	}
 
 	public void setForwardSoftLimitRotations(double rotations) {
 		if(feedbackDevice == FeedbackDevice.QuadEncoder)
-			configForwardSoftLimitThreshold((int) quadRotationsToNative(rotations, sensorUnitsPerRotation), kTimeoutMs);
-		configForwardSoftLimitThreshold((int) rotationsToNative(rotations, sensorUnitsPerRotation), kTimeoutMs);
+			forwardSoftLimit = (int) quadRotationsToNative(rotations, sensorUnitsPerRotation);
+		else
+			forwardSoftLimit = (int) rotationsToNative(rotations, sensorUnitsPerRotation);
+		hasForwardSoftLimit = true;
+		config(configForwardSoftLimit, forwardSoftLimit);
 	}
 	
 	public void setReverseSoftLimitRotations(double rotations) {
 		if(feedbackDevice == FeedbackDevice.QuadEncoder)
-			configReverseSoftLimitThreshold((int) quadRotationsToNative(rotations, sensorUnitsPerRotation), kTimeoutMs);
-		configReverseSoftLimitThreshold((int) rotationsToNative(rotations, sensorUnitsPerRotation), kTimeoutMs);
+			reverseSoftLimit = (int) quadRotationsToNative(rotations, sensorUnitsPerRotation);
+		else
+			reverseSoftLimit = (int) rotationsToNative(rotations, sensorUnitsPerRotation);
+		hasReverseSoftLimit = true;
+		config(configReverseSoftLimit, reverseSoftLimit);
+	}
+	
+	/**
+	 * Have the talon compensate percent output for the battery voltage. 
+	 * NOTE: This also scales the closed loop output, so closed loop gains may need to be tuned with this on
+	 * 
+	 * @param nominalVoltage - The voltage that full output is equal to
+	 */
+	public void setHardwareVoltageCompensation(double nominalVoltage) {
+		this.nominalVoltage = nominalVoltage;
+		softwareVoltageCompensation = false;
+		
+		config(configVoltageSaturation, nominalVoltage);
+		talon.enableVoltageCompensation(true);
 	}
 	
-	public void enableLimitSwitch(boolean enable) { overrideLimitSwitchesEnable(enable); }
-	public void enableSoftLimit(boolean enable) { overrideSoftLimitsEnable(enable); }
+	/**
+	 * Compensate percent output for the battery voltage by scaling the set point with the cached reading from {@link Battery}. 
+	 * This only changes percent output, closed loop modes are left alone.
+	 * 
+	 * @param nominalVoltage - The voltage that full output is equal to
+	 */
+	public void setSoftwareVoltageCompensation(double nominalVoltage) {
+		this.nominalVoltage = nominalVoltage;
+		softwareVoltageCompensation = true;
+		
+		talon.enableVoltageCompensation(false);
+	}
+	
+	/**
+	 * Turn off both kinds of voltage compensation
+	 */
+	public void disableVoltageCompensation() {
+		nominalVoltage = 0;
+		softwareVoltageCompensation = false;
+		
+		talon.enableVoltageCompensation(false);
+	}
+	
+	public double getNominalVoltage() { return nominalVoltage; }
+	
+	/**
+	 * @return - The limit the power arbiter last set, through the recording because it is handed over from the control loop's thread
+	 */
+	public int getCurrentLimit() { return (int) Replay.read(Replay.source(Replay.currentLimit, id, 0), currentLimit); }
+	
+	/**
+	 * Limit the continuous current of the talon. 
+	 * The talon is only configured when the limit actually changes, and this doesn't wait for it to answer (timeout of 0), so it is safe to call every loop. 
+	 * With no wait the error code only says whether the config could be sent, that is still checked
+	 * 
+	 * @param amps - The limit in amps, 0 to remove the limit
+	 */
+	public void setCurrentLimit(int amps) {
+		if(amps == currentLimit)
+			return;
+		
+		boolean wasLimited = currentLimit > 0;
+		currentLimit = amps;
+		if(amps > 0) {
+			config(configContinuousCurrent, amps, 0);
+			if(!wasLimited)
+				talon.enableCurrentLimit(true);
+		} else 
+			talon.enableCurrentLimit(false);
+	}
+	
+	public void enableLimitSwitch(boolean enable) { 
+		limitSwitchesEnabled = enable;
+		talon.overrideLimitSwitchesEnable(enable); 
+	}
+	
+	public void enableSoftLimit(boolean enable) { 
+		softLimitsEnabled = enable;
+		talon.overrideSoftLimitsEnable(enable); 
+	}
+	
+	//***************************** Configs ***********************************//
+	
+	/**
+	 * Send a config to the talon. 
+	 * From the thread that uses the IO thread's buffers it is queued for the IO thread, so the loop never waits on the talon's answer. 
+	 * Otherwise (before the IO thread starts) it is sent here and waits for the answer. If the queue is full it is sent here without waiting
+	 * 
+	 * @param kind - Which config (configP...)
+	 * @param value - The value, native units for the sensor position and limits
+	 */
+	private void config(int kind, double value) { config(kind, value, kTimeoutMs); }
+	
+	/**
+	 * @param timeoutMs - How long to wait for the answer when it is sent here instead of queued
+	 */
+	private void config(int kind, double value, int timeoutMs) {
+		if(io != null && io.isOwner()) {
+			if(io.config(ioSlot, kind, value)) {
+				configsSent++;
+				return;
+			}
+			timeoutMs = 0;
+		}
+		check(applyConfig(kind, value, timeoutMs), configNames[kind]);
+	}
+	
+	private ErrorCode applyConfig(int kind, double value, int timeoutMs) {
+		switch(kind) {
+			case configP: return talon.config_kP(kSlotIdx, value, timeoutMs);
+			case configI: return talon.config_kI(kSlotIdx, value, timeoutMs);
+			case configD: return talon.config_kD(kSlotIdx, value, timeoutMs);
+			case configF: return talon.config_kF(kSlotIdx, value, timeoutMs);
+			case configFeedbackDevice: return talon.configSelectedFeedbackSensor(getFeedbackDevice((int) value), kPidIdx, timeoutMs);
+			case configSensorPosition: return talon.setSelectedSensorPosition((int) value, kPidIdx, timeoutMs);
+			case configForwardSoftLimit: return talon.configForwardSoftLimitThreshold((int) value, timeoutMs);
+			case configReverseSoftLimit: return talon.configReverseSoftLimitThreshold((int) value, timeoutMs);
+			case configVoltageSaturation: return talon.configVoltageCompSaturation(value, timeoutMs);
+			case configContinuousCurrent: return talon.configContinuousCurrentLimit((int) value, timeoutMs);
+			case configPeakCurrent: return talon.configPeakCurrentLimit((int) value, timeoutMs);
+			case configForwardLimitSwitch: return talon.configForwardLimitSwitchSource(forwardLimitSource, forwardLimitNormal, timeoutMs);
+			case configReverseLimitSwitch: return talon.configReverseLimitSwitchSource(reverseLimitSource, reverseLimitNormal, timeoutMs);
+			default: throw new IllegalArgumentException("No config " + kind);
+		}
+	}
+	
+	/**
+	 * @return - Whether every config queued for the IO thread has been sent (Check getConfigErrors() to see if the talon took them)
+	 */
+	public boolean isConfigDone() { return configsApplied == configsSent; }
+	
+	//***************************** Config Errors ***********************************//
+	
+	/**
+	 * Count and report a config call that the talon did not take, otherwise it would keep running on the old setting without anything saying so
+	 * 
+	 * @param code - What the config call returned
+	 * @param setting - Name of the setting for the report
+	 */
+	private void check(ErrorCode code, String setting) {
+		if(code != ErrorCode.OK) {
+			configErrors.incrementAndGet();
+			Hardware.reportError("Talon " + id + " did not take the " + setting + ": " + code);
+		}
+	}
+	
+	/**
+	 * @return - Amount of config calls that the talon did not take
+	 */
+	public int getConfigErrors() { return configErrors.get(); }
+	
+	/**
+	 * Send every setting again after the talon has reset and forgotten them (see {@link CANHealthMonitor}). 
+	 * The configs are queued for the IO thread, or sent without waiting for the talon to answer (timeout of 0), so it is safe to call from the main loop. 
+	 * Every config is checked, the rest (inversion, neutral mode, and the enables) don't give an error code
+	 */
+	public void restoreConfig() {
+		talon.setInverted(inverted);
+		talon.setNeutralMode(brake ? NeutralMode.Brake : NeutralMode.Coast);
+		
+		config(configP, p, 0);
+		config(configI, i, 0);
+		config(configD, d, 0);
+		config(configF, f, 0);
+		config(configFeedbackDevice, feedbackDevice.value, 0);
+		
+		if(hasForwardSoftLimit)
+			config(configForwardSoftLimit, forwardSoftLimit, 0);
+		if(hasReverseSoftLimit)
+			config(configReverseSoftLimit, reverseSoftLimit, 0);
+		talon.overrideSoftLimitsEnable(softLimitsEnabled);
+		
+		if(forwardLimitSource != null)
+			config(configForwardLimitSwitch, 0, 0);
+		if(reverseLimitSource != null)
+			config(configReverseLimitSwitch, 0, 0);
+		talon.overrideLimitSwitchesEnable(limitSwitchesEnabled);
+		
+		if(nominalVoltage > 0 && !softwareVoltageCompensation) {
+			config(configVoltageSaturation, nominalVoltage, 0);
+			talon.enableVoltageCompensation(true);
+		}
+		
+		config(configPeakCurrent, 0, 0);
+		if(currentLimit > 0) {
+			config(configContinuousCurrent, currentLimit, 0);
+			talon.enableCurrentLimit(true);
+		}
+	}
 }
\ No newline at end of file
@@ -1,11 +1,23 @@
 package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
 
-import edu.wpi.first.wpilibj.Joystick;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Hardware.JoystickIO;
+import org.usfirst.frc.team3555.robot.Macro.MacroPlayer;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
 
-public class CurvedJoystick extends Joystick {
+public class CurvedJoystick {
 	public static final double defaultExponent = 2;
 	public static final double defaultDeadzone = .05;
 	
+	/**
+	 * Axes, numbered the same as WPILib's Joystick
+	 */
+	public static final int xAxis = 0;
+	public static final int yAxis = 1;
+	public static final int zAxis = 2;
+	
+	private JoystickIO joystick;
+	private int port;
 	private double deadzone; 
 	
 	/**
@@ -16,7 +28,8 @@ public class CurvedJoystick extends Joystick {
 	 * @param deadzone -> The small zone around joystick that prevents small values like .0047 from being applied to the motor 
 	 */
 	public CurvedJoystick(int port, double deadzone) {
-		super(port);
+		this.joystick = Hardware.joystick(port);
+		this.port = port;
 		this.deadzone = deadzone;
 	}
 
@@ -83,14 +96,41 @@ public class CurvedJoystick extends Joystick {
 		return capDeadzone(getZ());
 	}
 	
+	public double getX() { return getRawAxis(xAxis); }
+	public double getY() { return getRawAxis(yAxis); }
+	public double getZ() { return getRawAxis(zAxis); }
+	
 	private double curveData(double data, double exponent) {
 		return capDeadzone(data > 0 ? Math.pow(data, exponent) : -Math.pow(Math.abs(data), exponent));
 	}
 
+	public double getDeadzone() { return deadzone; }
+	public void setDeadzone(double deadzone) { this.deadzone = deadzone; }
+	
 	public double capDeadzone(double data) { return capDeadzone(data, deadzone); }
 	public double capDeadzone(double data, double deadzone) {
 		if(Math.abs(data) < deadzone)
 			return 0;
 		return data;
 	}
+	
+	//***************************** Raw Reads (Played back from a macro, and recorded for replay) *****************************
+	
+	public double getRawAxis(int axis) {
+		return Replay.read(Replay.source(Replay.axis, port, axis), MacroPlayer.axis(port, axis, joystick.getRawAxis(axis)));
+	}
+	
+	public boolean getRawButton(int button) {
+		return Replay.read(Replay.source(Replay.button, port, button), MacroPlayer.button(port, button, joystick.getRawButton(button)));
+	}
+	
+	public boolean getRawButtonPressed(int button) {
+		return Replay.read(Replay.source(Replay.buttonPressed, port, button), MacroPlayer.buttonPressed(port, button, joystick.getRawButtonPressed(button)));
+	}
+	
+	public boolean getRawButtonReleased(int button) {
+		return Replay.read(Replay.source(Replay.buttonReleased, port, button), MacroPlayer.buttonReleased(port, button, joystick.getRawButtonReleased(button)));
+	}
+	
+	public int getPort() { return port; }
 }
@@ -1,15 +1,48 @@
 package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
 
-import edu.wpi.first.wpilibj.XboxController;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Hardware.JoystickIO;
+import org.usfirst.frc.team3555.robot.Macro.MacroPlayer;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
 
-public class CurvedXboxController extends XboxController {
+import edu.wpi.first.wpilibj.GenericHID.Hand;
+
+/**
+ * An Xbox controller on a port from {@link Hardware#joystick(int)}, the axes and buttons are numbered the same as WPILib's XboxController
+ */
+public class CurvedXboxController {
 	public static final double defaultExponent = 1.75;
 	public static final double defaultDeadzone = .05;
 	
+	/**
+	 * Axes
+	 */
+	public static final int leftX = 0;
+	public static final int leftY = 1;
+	public static final int leftTrigger = 2;
+	public static final int rightTrigger = 3;
+	public static final int rightX = 4;
+	public static final int rightY = 5;
+	
+	/**
+	 * Buttons
+	 */
+	public static final int aButton = 1;
+	public static final int bButton = 2;
+	public static final int xButton = 3;
+	public static final int yButton = 4;
+	public static final int leftBumper = 5;
+	public static final int rightBumper = 6;
+	public static final int backButton = 7;
+	public static final int startButton = 8;
+	
+	private JoystickIO joystick;
+	private int port;
 	private double deadzone; 
 	
 	public CurvedXboxController(int port, double deadzone) {
-		super(port);
+		this.joystick = Hardware.joystick(port);
+		this.port = port;
 		this.deadzone = deadzone;
 	}
 
@@ -52,13 +85,66 @@ public class CurvedXboxController extends XboxController {
 		return capDeadzone(getTriggerAxis(hand));
 	}
 	
-	private double curveData(double data, double exponent) {
-		return capDeadzone(data > 0 ? Math.pow(data, exponent) : -Math.pow(Math.abs(data), exponent));
+	public double getX(Hand hand) { return getRawAxis(hand == Hand.kLeft ? leftX : rightX); }
+	public double getY(Hand hand) { return getRawAxis(hand == Hand.kLeft ? leftY : rightY); }
+	public double getTriggerAxis(Hand hand) { return getRawAxis(hand == Hand.kLeft ? leftTrigger : rightTrigger); }
+	
+	public boolean getBumper(Hand hand) { return getRawButton(hand == Hand.kLeft ? leftBumper : rightBumper); }
+	
+	public boolean getAButton() { return getRawButton(aButton); }
+	public boolean getAButtonPressed() { return getRawButtonPressed(aButton); }
+	public boolean getAButtonReleased() { return getRawButtonReleased(aButton); }
+	
+	public boolean getBButton() { return getRawButton(bButton); }
+	public boolean getBButtonPressed() { return getRawButtonPressed(bButton); }
+	public boolean getBButtonReleased() { return getRawButtonReleased(bButton); }
+	
+	public boolean getXButton() { return getRawButton(xButton); }
+	public boolean getXButtonPressed() { return getRawButtonPressed(xButton); }
+	public boolean getXButtonReleased() { return getRawButtonReleased(xButton); }
+	
+	public boolean getYButton() { return getRawButton(yButton); }
+	public boolean getYButtonPressed() { return getRawButtonPressed(yButton); }
+	public boolean getYButtonReleased() { return getRawButtonReleased(yButton); }
+	
+	private double curveData(double data, double exponent) { return curve(data, exponent, deadzone); }
+	
+	public double getDeadzone() { return deadzone; }
+	public void setDeadzone(double deadzone) { this.deadzone = deadzone; }
+	
+	public double capDeadzone(double data) { return capDeadzone(data, deadzone); }
+	
+	/**
+	 * Raise the input to the exponent (keeping the sign), then cap it with the deadzone. 
+	 * Static so it can be used without a controller plugged in (benchmarks and simulations)
+	 */
+	public static double curve(double data, double exponent, double deadzone) {
+		return capDeadzone(data > 0 ? Math.pow(data, exponent) : -Math.pow(Math.abs(data), exponent), deadzone);
 	}
 	
-	public double capDeadzone(double data) {
+	public static double capDeadzone(double data, double deadzone) {
 		if(Math.abs(data) < deadzone)
 			return 0;
 		return data;
 	}
+	
+	//***************************** Raw Reads (Played back from a macro, and recorded for replay) *****************************
+	
+	public double getRawAxis(int axis) {
+		return Replay.read(Replay.source(Replay.axis, port, axis), MacroPlayer.axis(port, axis, joystick.getRawAxis(axis)));
+	}
+	
+	public boolean getRawButton(int button) {
+		return Replay.read(Replay.source(Replay.button, port, button), MacroPlayer.button(port, button, joystick.getRawButton(button)));
+	}
+	
+	public boolean getRawButtonPressed(int button) {
+		return Replay.read(Replay.source(Replay.buttonPressed, port, button), MacroPlayer.buttonPressed(port, button, joystick.getRawButtonPressed(button)));
+	}
+	
+	public boolean getRawButtonReleased(int button) {
+		return Replay.read(Replay.source(Replay.buttonReleased, port, button), MacroPlayer.buttonReleased(port, button, joystick.getRawButtonReleased(button)));
+	}
+	
+	public int getPort() { return port; }
 }
@@ -0,0 +1,134 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * Drives each side of a tank drive a distance, and says when the robot has actually gotten there. <br>
+ * Each side cruises at its speed, then slows down in proportion to the distance it has left (with a minimum speed to get past friction). 
+ * The sides' cruise speeds are scaled by their distances, so they finish at the same time. 
+ * The move is done when both sides have been inside the tolerance for the settle time. <br>
+ * <br>
+ * Commands are in meters / second, and there is no hardware in here, so the same code runs on the robot and in the simulations
+ */
+public class DriveDistanceController {
+	/**
+	 * Settings
+	 */
+	private double kP;// <- (meters / second) per meter left
+	private double minSpeed;// <- meters / second
+	private double tolerance;// <- meters
+	private double settleTime;// <- seconds
+	
+	/**
+	 * Move
+	 */
+	private double leftTarget, rightTarget;// <- meters, in the sides' distances
+	private double leftCruise, rightCruise;// <- meters / second
+	
+	/**
+	 * State
+	 */
+	private double leftError, rightError;// <- meters left to go
+	private double leftCommand, rightCommand;// <- meters / second
+	private boolean settled;
+	private double settledSince;
+	private boolean done;
+	
+	/**
+	 * @param kP - Speed (meters / second) per meter left to go when slowing down
+	 * @param minSpeed - Slowest speed (meters / second) to drive at when outside of the tolerance
+	 * @param tolerance - Meters each side has to be within
+	 * @param settleTime - Seconds both sides have to stay within the tolerance
+	 */
+	public DriveDistanceController(double kP, double minSpeed, double tolerance, double settleTime) {
+		this.kP = kP;
+		this.minSpeed = minSpeed;
+		this.tolerance = tolerance;
+		this.settleTime = settleTime;
+	}
+	
+	/**
+	 * Start a move from where the sides are now
+	 * 
+	 * @param leftDistance - Meters the left side has driven so far
+	 * @param rightDistance - Meters the right side has driven so far
+	 * @param leftMeters - Meters for the left side to drive
+	 * @param rightMeters - Meters for the right side to drive
+	 * @param speed - Meters / second for the side with the furthest to go
+	 */
+	public void start(double leftDistance, double rightDistance, double leftMeters, double rightMeters, double speed) {
+		leftTarget = leftDistance + leftMeters;
+		rightTarget = rightDistance + rightMeters;
+		
+		double longest = Math.max(Math.abs(leftMeters), Math.abs(rightMeters));
+		leftCruise = longest == 0 ? 0 : speed * Math.abs(leftMeters) / longest;
+		rightCruise = longest == 0 ? 0 : speed * Math.abs(rightMeters) / longest;
+		
+		leftError = leftMeters;
+		rightError = rightMeters;
+		leftCommand = 0;
+		rightCommand = 0;
+		settled = false;
+		done = false;
+	}
+	
+	/**
+	 * Find the speed for each side, and check if the move is done. Get the speeds with getLeftCommand() and getRightCommand()
+	 * 
+	 * @param leftDistance - Meters the left side has driven
+	 * @param rightDistance - Meters the right side has driven
+	 * @param timestamp - Seconds
+	 * @return - Whether or not the move is done
+	 */
+	public boolean update(double leftDistance, double rightDistance, double timestamp) {
+		leftError = leftTarget - leftDistance;
+		rightError = rightTarget - rightDistance;
+		
+		leftCommand = getSpeed(leftError, leftCruise);
+		rightCommand = getSpeed(rightError, rightCruise);
+		
+		if(Math.abs(leftError) <= tolerance && Math.abs(rightError) <= tolerance) {
+			if(!settled) {
+				settled = true;
+				settledSince = timestamp;
+			}
+			
+			if(timestamp - settledSince >= settleTime)
+				done = true;
+		} else
+			settled = false;
+		
+		return done;
+	}
+	
+	/**
+	 * @param error - Meters left to go
+	 * @param cruise - Fastest speed for this side
+	 * @return - Speed in meters / second, 0 inside of the tolerance
+	 */
+	private double getSpeed(double error, double cruise) {
+		if(Math.abs(error) <= tolerance)
+			return 0;
+		
+		double speed = Math.min(Math.max(cruise, minSpeed), Math.max(minSpeed, Math.abs(error) * kP));
+		return Math.copySign(speed, error);
+	}
+	
+	public boolean isDone() { return done; }
+	
+	public double getLeftCommand() { return leftCommand; }
+	public double getRightCommand() { return rightCommand; }
+	
+	public double getLeftError() { return leftError; }
+	public double getRightError() { return rightError; }
+	
+	public double getKP() { return kP; }
+	public void setKP(double kP) { this.kP = kP; }
+	
+	public double getMinSpeed() { return minSpeed; }
+	public void setMinSpeed(double minSpeed) { this.minSpeed = minSpeed; }
+	
+	public double getTolerance() { return tolerance; }
+	public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+	
+	public double getSettleTime() { return settleTime; }
+	public void setSettleTime(double settleTime) { this.settleTime = settleTime; }
+}
@@ -0,0 +1,138 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * Turns the robot to face a target seen by the camera, making up for how old the camera frame is. <br>
+ * A target is x degrees off from where the robot was pointing WHEN THE FRAME WAS TAKEN, not from where it is pointing now. 
+ * So the goal heading is the heading from the {@link HeadingHistory} at the capture time, minus the target angle. 
+ * The loop is then closed on the encoder heading, which has no lag, and the camera only moves the goal. <br>
+ * <br>
+ * This has no hardware in it, so the same code runs on the robot and in the {@link org.usfirst.frc.team3555.robot.Simulation.AlignSimulation}
+ */
+public class HeadingAligner {
+	/**
+	 * Settings
+	 */
+	private double kP;// <- Turn output per radian of error
+	private double maxTurn;// <- Percent output
+	private double minTurn;// <- Percent output needed to get the robot to move at all
+	private double tolerance;// <- radians
+	private double settleTime;// <- seconds inside the tolerance to be done
+	
+	/**
+	 * State
+	 */
+	private double goal;// <- radians
+	private boolean hasGoal;
+	private double lastCaptureTime;// <- seconds, so the same frame isn't used twice
+	private double settledSince;
+	private boolean settled;
+	private boolean done;
+	
+	/**
+	 * @param kP - Turn output per radian of heading error
+	 * @param maxTurn - Most output to turn with
+	 * @param minTurn - Least output to turn with (to get past friction)
+	 * @param toleranceDegrees - Degrees the heading needs to be within
+	 * @param settleTime - Seconds to stay within the tolerance before being done
+	 */
+	public HeadingAligner(double kP, double maxTurn, double minTurn, double toleranceDegrees, double settleTime) {
+		this.kP = kP;
+		this.maxTurn = maxTurn;
+		this.minTurn = minTurn;
+		this.tolerance = Math.toRadians(toleranceDegrees);
+		this.settleTime = settleTime;
+		
+		reset();
+	}
+	
+	/**
+	 * Forget the goal and start over
+	 */
+	public void reset() {
+		hasGoal = false;
+		lastCaptureTime = Double.NEGATIVE_INFINITY;
+		settled = false;
+		done = false;
+	}
+	
+	/**
+	 * Give the aligner a target from the camera. Does nothing if this frame has already been used
+	 * 
+	 * @param history - Heading history of the robot
+	 * @param captureTime - Time the frame was taken in seconds (same time base as the history)
+	 * @param angleDegrees - Degrees the target is to the right of the camera
+	 */
+	public void addTarget(HeadingHistory history, double captureTime, double angleDegrees) {
+		if(captureTime <= lastCaptureTime)
+			return;
+		
+		double heading = history.get(captureTime);
+		if(Double.isNaN(heading))
+			return;
+		
+		lastCaptureTime = captureTime;
+		goal = getGoal(heading, angleDegrees);
+		hasGoal = true;
+	}
+	
+	/**
+	 * @param headingAtCapture - Heading in radians (counter clockwise positive) when the frame was taken
+	 * @param angleDegrees - Degrees the target is to the right of the camera
+	 * @return - Heading in radians that will face the target
+	 */
+	public static double getGoal(double headingAtCapture, double angleDegrees) {
+		return headingAtCapture - Math.toRadians(angleDegrees);
+	}
+	
+	/**
+	 * Find how hard to turn
+	 * 
+	 * @param heading - Current heading in radians (counter clockwise positive)
+	 * @param timestamp - Current time in seconds
+	 * @return - Turn output, positive turns counter clockwise (left). 0 if there is no goal yet, or it is done
+	 */
+	public double update(double heading, double timestamp) {
+		if(!hasGoal || done)
+			return 0;
+		
+		double error = goal - heading;
+		if(Math.abs(error) <= tolerance) {
+			if(!settled) {
+				settled = true;
+				settledSince = timestamp;
+			}
+			
+			if(timestamp - settledSince >= settleTime)
+				done = true;
+			return 0;
+		}
+		
+		settled = false;
+		double turn = error * kP;
+		turn = Math.copySign(Math.max(minTurn, Math.min(maxTurn, Math.abs(turn))), turn);
+		return turn;
+	}
+	
+	/**
+	 * @return - Whether or not the robot has settled on the target
+	 */
+	public boolean isDone() { return done; }
+	
+	public boolean hasGoal() { return hasGoal; }
+	public double getGoal() { return goal; }
+	
+	public double getKP() { return kP; }
+	public void setKP(double kP) { this.kP = kP; }
+	
+	public double getMaxTurn() { return maxTurn; }
+	public void setMaxTurn(double maxTurn) { this.maxTurn = maxTurn; }
+	
+	public double getMinTurn() { return minTurn; }
+	public void setMinTurn(double minTurn) { this.minTurn = minTurn; }
+	
+	public double getTolerance() { return Math.toDegrees(tolerance); }
+	public void setTolerance(double toleranceDegrees) { this.tolerance = Math.toRadians(toleranceDegrees); }
+	
+	public double getSettleTime() { return settleTime; }
+	public void setSettleTime(double settleTime) { this.settleTime = settleTime; }
+}
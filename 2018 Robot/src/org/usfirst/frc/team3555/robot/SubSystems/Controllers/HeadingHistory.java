@@ -0,0 +1,88 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * Remembers the robot's heading over the last fraction of a second, so that an old measurement (like a camera frame) can be matched to where the robot was pointing when it was taken. <br>
+ * Headings are kept in a ring of primitive arrays, that are made once, so adding a sample never creates any garbage. 
+ * Times between samples are linearly interpolated.
+ */
+public class HeadingHistory {
+	private double[] timestamps;// <- seconds
+	private double[] headings;// <- radians
+	private int index;// <- Where the next sample goes
+	private int count;
+	
+	/**
+	 * @param length - Amount of samples to keep (Length * sample period needs to be longer than the camera latency)
+	 */
+	public HeadingHistory(int length) {
+		timestamps = new double[length];
+		headings = new double[length];
+	}
+	
+	/**
+	 * Add a sample, pushing out the oldest if the history is full. Samples need to be added in time order
+	 * 
+	 * @param timestamp - Time the heading was measured in seconds
+	 * @param heading - Heading in radians
+	 */
+	public void add(double timestamp, double heading) {
+		timestamps[index] = timestamp;
+		headings[index] = heading;
+		index = (index + 1) % timestamps.length;
+		if(count < timestamps.length)
+			count++;
+	}
+	
+	/**
+	 * Find the heading at a point in time. 
+	 * Times older than the history get the oldest heading, and times newer than the history get the newest heading
+	 * 
+	 * @param timestamp - Time in seconds
+	 * @return - Heading in radians at that time, NaN if there are no samples
+	 */
+	public double get(double timestamp) {
+		if(count == 0)
+			return Double.NaN;
+		
+		int newest = (index - 1 + timestamps.length) % timestamps.length;
+		if(timestamp >= timestamps[newest])
+			return headings[newest];
+		
+		//Walk back from the newest sample until the time is between two samples
+		int later = newest;
+		for(int i = 1; i < count; i++) {
+			int earlier = (later - 1 + timestamps.length) % timestamps.length;
+			if(timestamp >= timestamps[earlier]) {
+				double span = timestamps[later] - timestamps[earlier];
+				if(span <= 0)
+					return headings[later];
+				
+				double t = (timestamp - timestamps[earlier]) / span;
+				return headings[earlier] + (headings[later] - headings[earlier]) * t;
+			}
+			later = earlier;
+		}
+		
+		return headings[later];//Older than everything
+	}
+	
+	/**
+	 * @return - The newest heading in radians, NaN if there are no samples
+	 */
+	public double getLatest() {
+		if(count == 0)
+			return Double.NaN;
+		return headings[(index - 1 + timestamps.length) % timestamps.length];
+	}
+	
+	/**
+	 * Forget all of the samples
+	 */
+	public void reset() {
+		index = 0;
+		count = 0;
+	}
+	
+	public int getCount() { return count; }
+	public int getLength() { return timestamps.length; }
+}
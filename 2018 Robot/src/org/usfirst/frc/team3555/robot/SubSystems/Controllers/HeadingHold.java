@@ -0,0 +1,76 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * Keeps a tank drive going straight without a gyro. <br>
+ * When the hold starts, the distance of each side is remembered. 
+ * From then on, if one side has gone further than the other, the robot has turned, so that side is slowed and the other side is sped up by the same amount. <br>
+ * All of the state is a few primitive fields, so this never creates garbage.
+ */
+public class HeadingHold {
+	private double kP;// <- Correction per meter of difference between the sides
+	private double maxCorrection;
+	
+	private boolean holding;
+	private double leftStart, rightStart;// <- meters
+	private double error;// <- meters, left minus right
+	
+	/**
+	 * @param kP - Correction per meter that one side is ahead of the other (in the units that the sides are set in)
+	 * @param maxCorrection - Most correction to give
+	 */
+	public HeadingHold(double kP, double maxCorrection) {
+		this.kP = kP;
+		this.maxCorrection = maxCorrection;
+	}
+	
+	/**
+	 * Start holding the current heading
+	 * 
+	 * @param leftDistance - Meters the left side has driven (forward is positive)
+	 * @param rightDistance - Meters the right side has driven (forward is positive)
+	 */
+	public void start(double leftDistance, double rightDistance) {
+		leftStart = leftDistance;
+		rightStart = rightDistance;
+		error = 0;
+		holding = true;
+	}
+	
+	/**
+	 * Stop holding, the next start will pick up a new heading
+	 */
+	public void release() {
+		holding = false;
+		error = 0;
+	}
+	
+	/**
+	 * Find how much to correct the sides by. Subtract it from the left side, and add it to the right. 
+	 * Works going forward and backward
+	 * 
+	 * @param leftDistance - Meters the left side has driven (forward is positive)
+	 * @param rightDistance - Meters the right side has driven (forward is positive)
+	 * @return - The correction, 0 if not holding
+	 */
+	public double getCorrection(double leftDistance, double rightDistance) {
+		if(!holding)
+			return 0;
+		
+		error = (leftDistance - leftStart) - (rightDistance - rightStart);
+		double correction = error * kP;
+		return Math.max(-maxCorrection, Math.min(maxCorrection, correction));
+	}
+	
+	public boolean isHolding() { return holding; }
+	
+	/**
+	 * @return - Meters the left side is ahead of the right side since the hold started
+	 */
+	public double getError() { return error; }
+	
+	public double getKP() { return kP; }
+	public void setKP(double kP) { this.kP = kP; }
+	
+	public double getMaxCorrection() { return maxCorrection; }
+	public void setMaxCorrection(double maxCorrection) { this.maxCorrection = maxCorrection; }
+}
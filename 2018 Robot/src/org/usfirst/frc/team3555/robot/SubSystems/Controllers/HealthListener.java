@@ -0,0 +1,12 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+@FunctionalInterface
+public interface HealthListener {
+	/**
+	 * Called on the main thread when a talon is lost, or comes back
+	 *
+	 * @param talon -> The talon that changed
+	 * @param healthy -> Whether or not the talon is on the bus and working
+	 */
+	public abstract void healthChanged(CANTalon talon, boolean healthy);
+}
@@ -0,0 +1,156 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * Estimates the position and velocity of a mechanism from its encoder and the voltage given to its motor. <br>
+ * Taking the difference of encoder counts every loop gives a very noisy velocity. 
+ * This predicts where the mechanism should be from the voltage (a motor is roughly: acceleration = gain * volts - drag * velocity), 
+ * then corrects the prediction with the encoder, trusting each one by how noisy it is. <br>
+ * <br>
+ * There are only two states, so the matrices are written out as primitive fields and nothing is allocated per step. 
+ * Any units can be used as long as they agree (rotations for the lift, meters for a drive side)
+ */
+public class KalmanFilter {
+	/**
+	 * Model
+	 */
+	private double gain;// <- acceleration per volt
+	private double drag;// <- 1 / seconds, acceleration lost per unit of velocity
+	private double processNoise;// <- standard deviation of the acceleration the model doesn't know about
+	private double measurementNoise;// <- standard deviation of the position reading
+	
+	/**
+	 * State -> [position, velocity]
+	 */
+	private double position, velocity;
+	
+	/**
+	 * Covariance of the state -> how unsure the estimate is
+	 * [p00 p01]
+	 * [p10 p11]
+	 */
+	private double p00, p01, p10, p11;
+	
+	private boolean initialized;
+	
+	/**
+	 * @param gain - Acceleration per volt
+	 * @param drag - Acceleration lost per unit of velocity (gain * 12 / drag = free speed)
+	 * @param processNoise - Standard deviation of the acceleration the model gets wrong
+	 * @param measurementNoise - Standard deviation of a position reading
+	 */
+	public KalmanFilter(double gain, double drag, double processNoise, double measurementNoise) {
+		this.gain = gain;
+		this.drag = drag;
+		this.processNoise = processNoise;
+		this.measurementNoise = measurementNoise;
+	}
+	
+	/**
+	 * Start over at a position, stopped. The first step() does this with its reading if it hasn't been done
+	 */
+	public void reset(double position) {
+		this.position = position;
+		velocity = 0;
+		
+		p00 = measurementNoise * measurementNoise;
+		p01 = 0;
+		p10 = 0;
+		p11 = 1;// <- Not sure about the velocity at all
+		initialized = true;
+	}
+	
+	/**
+	 * Predict, then correct with a reading
+	 * 
+	 * @param measuredPosition - Position from the encoder
+	 * @param volts - Voltage that was applied to the motor since the last step
+	 * @param dt - Seconds since the last step
+	 */
+	public void step(double measuredPosition, double volts, double dt) {
+		if(!initialized) {
+			reset(measuredPosition);
+			return;
+		}
+		
+		if(dt > 0)
+			predict(volts, dt);
+		correct(measuredPosition);
+	}
+	
+	/**
+	 * Move the estimate forward with the model
+	 * x = F x + B u
+	 * P = F P F' + Q
+	 */
+	private void predict(double volts, double dt) {
+		double acceleration = gain * volts - drag * velocity;
+		position += velocity * dt + .5 * acceleration * dt * dt;
+		velocity += acceleration * dt;
+		
+		//F = [1, dt; 0, f11]
+		double f11 = 1 - drag * dt;
+		
+		//F P
+		double a00 = p00 + dt * p10;
+		double a01 = p01 + dt * p11;
+		double a10 = f11 * p10;
+		double a11 = f11 * p11;
+		
+		//(F P) F' + Q, Q from a random acceleration over the step
+		double q = processNoise * processNoise;
+		double dt2 = dt * dt;
+		p00 = a00 + a01 * dt + q * dt2 * dt2 / 4;
+		p01 = a01 * f11 + q * dt2 * dt / 2;
+		p10 = a10 + a11 * dt + q * dt2 * dt / 2;
+		p11 = a11 * f11 + q * dt2;
+	}
+	
+	/**
+	 * Correct the estimate with a position reading
+	 * K = P H' / (H P H' + R), H = [1, 0]
+	 * x = x + K (z - H x)
+	 * P = (I - K H) P
+	 */
+	private void correct(double measuredPosition) {
+		double s = p00 + measurementNoise * measurementNoise;
+		double k0 = p00 / s;
+		double k1 = p10 / s;
+		
+		double error = measuredPosition - position;
+		position += k0 * error;
+		velocity += k1 * error;
+		
+		double old00 = p00, old01 = p01;
+		p00 = (1 - k0) * old00;
+		p01 = (1 - k0) * old01;
+		p10 -= k1 * old00;
+		p11 -= k1 * old01;
+	}
+	
+	public double getPosition() { return position; }
+	public double getVelocity() { return velocity; }
+	
+	/**
+	 * @return - Standard deviation of the position estimate
+	 */
+	public double getPositionError() { return Math.sqrt(Math.max(0, p00)); }
+	
+	/**
+	 * @return - Standard deviation of the velocity estimate
+	 */
+	public double getVelocityError() { return Math.sqrt(Math.max(0, p11)); }
+	
+	public boolean isInitialized() { return initialized; }
+	
+	public double getGain() { return gain; }
+	public void setGain(double gain) { this.gain = gain; }
+	
+	public double getDrag() { return drag; }
+	public void setDrag(double drag) { this.drag = drag; }
+	
+	public double getProcessNoise() { return processNoise; }
+	public void setProcessNoise(double processNoise) { this.processNoise = processNoise; }
+	
+	public double getMeasurementNoise() { return measurementNoise; }
+	public void setMeasurementNoise(double measurementNoise) { this.measurementNoise = measurementNoise; }
+}
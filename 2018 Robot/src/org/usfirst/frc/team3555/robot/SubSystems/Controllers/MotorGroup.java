@@ -1,8 +1,12 @@
 package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
 
+import org.usfirst.frc.team3555.robot.Loop.Clock;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 
+
 public class MotorGroup {
 	/**
 	 * Controllers for the two sides
@@ -25,9 +29,50 @@ public class MotorGroup {
 	 */
 	private boolean swap;
 	
+	/**
+	 * Limits on how fast the percent output can change, 0 = no limit
+	 * Acceleration -> output / second, Jerk -> output / second^2
+	 * These only apply in percent output, closed loop modes are passed straight through
+	 */
+	private double maxAcceleration, maxJerk;
+	private boolean rampEnabled = true;
+	
+	/**
+	 * State of each side for the limits -> the output that was last sent, how fast it was changing, and when
+	 */
+	private double leftOutput, leftRate;
+	private double rightOutput, rightRate;
+	private double lastTimestamp;
+	
+	/**
+	 * Longest step the limits will take, a late loop is limited as if it took this long instead of jumping to the target
+	 */
+	public static final double maxRampPeriod = .1;// <- seconds
+	
+	/**
+	 * Talons that take over a side when its controller is lost (The followers of that side), null for none
+	 * A backup has no sensor, so it always runs in percent output. In velocity mode the rpm is turned into a percent with the full speed (0 = stop the side)
+	 */
+	private CANTalon leftBackup, rightBackup;
+	private boolean leftFailed, rightFailed;
+	private double backupFullSpeed;// <- rpm at full output
+	
+	/**
+	 * Time for the limits, null for the robot's time (through the recording)
+	 */
+	private Clock clock;
+	
 	public MotorGroup(int idLeft, int idRight) {
-		left = new CANTalon(idLeft);
-		right = new CANTalon(idRight);
+		this(new CANTalon(idLeft), new CANTalon(idRight));
+	}
+	
+	/**
+	 * @param left -> Controller for the left side (Stand-ins for the simulations)
+	 * @param right -> Controller for the right side
+	 */
+	public MotorGroup(CANTalon left, CANTalon right) {
+		this.left = left;
+		this.right = right;
 		
 		scaleFactor = 1;
 	}
@@ -69,13 +114,108 @@ public class MotorGroup {
 	 * @param rightSetPoint -> SetPoint for the right side controller
 	 */
 	public void set(double leftSetPoint, double rightSetPoint) {
-		if(!swap) {
-			left.set(leftSetPoint * scaleFactor * invertLeftPoint);
-			right.set(rightSetPoint * scaleFactor * invertRightPoint);
-		} else {
-			left.set(rightSetPoint * scaleFactor * invertLeftPoint);
-			right.set(leftSetPoint * scaleFactor * invertRightPoint);
+		if(swap) {
+			double temp = leftSetPoint;
+			leftSetPoint = rightSetPoint;
+			rightSetPoint = temp;
 		}
+		
+		leftSetPoint *= scaleFactor * invertLeftPoint;
+		rightSetPoint *= scaleFactor * invertRightPoint;
+		
+		double now = clock == null ? Replay.getTimestamp() : clock.getTime();
+		double dt = Math.min(now - lastTimestamp, maxRampPeriod);
+		lastTimestamp = now;
+		
+		if(isRampActive()) {
+			if(dt > 0) {//Set twice in the same loop -> hold the output from the first
+				//The rate is the step that was actually taken, so stopping at the target doesn't leave the old rate to carry on with
+				double next = approach(leftSetPoint, leftOutput, limitRate(leftSetPoint, leftOutput, leftRate, dt) * dt);
+				leftRate = (next - leftOutput) / dt;
+				leftOutput = next;
+				
+				next = approach(rightSetPoint, rightOutput, limitRate(rightSetPoint, rightOutput, rightRate, dt) * dt);
+				rightRate = (next - rightOutput) / dt;
+				rightOutput = next;
+			}
+			
+			leftSetPoint = leftOutput;
+			rightSetPoint = rightOutput;
+		} else {//Nothing to limit. A closed loop set point isn't an output, so the ramp would start over from stopped
+			boolean percent = left.getControlMode() == ControlMode.PercentOutput;
+			leftOutput = percent ? leftSetPoint : 0;
+			rightOutput = percent ? rightSetPoint : 0;
+			leftRate = 0;
+			rightRate = 0;
+		}
+		
+		left.set(leftSetPoint);
+		right.set(rightSetPoint);
+		
+		if(leftFailed)
+			driveBackup(leftBackup, leftSetPoint);
+		if(rightFailed)
+			driveBackup(rightBackup, rightSetPoint);
+	}
+	
+	/**
+	 * Find how fast a side's output can change this loop
+	 * 
+	 * @param target -> Output that is wanted
+	 * @param output -> Output that was last sent
+	 * @param rate -> How fast the output was changing last loop (output / second)
+	 * @param dt -> Seconds since last loop
+	 * @return -> How fast the output should change this loop (output / second)
+	 */
+	private double limitRate(double target, double output, double rate, double dt) {
+		double wanted = (target - output) / dt;//Get there this loop
+		
+		if(maxJerk > 0)
+			wanted = Math.max(rate - maxJerk * dt, Math.min(rate + maxJerk * dt, wanted));
+		if(maxAcceleration > 0)
+			wanted = Math.max(-maxAcceleration, Math.min(maxAcceleration, wanted));
+		
+		//Right after the target flips, the jerk limit can keep the old rate going away from it, slow down without going further the wrong way
+		if(wanted * (target - output) < 0)
+			wanted = 0;
+		
+		return wanted;
+	}
+	
+	/**
+	 * Move the output by the step, without going past the target or full output
+	 */
+	private double approach(double target, double output, double step) {
+		double next = output + step;
+		if((target - output) * (target - next) <= 0)//Passed or reached the target
+			next = target;
+		return Math.max(-1, Math.min(1, next));
+	}
+	
+	/**
+	 * Give a side's output to its backup, open loop
+	 * 
+	 * @param backup -> Talon running in place of the lost controller
+	 * @param output -> Output that was sent to the lost controller
+	 */
+	private void driveBackup(CANTalon backup, double output) {
+		if(backup == null)
+			return;
+		
+		ControlMode mode = left.getControlMode();
+		if(mode == ControlMode.Velocity)
+			output = backupFullSpeed > 0 ? Math.max(-1, Math.min(1, output / backupFullSpeed)) : 0;
+		else if(mode != ControlMode.PercentOutput)
+			output = 0;//No sensor to hold a position with
+		
+		backup.set(output);
+	}
+	
+	/**
+	 * @return -> Whether or not the limits will be used on the next set
+	 */
+	private boolean isRampActive() {
+		return rampEnabled && (maxAcceleration > 0 || maxJerk > 0) && left.getControlMode() == ControlMode.PercentOutput;
 	}
 
 	/**
@@ -118,6 +258,34 @@ public class MotorGroup {
 		right.setFeedbackDevice(feedbackDevice);
 	}
 	
+	/**
+	 * Have the talons compensate percent output for the battery voltage
+	 * 
+	 * @param nominalVoltage -> The voltage that full output is equal to
+	 */
+	public void setHardwareVoltageCompensation(double nominalVoltage) {
+		left.setHardwareVoltageCompensation(nominalVoltage);
+		right.setHardwareVoltageCompensation(nominalVoltage);
+	}
+	
+	/**
+	 * Scale percent output by the cached battery voltage before it is sent to the talons
+	 * 
+	 * @param nominalVoltage -> The voltage that full output is equal to
+	 */
+	public void setSoftwareVoltageCompensation(double nominalVoltage) {
+		left.setSoftwareVoltageCompensation(nominalVoltage);
+		right.setSoftwareVoltageCompensation(nominalVoltage);
+	}
+	
+	/**
+	 * Turn off voltage compensation on both talons
+	 */
+	public void disableVoltageCompensation() {
+		left.disableVoltageCompensation();
+		right.disableVoltageCompensation();
+	}
+	
 	/**
 	 * Determine the velocity of the left side's controller in terms of rpm. 
 	 * 
@@ -139,6 +307,13 @@ public class MotorGroup {
 	 */
 	public double getLeftPosition() { return left.getPositionRotations(); }
 	
+	/**
+	 * Determine the position of the right side's controller in terms of rotations. 
+	 * 
+	 * @return -> Position of the right side controller's motor in terms of rotations
+	 */
+	public double getRightPosition() { return right.getPositionRotations(); }
+	
 	/**
 	 * Changes both controllers to coast mode. 
 	 * Coast by default. 
@@ -247,6 +422,44 @@ public class MotorGroup {
 		this.scaleFactor = scaleFactor; 
 	}
 	
+	/**
+	 * Limit how fast the percent output can change. 
+	 * This keeps a full reverse to full forward from slamming the gear boxes, and from spiking the current
+	 * 
+	 * @param maxAcceleration -> Most the output can change in a second (0 for no limit)
+	 * @param maxJerk -> Most the rate of change can change in a second (0 for no limit)
+	 */
+	public void setRampLimits(double maxAcceleration, double maxJerk) {
+		this.maxAcceleration = maxAcceleration;
+		this.maxJerk = maxJerk;
+	}
+	
+	/**
+	 * Forget the output and rate the limits are ramping from, the next set ramps up from stopped. 
+	 * Call this when the talons are stopped without the group knowing (like when the robot is disabled)
+	 */
+	public void resetRamp() {
+		leftOutput = 0;
+		rightOutput = 0;
+		leftRate = 0;
+		rightRate = 0;
+	}
+	
+	/**
+	 * Turn the acceleration and jerk limits on or off, without forgetting them. 
+	 * They are already skipped in closed loop modes
+	 * 
+	 * @param enabled -> Whether or not the limits should be used
+	 */
+	public void setRampEnabled(boolean enabled) { rampEnabled = enabled; }
+	
+	/**
+	 * Time the limits with a clock of their own, so a simulated group can run on any thread with its own time
+	 * 
+	 * @param clock -> Clock to time the limits with (null for the robot's time)
+	 */
+	public void setClock(Clock clock) { this.clock = clock; }
+	
 	/**
 	 * Dictate how low the factor can go before being capped
 	 * @param minimum -> How low the scale factor can go
@@ -261,6 +474,68 @@ public class MotorGroup {
 		swap = !swap;
 	}
 	
+	//***************************** Failover *****************************
+	
+	/**
+	 * Give each side a talon to take over if its controller is lost. 
+	 * These are usually the followers of the controllers, they will be switched out of follower mode while they are in charge
+	 * 
+	 * @param leftBackup -> Talon to run the left side (null for none)
+	 * @param rightBackup -> Talon to run the right side (null for none)
+	 * @param fullSpeed -> RPM of the controllers at full output, to run a backup in velocity mode (0 to stop the side instead)
+	 */
+	public void setBackups(CANTalon leftBackup, CANTalon rightBackup, double fullSpeed) {
+		this.leftBackup = leftBackup;
+		this.rightBackup = rightBackup;
+		this.backupFullSpeed = fullSpeed;
+	}
+	
+	/**
+	 * Tell the group that the left controller is lost (or back), the backup runs the side until it comes back
+	 * 
+	 * @param failed -> Whether or not the left controller is lost
+	 */
+	public void setLeftFailed(boolean failed) {
+		if(failed != leftFailed)
+			takeOver(leftBackup, left, failed);
+		leftFailed = failed;
+	}
+	
+	/**
+	 * Tell the group that the right controller is lost (or back), the backup runs the side until it comes back
+	 * 
+	 * @param failed -> Whether or not the right controller is lost
+	 */
+	public void setRightFailed(boolean failed) {
+		if(failed != rightFailed)
+			takeOver(rightBackup, right, failed);
+		rightFailed = failed;
+	}
+	
+	/**
+	 * Switch a backup between running the side and following its controller
+	 */
+	private void takeOver(CANTalon backup, CANTalon controller, boolean failed) {
+		if(backup == null)
+			return;
+		
+		if(failed) {
+			backup.setControlMode(ControlMode.PercentOutput);
+			backup.set(0);//The next set will give it the side's output
+		} else {
+			backup.setControlMode(ControlMode.Follower);
+			backup.set(controller.getDeviceID());
+		}
+	}
+	
+	public boolean isLeftFailed() { return leftFailed; }
+	public boolean isRightFailed() { return rightFailed; }
+	
+	/**
+	 * @return -> Whether or not either side is running without its controller
+	 */
+	public boolean isDegraded() { return leftFailed || rightFailed; }
+	
 	//***************************** Getters *****************************
 	
 	/**
@@ -0,0 +1,63 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * Moving average filter over the last few samples. <br>
+ * The samples are kept in an array that is made once, so adding a sample never creates any garbage.
+ */
+public class MovingAverage {
+	private double[] samples;
+	private int index;
+	private int count;
+	private double sum;
+
+	/**
+	 * @param length - The amount of samples to average over (Longer = smoother, but slower to react)
+	 */
+	public MovingAverage(int length) {
+		samples = new double[length];
+	}
+
+	/**
+	 * Add a sample to the filter, pushing out the oldest one if the filter is full
+	 *
+	 * @param sample - The new sample
+	 * @return - The average after adding this sample
+	 */
+	public double add(double sample) {
+		if(count == samples.length)
+			sum -= samples[index];
+		else
+			count++;
+
+		samples[index] = sample;
+		sum += sample;
+		index = (index + 1) % samples.length;
+
+		return get();
+	}
+
+	/**
+	 * @return - The average of the samples in the filter, 0 if there are none
+	 */
+	public double get() {
+		if(count == 0)
+			return 0;
+		return sum / count;
+	}
+
+	/**
+	 * @return - Whether or not the filter has a full set of samples
+	 */
+	public boolean isFull() { return count == samples.length; }
+
+	/**
+	 * Clears all of the samples
+	 */
+	public void reset() {
+		index = 0;
+		count = 0;
+		sum = 0;
+	}
+
+	public int getLength() { return samples.length; }
+}
@@ -0,0 +1,118 @@
+package org.usfirst.frc.team3555.robot.SubSystems.Controllers;
+
+/**
+ * Watches a single CANTalon for a stall -> the motor is pulling a lot of current, but the mechanism isn't moving. <br>
+ * Every update the output current and velocity are sampled into a small ring buffer.
+ * When every sample in the buffer is above the current threshold and below the velocity threshold, the detector trips. <br>
+ * Once tripped, the detector will cut power to the talon (set(0)) every update until reset() is called.
+ * This keeps a jammed mechanism from browning out the robot or cooking the motor.
+ *
+ * NOTE: If the talon has no sensor (sensor units per rotation is 0), the velocity always reads 0, so only the current is used
+ */
+public class StallDetector {
+	public static final int defaultSamples = 10;
+
+	private CANTalon talon;
+
+	/**
+	 * Thresholds for a stall
+	 * Current in amps, velocity in rpm
+	 */
+	private double currentThreshold;
+	private double velocityThreshold;
+
+	/**
+	 * Ring buffers of the most recent samples
+	 */
+	private double[] currentSamples;
+	private double[] velocitySamples;
+	private int index;
+	private int count;
+
+	private boolean tripped;
+
+	/**
+	 * Creates a detector that will watch the given talon
+	 *
+	 * @param talon - Talon to watch
+	 * @param currentThreshold - Current (amps) that every sample has to be above to be a stall
+	 * @param velocityThreshold - Velocity (rpm) that every sample has to be below to be a stall
+	 * @param samples - The amount of samples in a row that need to stall before tripping
+	 */
+	public StallDetector(CANTalon talon, double currentThreshold, double velocityThreshold, int samples) {
+		this.talon = talon;
+		this.currentThreshold = currentThreshold;
+		this.velocityThreshold = velocityThreshold;
+
+		currentSamples = new double[samples];
+		velocitySamples = new double[samples];
+	}
+
+	/**
+	 * Creates a detector that will watch the given talon, using the default amount of samples
+	 *
+	 * @param talon - Talon to watch
+	 * @param currentThreshold - Current (amps) that every sample has to be above to be a stall
+	 * @param velocityThreshold - Velocity (rpm) that every sample has to be below to be a stall
+	 */
+	public StallDetector(CANTalon talon, double currentThreshold, double velocityThreshold) {
+		this(talon, currentThreshold, velocityThreshold, defaultSamples);
+	}
+
+	/**
+	 * Take a sample from the talon, and check for a stall.
+	 * Call this once a loop, AFTER the talon has been given its set point, so that a trip will be able to cut the power
+	 *
+	 * @return - Whether or not the detector has tripped
+	 */
+	public boolean update() {
+		currentSamples[index] = talon.getOutputCurrent();
+		velocitySamples[index] = talon.getVelocityRPM();
+
+		index = (index + 1) % currentSamples.length;
+		if(count < currentSamples.length)
+			count++;
+
+		if(!tripped && count == currentSamples.length)
+			tripped = isStalling();
+
+		if(tripped)
+			talon.set(0);//Cut the power
+
+		return tripped;
+	}
+
+	/**
+	 * Checks the whole buffer for a stall
+	 *
+	 * @return - Whether or not every sample is a stall
+	 */
+	private boolean isStalling() {
+		for(int i = 0; i < currentSamples.length; i++)
+			if(currentSamples[i] < currentThreshold || Math.abs(velocitySamples[i]) > velocityThreshold)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Clears the trip and the samples, allowing power to be given to the talon again
+	 */
+	public void reset() {
+		tripped = false;
+		count = 0;
+		index = 0;
+	}
+
+	/**
+	 * @return - Whether or not the detector has tripped
+	 */
+	public boolean isTripped() { return tripped; }
+
+	public double getCurrentThreshold() { return currentThreshold; }
+	public void setCurrentThreshold(double currentThreshold) { this.currentThreshold = currentThreshold; }
+
+	public double getVelocityThreshold() { return velocityThreshold; }
+	public void setVelocityThreshold(double velocityThreshold) { this.velocityThreshold = velocityThreshold; }
+
+	public CANTalon getTalon() { return talon; }
+}
@@ -1,38 +1,242 @@
 package org.usfirst.frc.team3555.robot.SubSystems;
 
+import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.Config.CubeIOConfig;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Events.EventBus;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Hardware.ServoIO;
+import org.usfirst.frc.team3555.robot.Power.Battery;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedJoystick;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.MotorGroup;
-
-import edu.wpi.first.wpilibj.Servo;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.MovingAverage;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.StallDetector;
 
 public class CubeIO extends SubSystem {
 	private CurvedJoystick joystick;
 	private MotorGroup motors;
-	private Servo releaseServo;
+	private StallDetector leftStall, rightStall;
+	private ServoIO releaseServo;
+	private int releaseButton;// <- 0 = no button yet
+	private boolean teleop;// <- The intake is only released by the operator in teleop
+	
+	/**
+	 * Cube detection
+	 * When a cube gets pulled against the back of the intake the wheels slow down, and the current jumps up.
+	 * The current of both motors is averaged, and filtered, so that a single spike won't count as a cube
+	 * The current is sampled once a loop on the main thread (in periodic, after the mode's update), so the sample counts are in robot loops. 
+	 * That way every reading goes through Replay, and a replay finds the cube on the same loop the robot did
+	 */
+	private MovingAverage currentFilter;
+	private double acquireCurrent;// <- amps
+	private double holdPower;// <- Percent output used to keep the cube in, 0 to just stop
+	private double intakeSpeed;// <- Percent output used by the intake action
+	private int spinUpSamples;// <- Samples to ignore when the motors start, the start up current would look like a cube
+	private int samplesSinceStart;
+	private double knobDeadzone;
+	private boolean intaking;
+	private boolean cubeAcquired;
 	
 	/**
 	 * The intake spins two sets of wheels to pull in the power cube
 	 * Servo used to release the intake at the start of the match
 	 * 
 	 * @param joystick - Operator joystick to use the intake
+	 * @param config - IDs and limits from the config file
 	 */
-	public CubeIO(CurvedJoystick joystick) {
+	public CubeIO(CurvedJoystick joystick, CubeIOConfig config) {
 		this.joystick = joystick;
 		
-		motors = new MotorGroup(0, 0);//TODO Get ID #s
-		releaseServo = new Servo(0);//TODO Get channel #
+		motors = new MotorGroup(config.getLeftID(), config.getRightID());
+		motors.setSoftwareVoltageCompensation(Battery.nominalVoltage);
+		
+		//No encoders on the intake, so these only look at current
+		leftStall = new StallDetector(motors.getLeftController(), config.getStallCurrent(), 0);
+		rightStall = new StallDetector(motors.getRightController(), config.getStallCurrent(), 0);
+		releaseServo = Hardware.servo(config.getServoChannel());
+		releaseButton = config.getReleaseButton();
+		
+		currentFilter = new MovingAverage(3);// <- 60 ms at 50 Hz
+		useConfig(config);
+	}
+	
+	/**
+	 * Take the settings that can change while the robot is running
+	 */
+	private void useConfig(CubeIOConfig config) {
+		leftStall.setCurrentThreshold(config.getStallCurrent());
+		rightStall.setCurrentThreshold(config.getStallCurrent());
+		
+		//TODO Tune the cube detection
+		acquireCurrent = config.getAcquireCurrent();
+		holdPower = config.getHoldPower();
+		intakeSpeed = config.getIntakeSpeed();
+		spinUpSamples = config.getSpinUpSamples();
+		knobDeadzone = config.getKnobDeadzone();
+	}
+	
+	@Override
+	public void applyConfig(RobotConfig config) { useConfig(config.getCubeIO()); }
+	
+	@Override
+	public void autonomousInit() { teleop = false; }
+	
+	@Override
+	public void teleopInit() { teleop = true; }
+	
+	@Override
+	public void disable() {
+		teleop = false;
+		super.disable();
 	}
 
+	/**
+	 * Positive on the knob pulls a cube in, negative pushes it out. 
+	 * Once a cube is detected, the intake will drop to the hold power until the operator pushes the cube out
+	 */
 	@Override
 	public void teleopUpdate() {
-		if(joystick.getRawButtonReleased(0))//TODO Decide a button for this
-			release();
-		
 		//Spin the motors with the knob on the bottom of the joystick
-		motors.set(joystick.capDeadzone(joystick.getZ() / 2.0, .75));
+		double speed = joystick.capDeadzone(joystick.getZ() / 2.0, knobDeadzone);
+		
+		if(speed > 0) {//Intake
+			intaking = true;
+			motors.set(cubeAcquired ? holdPower : speed);
+		} else if(speed < 0) {//Push the cube out
+			intaking = false;
+			resetCubeDetection();
+			motors.set(speed);
+		} else {
+			intaking = false;
+			motors.set(cubeAcquired ? holdPower : 0);
+		}
+		
+		if(speed == 0) {//Turning the knob back clears a stall
+			leftStall.reset();
+			rightStall.reset();
+		}
+		
+		if(leftStall.update() | rightStall.update())//Both need to be sampled, so no short circuit
+			motors.set(0);
+	}
+	
+	/**
+	 * Look for a cube every loop, in every mode (the intake action runs from the autonomous queue)
+	 */
+	@Override
+	public void periodic() {
+		sampleCurrent();
+	}
+	
+	/**
+	 * Samples the current of the intake motors and checks for a cube. 
+	 * Only samples while the intake is pulling in
+	 */
+	private void sampleCurrent() {
+		if(!intaking) {
+			samplesSinceStart = 0;//The motors will have to spin up again
+			return;
+		}
+		
+		if(cubeAcquired)
+			return;
+		
+		if(samplesSinceStart < spinUpSamples) {//Ignore the start up current
+			samplesSinceStart++;
+			return;
+		}
+		
+		double current = (motors.getLeftController().getOutputCurrent() + motors.getRightController().getOutputCurrent()) / 2.0;
+		if(currentFilter.add(current) >= acquireCurrent && currentFilter.isFull())
+			cubeAcquired = true;
+	}
+	
+	/**
+	 * Forget about the cube, and start the detection over
+	 */
+	private void resetCubeDetection() {
+		cubeAcquired = false;
+		samplesSinceStart = 0;
+		currentFilter.reset();
+	}
+	
+	/**
+	 * Letting go of the release button in teleop releases the intake. 
+	 * Nothing is read until a button is set in the config file
+	 */
+	@Override
+	public void registerEvents(EventBus events) {
+		if(releaseButton == 0)
+			return;
+		
+		int releaseEvent = events.add("Intake Release Button", () -> joystick.getRawButton(releaseButton));
+		events.subscribe(EventBus.bit(releaseEvent), (rising, falling) -> {
+			if(falling != 0 && teleop)
+				release();
+		});
 	}
 	
+	@Override
+	public void registerPower(PowerArbiter power) {
+		power.addConsumer("CubeIO", 3, 3, 5, 20, getTalons());
+	}
+	
+	@Override
+	public CANTalon[] getTalons() { return new CANTalon[] { motors.getLeftController(), motors.getRightController() }; }
+	
 	private void release() {
 		releaseServo.set(0);//TODO get the required position
 	}
+	
+	//***************************** Actions ***********************************//
+	
+	/**
+	 * Creates an action that will spin the intake until a cube has been pulled in. 
+	 * When it finishes the intake will hold the cube at the hold power.
+	 * 
+	 * @param timeoutSeconds - Seconds to give up after if a cube never comes in
+	 * @return - Action object to be added to the autonomous queue
+	 */
+	public Action getIntakeAction(double timeoutSeconds) {
+		return new Action(() -> {//Start
+			resetCubeDetection();
+			intaking = true;
+			motors.set(intakeSpeed);
+		}, (startTime) -> {//Update
+			if(cubeAcquired)
+				return true;
+			return Replay.currentTimeMillis() >= (timeoutSeconds * 1000) + startTime;
+		}, () -> {//Clean Up
+			intaking = false;
+			motors.set(cubeAcquired ? holdPower : 0);
+		});
+	}
+	
+	/**
+	 * @return - Whether or not there is a cube in the intake
+	 */
+	public boolean hasCube() { return cubeAcquired; }
+	
+	public double getAcquireCurrent() { return acquireCurrent; }
+	public void setAcquireCurrent(double acquireCurrent) { this.acquireCurrent = acquireCurrent; }
+	
+	public double getHoldPower() { return holdPower; }
+	public void setHoldPower(double holdPower) { this.holdPower = holdPower; }
+	
+	public double getIntakeSpeed() { return intakeSpeed; }
+	public void setIntakeSpeed(double intakeSpeed) { this.intakeSpeed = intakeSpeed; }
+	
+	public int getSpinUpSamples() { return spinUpSamples; }
+	public void setSpinUpSamples(int spinUpSamples) { this.spinUpSamples = spinUpSamples; }
+	
+	/**
+	 * Change the amount of samples the current is filtered over. 
+	 * NOTE: This makes a new filter, so don't call it every loop
+	 * 
+	 * @param length - Amount of samples to average
+	 */
+	public void setFilterLength(int length) { currentFilter = new MovingAverage(length); }
 }
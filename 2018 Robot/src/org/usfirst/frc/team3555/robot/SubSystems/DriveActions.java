@@ -0,0 +1,181 @@
+package org.usfirst.frc.team3555.robot.SubSystems;
+
+import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.Config.DriveConfig;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.DriveDistanceController;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.HeadingHold;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.MotorGroup;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+
+/**
+ * The autonomous drive actions, over a {@link TankDrive}. <br>
+ * The DriveTrain makes its actions here, and so does the SimDrive that the Monte Carlo runs, 
+ * so the controllers, gains, and ramp limits that are simulated are always the ones on the robot. 
+ * Every gain comes from the {@link DriveConfig}.
+ */
+public class DriveActions {
+	private TankDrive drive;
+	
+	//Drive straight -> cross couple the sides on the difference in distance, in rpm
+	private HeadingHold autoHold;
+	
+	//Distance actions end on the encoders, time is only a safety timeout
+	private DriveDistanceController distanceController;
+	
+	private double wheelCircumference; // <- meters
+	private double distanceBetweenWheels; // <- meters
+	private double autoSpeed;// <- meters / second for the side with the furthest to go
+	
+	/**
+	 * @param drive - Drive train to make the actions for
+	 * @param config - Geometry, gains, and limits
+	 */
+	public DriveActions(TankDrive drive, DriveConfig config) {
+		this.drive = drive;
+		
+		autoHold = new HeadingHold(config.getAutoHoldKP(), config.getAutoHoldMaxCorrection());// <- rpm per meter
+		distanceController = new DriveDistanceController(config.getDistanceKP(), config.getDistanceMinSpeed(), config.getDistanceTolerance(), config.getDistanceSettleTime());
+		
+		useConfig(config);
+	}
+	
+	/**
+	 * Set up the main group of a drive train the way the robot's is, in percent output on the encoders. 
+	 * The limits that can change are set by useConfig
+	 * 
+	 * @param group - The main group, with the encoders
+	 * @param nominalVoltage - The voltage that full output is equal to
+	 */
+	public static void setUpGroup(MotorGroup group, double nominalVoltage) {
+		group.setControlMode(ControlMode.PercentOutput);
+		group.setFeedBackDevice(FeedbackDevice.QuadEncoder);
+		group.setSensorUnitsPerRotation(360);
+		
+		//Make sure that the right side has the same positive direction as the left side
+		group.negateRightSetPoint(true);
+		
+		//Same stick position = same speed, no matter how drained the battery is (Only changes percent output, the velocity PIDs are left alone)
+		group.setSoftwareVoltageCompensation(nominalVoltage);
+	}
+	
+	/**
+	 * Take the settings that can change while the robot is running
+	 */
+	public void useConfig(DriveConfig config) {
+		MotorGroup group = drive.getMainGroup();
+		
+		//Scale factor to slow down the speed when more precise movement is desired
+		group.setScaleFactorMinimum(config.getScaleFactorMinimum());
+		
+		//Full reverse to full forward takes half a second instead of one loop, easier on the gear boxes and the battery
+		group.setRampLimits(config.getMaxAcceleration(), config.getMaxJerk());
+		
+		wheelCircumference = 2 * Math.PI * config.getWheelRadius();
+		distanceBetweenWheels = config.getDistanceBetweenWheels();
+		autoSpeed = config.getAutoSpeed();
+		
+		autoHold.setKP(config.getAutoHoldKP());
+		autoHold.setMaxCorrection(config.getAutoHoldMaxCorrection());
+		distanceController.setKP(config.getDistanceKP());
+		distanceController.setMinSpeed(config.getDistanceMinSpeed());
+		distanceController.setTolerance(config.getDistanceTolerance());
+		distanceController.setSettleTime(config.getDistanceSettleTime());
+	}
+	
+	/**
+	 * See DriveTrain.getAutoDriveAction(double, double, double)
+	 */
+	public Action getAutoDriveAction(double speedLeft, double speedRight, double seconds) {
+		MotorGroup group = drive.getMainGroup();
+		boolean straight = speedLeft == speedRight && speedLeft != 0;
+		double[] startTime = new double[1];// <- The drive's time, the action's start time is the robot's
+		
+		return new Action(() -> {//Start
+			startTime[0] = drive.getTimestamp();
+			group.setControlMode(ControlMode.Velocity);
+
+			if(straight)
+				autoHold.start(drive.getLeftDistance(), drive.getRightDistance());
+			group.set(speedLeft, speedRight);
+			drive.updateFollowers();
+		}, (ignored) -> {//Update
+			if(drive.getTimestamp() >= startTime[0] + seconds)
+				return true;
+			
+			if(straight) {
+				double correction = autoHold.getCorrection(drive.getLeftDistance(), drive.getRightDistance());
+				group.set(speedLeft - correction, speedRight + correction);
+				drive.updateFollowers();
+			}
+			return false;
+		}, () -> {//Clean Up
+			autoHold.release();
+			stop();
+		});
+	}
+	
+	/**
+	 * See DriveTrain.drive(double, double, double)
+	 */
+	public Action drive(double metersLeftSide, double metersRightSide, double seconds) {
+		MotorGroup group = drive.getMainGroup();
+		boolean straight = metersLeftSide == metersRightSide && metersLeftSide != 0;
+		double[] startTime = new double[1];// <- The drive's time, the action's start time is the robot's
+		
+		return new Action(() -> {//Start
+			startTime[0] = drive.getTimestamp();
+			group.setControlMode(ControlMode.Velocity);
+			
+			double leftDistance = drive.getLeftDistance();
+			double rightDistance = drive.getRightDistance();
+			distanceController.start(leftDistance, rightDistance, metersLeftSide, metersRightSide, autoSpeed);
+			if(straight)
+				autoHold.start(leftDistance, rightDistance);
+		}, (ignored) -> {//Update
+			double leftDistance = drive.getLeftDistance();
+			double rightDistance = drive.getRightDistance();
+			double now = drive.getTimestamp();
+			
+			if(distanceController.update(leftDistance, rightDistance, now))
+				return true;
+			if(now >= startTime[0] + seconds)
+				return true;
+			
+			double correction = autoHold.getCorrection(leftDistance, rightDistance);
+			double rpmLeft = CANTalon.linearVelocityToRPM(distanceController.getLeftCommand(), wheelCircumference);
+			double rpmRight = CANTalon.linearVelocityToRPM(distanceController.getRightCommand(), wheelCircumference);
+			
+			group.set(rpmLeft - correction, rpmRight + correction);
+			drive.updateFollowers();
+			return false;
+		}, () -> {//Clean Up
+			autoHold.release();
+			stop();
+		});
+	}
+	
+	/**
+	 * Turn on a point (roughly), both sides drive in opposite directions
+	 * 
+	 * @param radians - Radians to turn, counter clockwise (left) is positive
+	 * @param seconds - Seconds to give up after (Safety timeout)
+	 * @return - Action object to be added to the autonomous queue
+	 */
+	public Action turnOnDime(double radians, double seconds) {
+		double distance = radians * distanceBetweenWheels / 2.0;//Each side goes around a circle half the width of the robot
+		return drive(-distance, distance, seconds);
+	}
+	
+	/**
+	 * Stop the sides, and go back to percent output
+	 */
+	private void stop() {
+		MotorGroup group = drive.getMainGroup();
+		group.set(0);
+		drive.updateFollowers();
+		group.setControlMode(ControlMode.PercentOutput);
+	}
+}
@@ -1,16 +1,30 @@
 package org.usfirst.frc.team3555.robot.SubSystems;
 
 import org.usfirst.frc.team3555.robot.Autonomous.Action;
+import org.usfirst.frc.team3555.robot.Config.DriveConfig;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Dashboard.DashboardPublisher;
+import org.usfirst.frc.team3555.robot.Dashboard.PIDFTuner;
+import org.usfirst.frc.team3555.robot.Power.Battery;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANHealthMonitor;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedJoystick;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedXboxController;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.HeadingAligner;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.HeadingHistory;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.HeadingHold;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.MotorGroup;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryRing;
+import org.usfirst.frc.team3555.robot.Vision.CubeTarget;
+import org.usfirst.frc.team3555.robot.Vision.CubeVision;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
-import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 
 import edu.wpi.first.wpilibj.GenericHID.Hand;
 
-public class DriveTrain extends SubSystem {
+public class DriveTrain extends SubSystem implements TankDrive {
 	private MotorGroup mainGroup;//Back
 	private MotorGroup slaves;//Front 
 	
@@ -22,15 +36,37 @@ public class DriveTrain extends SubSystem {
 	private double wheelRadius; // <- meters
 	private double distanceBetweenWheels; // <- meters
 	
-	public DriveTrain() {
+	//Heading from the encoders, kept for the last second so camera frames can be matched to where the robot was pointing
+	private HeadingHistory headingHistory;
+	private HeadingAligner aligner;
+	
+	//Drive straight -> cross couple the sides on the difference in distance, in percent output (auto has its own, in rpm)
+	private HeadingHold teleopHold;
+	private boolean frontSwapped;
+	
+	//Auto drive and turn actions, shared with the simulations
+	private DriveActions actions;
+	
+	//Telemetry
+	private TelemetryRing telemetry;
+	private int forwardChannel, leftVelocityChannel, rightVelocityChannel, headingChannel;
+	
+	//Dashboard
+	private DashboardPublisher dashboard;
+	private int leftVelocityKey, rightVelocityKey, degradedKey;
+	
+	/**
+	 * @param config - IDs, geometry, and limits from the config file
+	 */
+	public DriveTrain(DriveConfig config) {
 		//Input init
-		controller = new CurvedXboxController(1);
+		controller = new CurvedXboxController(config.getControllerPort(), config.getDeadzone());
 //		joyLeft = new CurvedJoystick(2);
 //		joyRight = new CurvedJoystick(3);
 		
 		//Init groups to hold the talons
-		mainGroup = new MotorGroup(43, 44);
-		slaves = new MotorGroup(41, 42);
+		mainGroup = new MotorGroup(config.getLeftMaster(), config.getRightMaster());
+		slaves = new MotorGroup(config.getLeftFollower(), config.getRightFollower());
 		
 //		leftRear = new CANTalon(43);
 //		leftFront = new CANTalon(41); 
@@ -38,19 +74,13 @@ public class DriveTrain extends SubSystem {
 //		rightRear = new CANTalon(44);
 //		rightFront = new CANTalon(42);
 		
-		mainGroup.setControlMode(ControlMode.PercentOutput);
-		mainGroup.setFeedBackDevice(FeedbackDevice.QuadEncoder);
-		
-		mainGroup.setSensorUnitsPerRotation(360);
+		//Percent output on the encoders, right side negated, voltage compensated
+		DriveActions.setUpGroup(mainGroup, Battery.nominalVoltage);
 
-		//Set PID constants
+		//Set PID constants (These are the defaults, the tuned ones are loaded from the tuner's file)
 		mainGroup.setLeftPIDF(.85, 0.01, .2, 0);
 		mainGroup.setRightPIDF(.85, 0.01, .2, 0);
 		
-		//Make sure that the right side has the same positive direction as the left side
-		mainGroup.negateRightSetPoint(true);
-		mainGroup.setScaleFactorMinimum(.3);//Scale factor to slow down the speed when more precise movemnt is desired
-		
 		//Follow the main group
 		slaves.setControlMode(ControlMode.Follower);
 		slaves.set(mainGroup.getLeftController().getDeviceID(), mainGroup.getRightController().getDeviceID());// Follow the main controllers
@@ -59,10 +89,61 @@ public class DriveTrain extends SubSystem {
 		mainGroup.setEnabled(true);
 		slaves.setEnabled(true);
 		
+		headingHistory = new HeadingHistory(50);// <- 1 second at 50 Hz, the camera is never that far behind
+		
+		//Gains are in the config, so they can be tuned without a deploy
+		aligner = new HeadingAligner(config.getAlignKP(), config.getAlignMaxTurn(), config.getAlignMinTurn(), config.getAlignTolerance(), config.getAlignSettleTime());
+		teleopHold = new HeadingHold(config.getTeleopHoldKP(), config.getTeleopHoldMaxCorrection());// <- percent output per meter
+		actions = new DriveActions(this, config);
+		
+		useConfig(config);
+	}
+	
+	/**
+	 * Take the settings that can change while the robot is running
+	 */
+	private void useConfig(DriveConfig config) {
+		controller.setDeadzone(config.getDeadzone());
+		
+		//Scale factor, ramp limits, and the auto gains
+		actions.useConfig(config);
+		
+		//If a back talon drops off the bus, the front one on that side runs open loop in its place (~5300 rpm CIM free speed, TODO check on the robot)
+		mainGroup.setBackups(slaves.getLeftController(), slaves.getRightController(), config.getBackupFullSpeed());
+		
 		//Math Data for auto
-		wheelRadius = 0.0762;
+		wheelRadius = config.getWheelRadius();
 		wheelCircumference = 2 * Math.PI * wheelRadius;
-		distanceBetweenWheels = .51;
+		distanceBetweenWheels = config.getDistanceBetweenWheels();
+		
+		//Gains
+		aligner.setKP(config.getAlignKP());
+		aligner.setMaxTurn(config.getAlignMaxTurn());
+		aligner.setMinTurn(config.getAlignMinTurn());
+		aligner.setTolerance(config.getAlignTolerance());
+		aligner.setSettleTime(config.getAlignSettleTime());
+		teleopHold.setKP(config.getTeleopHoldKP());
+		teleopHold.setMaxCorrection(config.getTeleopHoldMaxCorrection());
+	}
+	
+	@Override
+	public void applyConfig(RobotConfig config) { useConfig(config.getDrive()); }
+	
+	/**
+	 * Start teleop without an old heading to hold
+	 */
+	@Override
+	public void teleopInit() {
+		teleopHold.release();
+	}
+	
+	/**
+	 * The talons are stopped behind the group's back, so its ramp has to start over from stopped too
+	 */
+	@Override
+	public void disable() {
+		super.disable();
+		mainGroup.resetRamp();
 	}
 	
 	/**
@@ -76,6 +157,113 @@ public class DriveTrain extends SubSystem {
 		slaves.update();
 	}
 	
+	/**
+	 * Record how fast the sides are actually going and where the robot is pointing, and put it on the dashboard
+	 */
+	@Override
+	public void periodic() {
+		double leftVelocity = mainGroup.getLeftVelocity();
+		double rightVelocity = mainGroup.getRightVelocity();
+		double heading = getHeading();
+		
+		headingHistory.add(Replay.getTimestamp(), heading);
+		
+		telemetry.record(leftVelocityChannel, leftVelocity);
+		telemetry.record(rightVelocityChannel, rightVelocity);
+		telemetry.record(headingChannel, heading);
+		
+		dashboard.set(leftVelocityKey, leftVelocity);
+		dashboard.set(rightVelocityKey, rightVelocity);
+		dashboard.set(degradedKey, mainGroup.isDegraded());
+	}
+	
+	@Override
+	public void registerDashboard(DashboardPublisher dashboard) {
+		this.dashboard = dashboard;
+		
+		leftVelocityKey = dashboard.addKey("Drive Left RPM", 5, .1);
+		rightVelocityKey = dashboard.addKey("Drive Right RPM", 5, .1);
+		degradedKey = dashboard.addKey("Drive Degraded", 0, 0);
+	}
+	
+	/**
+	 * Both sides share the velocity gains
+	 */
+	@Override
+	public void registerTuning(PIDFTuner tuner) {
+		tuner.add("Drive", mainGroup.getLeftController(), mainGroup.getRightController());
+	}
+	
+	/**
+	 * The back talons have the encoders, so when one is lost the front talon on that side takes over
+	 */
+	@Override
+	public void registerHealth(CANHealthMonitor health) {
+		health.add("Drive", this::healthChanged, getTalons());
+	}
+	
+	/**
+	 * Switch a side over to its front talon when the back one is lost, and back when it returns. 
+	 * Losing a front talon only loses half the power on that side, the back one keeps driving
+	 */
+	private void healthChanged(CANTalon talon, boolean healthy) {
+		if(talon == mainGroup.getLeftController())
+			mainGroup.setLeftFailed(!healthy);
+		else if(talon == mainGroup.getRightController())
+			mainGroup.setRightFailed(!healthy);
+		
+		teleopHold.release();
+	}
+	
+	@Override
+	public void registerTelemetry(TelemetryRing telemetry) {
+		this.telemetry = telemetry;
+		
+		forwardChannel = telemetry.addChannel("Drive Forward");
+		leftVelocityChannel = telemetry.addChannel("Drive Left RPM");
+		rightVelocityChannel = telemetry.addChannel("Drive Right RPM");
+		headingChannel = telemetry.addChannel("Drive Heading");
+	}
+	
+	@Override
+	public void registerPower(PowerArbiter power) {
+		power.addConsumer("Drive", 0, 1, 20, 40, getTalons());
+	}
+	
+	@Override
+	public CANTalon[] getTalons() {
+		return new CANTalon[] { mainGroup.getLeftController(), mainGroup.getRightController(), slaves.getLeftController(), slaves.getRightController() };
+	}
+	
+	@Override
+	public MotorGroup getMainGroup() { return mainGroup; }
+	
+	@Override
+	public void updateFollowers() { slaves.update(); }
+	
+	@Override
+	public double getTimestamp() { return Replay.getTimestamp(); }
+	
+	/**
+	 * @return - Meters the left side has driven (forward is positive)
+	 */
+	@Override
+	public double getLeftDistance() { return mainGroup.getLeftPosition() * wheelCircumference; }
+	
+	/**
+	 * @return - Meters the right side has driven (forward is positive, the right set point is negated so the sensor is too)
+	 */
+	@Override
+	public double getRightDistance() { return -mainGroup.getRightPosition() * wheelCircumference; }
+	
+	/**
+	 * Heading from the difference in distance of the two sides, no gyro needed. 
+	 * NOTE: This is from the original front of the robot, swapping the front doesn't change it
+	 * 
+	 * @return - Radians the robot has turned since the encoders were zeroed, counter clockwise (left) is positive
+	 */
+	public double getHeading() { return (getRightDistance() - getLeftDistance()) / distanceBetweenWheels; }
+	
 	/**
 	 * Interpret the controller input to how it would be in a video game
 	 */
@@ -119,10 +307,23 @@ public class DriveTrain extends SubSystem {
 			leftTurn *=-1;
 		}
 			
-//		System.out.println(forward);
+		telemetry.record(forwardChannel, forward);
+		
+		//Stick centered -> hold the heading the robot had when the stick was let go
+		double correction = 0;
+		if(stickValue == 0 && forward != 0 && !mainGroup.isDegraded()) {//A lost back talon takes its encoder with it
+			//The distances need to be from the driver's front
+			double leftDistance = frontSwapped ? -getRightDistance() : getLeftDistance();
+			double rightDistance = frontSwapped ? -getLeftDistance() : getRightDistance();
+			
+			if(!teleopHold.isHolding())
+				teleopHold.start(leftDistance, rightDistance);
+			correction = teleopHold.getCorrection(leftDistance, rightDistance);
+		} else
+			teleopHold.release();
 		
 		//Apply power
-		mainGroup.set(leftForward + rightTurn, rightForward + leftTurn);
+		mainGroup.set(leftForward + rightTurn - correction, rightForward + leftTurn + correction);
 	}
 	
 	/**
@@ -156,6 +357,9 @@ public class DriveTrain extends SubSystem {
 	 * This is used for when the robot is turned around, so that the driver can change the forward direction and not think about how to drive backwards
 	 */
 	private void swapFront() {
+		frontSwapped = !frontSwapped;
+		teleopHold.release();
+		
 		mainGroup.swap();
 		mainGroup.invert();
 		slaves.swap();
@@ -165,69 +369,68 @@ public class DriveTrain extends SubSystem {
 	//***************************** Actions ***********************************//
 	
 	/**
-	 * Create an action object to drive the robot at certain rpm on each side for a certain amount of seconds. 
-	 * Battery / Signal light is the front.
+	 * Creates an action that turns the robot to face the cube the camera sees. 
+	 * The camera frames are matched to the heading when they were taken, so the robot doesn't overshoot from the frames being late. 
+	 * The turn is done on the encoder heading, the camera only moves the goal. If no cube is seen, the robot stays still until the timeout
 	 * 
-	 * @param speedLeft - Speed in RPM
-	 * @param speedRight - Speed in RPM
-	 * @param seconds - Seconds for this to take (Keep this reasonable)
-	 * @return - The Action object to be used in autonomous
+	 * @param vision - The cube vision to get targets from, null off of the robot (the targets then only come from a replay)
+	 * @param timeoutSeconds - Seconds to give up after
+	 * @return - Action object to be added to the autonomous queue
 	 */
-	public Action getAutoDriveAction(double speedLeft, double speedRight, double seconds) {
+	public Action getVisionAlignAction(CubeVision vision, double timeoutSeconds) {
 		return new Action(() -> {//Start
-			mainGroup.setControlMode(ControlMode.Velocity);
-
-			mainGroup.set(speedLeft, speedRight);
+			aligner.reset();
+			mainGroup.setControlMode(ControlMode.PercentOutput);
+		}, (startTime) -> {//Update
+			//The target is handed over from the vision thread, so it is recorded here where it is used
+			CubeTarget target = vision == null ? null : vision.getLatest();
+			if(Replay.read(Replay.source(Replay.visionFound, 0, 0), target != null && target.isFound())) {
+				double captureTime = Replay.read(Replay.source(Replay.visionCaptureTime, 0, 0), target == null ? 0 : target.getCaptureTimestamp());
+				double angle = Replay.read(Replay.source(Replay.visionAngle, 0, 0), target == null ? 0 : target.getAngle());
+				aligner.addTarget(headingHistory, captureTime, angle);
+			}
+			
+			double turn = aligner.update(getHeading(), Replay.getTimestamp());
+			mainGroup.set(-turn, turn);
 			slaves.update();
 			
-//			leftRear.set(-speedLeft);
-//			rightRear.set(speedRight);
-//			leftFront.set(leftRear.getDeviceID());
-//			rightFront.set(rightRear.getDeviceID());
-		}, (startTime) -> {//Update
-			if(System.currentTimeMillis() >= (seconds * 1000) + startTime)
-				return true;
-			return false;
+			return aligner.isDone() || Replay.currentTimeMillis() >= (timeoutSeconds * 1000) + startTime;
 		}, () -> {//Clean Up
-//			leftRear.set(0);
-//			rightRear.set(0);
-//			leftFront.set(leftRear.getDeviceID());
-//			rightFront.set(rightRear.getDeviceID());
-			
 			mainGroup.set(0);
 			slaves.update();
-			mainGroup.setControlMode(ControlMode.PercentOutput);
-			
-//			leftRear.setControlMode(ControlMode.PercentOutput);
-//			rightRear.setControlMode(ControlMode.PercentOutput);
-//			leftRear.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-//			rightRear.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
 		});
 	}
+	
+	/**
+	 * Create an action object to drive the robot at certain rpm on each side for a certain amount of seconds. 
+	 * Battery / Signal light is the front. 
+	 * When both sides are given the same speed, the heading is held by correcting the sides on their difference in distance
+	 * 
+	 * @param speedLeft - Speed in RPM
+	 * @param speedRight - Speed in RPM
+	 * @param seconds - Seconds for this to take (Keep this reasonable)
+	 * @return - The Action object to be used in autonomous
+	 */
+	public Action getAutoDriveAction(double speedLeft, double speedRight, double seconds) { return actions.getAutoDriveAction(speedLeft, speedRight, seconds); }
 		
 	/**
-	 * Creates an action object that will drive each side their designated distance in the allocated time.
+	 * Creates an action object that will drive each side their designated distance, measured by the encoders. 
+	 * The side with the furthest to go drives at the auto speed, and the other side is scaled so they finish together. 
+	 * The action is done when both sides are within the tolerance for the settle time (see DriveDistanceController). 
+	 * When both sides have the same distance, the heading is held too.
 	 * 
 	 * @param metersLeftSide - Meters for the left side to drive 
 	 * @param metersRightSide - Meters for the right side to drive
-	 * @param seconds - Seconds for this to be completed in (Keep this reasonable)
+	 * @param seconds - Seconds to give up after, if the distance is never reached (Safety timeout, not how long it takes)
 	 * @return - The action object that can be added to the queue
 	 */
-	public Action drive(double metersLeftSide, double metersRightSide, double seconds) {
-		double metersPerSecondLeft = metersLeftSide / seconds;
-		double metersPerSecondRight = metersRightSide / seconds;
-		
-		double rpmLeft = (metersPerSecondLeft / wheelRadius) * (60 / (Math.PI * 2)); 
-		double rpmRight = (metersPerSecondRight / wheelRadius) * (60 / (Math.PI * 2)); 
-		
-		return getAutoDriveAction(rpmLeft, rpmRight, seconds);
-	}
+	public Action drive(double metersLeftSide, double metersRightSide, double seconds) { return actions.drive(metersLeftSide, metersRightSide, seconds); }
 	
 	/**
-	 * Creates an action object that will drive both sides the designated distance in the allocated time
+	 * Creates an action object that will drive both sides the designated distance, measured by the encoders
 	 * 
 	 * @param meters - Distance in meters for both sides to drive
-	 * @param seconds - Seconds that this is to be done in
+	 * @param seconds - Seconds to give up after, if the distance is never reached
 	 * @return - The Action object that can be added to the autonomous queue
 	 */
 	public Action drive(double meters, double seconds) { return drive(meters, meters, seconds); }
@@ -237,7 +440,7 @@ public class DriveTrain extends SubSystem {
 	 * This will only turn the left wheel, the right will remain stationary.
 	 * 
 	 * @param degrees - Degrees to turn to the right
-	 * @param seconds - Seconds that this action should take
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action turnLeftDegrees(double degrees, double seconds) { return turnLeftRadians(Math.toRadians(degrees), seconds); }
@@ -247,7 +450,7 @@ public class DriveTrain extends SubSystem {
 	 * This will only turn the left wheel, the right will remain stationary.
 	 * 
 	 * @param radians - Radians to turn to the right
-	 * @param seconds - Seconds that this action should take
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action turnLeftRadians(double radians, double seconds) {
@@ -260,7 +463,7 @@ public class DriveTrain extends SubSystem {
 	 * This will turn both wheels in opposite directions, causing it to turn on a point (roughly)
 	 * 
 	 * @param degrees - Degrees to turn to the right
-	 * @param seconds - Seconds that this action should take
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action turnLeftOnDimeDegrees(double degrees, double seconds) { return turnLeftOnDimeRadians(Math.toRadians(degrees), seconds); }
@@ -270,20 +473,17 @@ public class DriveTrain extends SubSystem {
 	 * This will turn both wheels in opposite directions, causing it to turn on a point (roughly)
 	 * 
 	 * @param radians - Radians to turn to the right
-	 * @param seconds - Seconds that this action should take
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
-	public Action turnLeftOnDimeRadians(double radians, double seconds) {
-		double distance = radians * distanceBetweenWheels;
-		return drive(distance, -distance);
-	}
+	public Action turnLeftOnDimeRadians(double radians, double seconds) { return actions.turnOnDime(-radians, seconds); }
 	
 	/**
 	 * Turn a certain degrees to the left.
 	 * This will only turn the right wheel, the left will remain stationary.
 	 * 
 	 * @param degrees - Degrees to turn to the left
-	 * @param seconds - Seconds that this action should take
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action turnRightDegrees(double degrees, double seconds) { return turnRightRadians(Math.toRadians(degrees), seconds); }
@@ -293,7 +493,7 @@ public class DriveTrain extends SubSystem {
 	 * This will only turn the right wheel, the left will remain stationary.
 	 * 
 	 * @param radians - Radians to turn to the left
-	 * @param seconds - Seconds that this action should take
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action turnRightRadians(double radians, double seconds) {
@@ -306,7 +506,7 @@ public class DriveTrain extends SubSystem {
 	 * This will turn both wheels in opposite directions, causing it to turn on a point (roughly)
 	 * 
 	 * @param degrees - Degrees to turn to the left
-	 * @param seconds - Seconds that this action should take
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action turnRightOnDimeDegrees(double degrees, double seconds) { return turnRightOnDimeRadians(Math.toRadians(degrees), seconds); }
@@ -316,19 +516,16 @@ public class DriveTrain extends SubSystem {
 	 * This will turn both wheels in opposite directions, causing it to turn on a point (roughly)
 	 * 
 	 * @param radians - Radians to turn to the left
-	 * @param seconds - Seconds that this action should take
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
-	public Action turnRightOnDimeRadians(double radians, double seconds) {
-		double distance = radians * distanceBetweenWheels;
-		return drive(-distance, distance);
-	}
+	public Action turnRightOnDimeRadians(double radians, double seconds) { return actions.turnOnDime(radians, seconds); }
 	
 	/**
 	 * Spins the robot on a dime, rotations in terms of the amount of time to turn the robot 360 degrees (2pi radians)
 	 * 
 	 * @param rotations - Amount of full spins of the robot
-	 * @param seconds - Seconds for this action to complete
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action spinRight(double rotations, double seconds) {
@@ -339,7 +536,7 @@ public class DriveTrain extends SubSystem {
 	 * Spins the robot on a dime, rotations in terms of the amount of time to turn the robot 360 degrees (2pi radians)
 	 * 
 	 * @param rotations - Amount of full spins of the robot
-	 * @param seconds - Seconds for this action to complete
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action spinLeft(double rotations, double seconds) {
@@ -351,7 +548,7 @@ public class DriveTrain extends SubSystem {
 	 * 
 	 * @param rotationsLeft - Amount rotations of the left wheels
 	 * @param rotationsRight - Amount of rotations of the right wheels
-	 * @param seconds - Seconds for this Action to complete
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action driveRotations(double rotationsLeft, double rotationsRight, double seconds) { 
@@ -362,7 +559,7 @@ public class DriveTrain extends SubSystem {
 	 * Drive the robot in terms of wheel rotations
 	 * 
 	 * @param rotations - Amount of rotations for all wheels to turn
-	 * @param seconds - Seconds for this Action to complete
+	 * @param seconds - Seconds to give up after (Safety timeout)
 	 * @return - Action object to be added to the autonomous queue
 	 */
 	public Action driveRotations(double rotations, double seconds) { return drive(wheelCircumference * rotations, wheelCircumference * rotations, seconds); }
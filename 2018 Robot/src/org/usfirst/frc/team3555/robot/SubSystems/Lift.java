@@ -2,8 +2,20 @@ package org.usfirst.frc.team3555.robot.SubSystems;
 
 import org.usfirst.frc.team3555.robot.Autonomous.Action;
 import org.usfirst.frc.team3555.robot.Autonomous.InnerType.ActionStart;
+import org.usfirst.frc.team3555.robot.Config.LiftConfig;
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Dashboard.DashboardPublisher;
+import org.usfirst.frc.team3555.robot.Dashboard.PIDFTuner;
+import org.usfirst.frc.team3555.robot.Events.EventBus;
+import org.usfirst.frc.team3555.robot.Hardware.Hardware;
+import org.usfirst.frc.team3555.robot.Power.Battery;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.Replay.Replay;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
 import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CurvedJoystick;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.KalmanFilter;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.StallDetector;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryRing;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
@@ -13,6 +25,33 @@ import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
 public class Lift extends SubSystem {
 	private CurvedJoystick joyOp;
 	private CANTalon lift;
+	private StallDetector stallDetector;
+	
+	/**
+	 * Position and velocity (rotations, rotations / second) estimated from the encoder and the motor voltage
+	 * The velocity is much cleaner than differencing the encoder, so it can be used to damp the manual control
+	 */
+	private KalmanFilter estimator;
+	private double lastTimestamp;
+	private double velocityDamping;// <- percent output per rotation / second
+	private double deadzone;
+	
+	//Letting go of the button holds the lift where it is
+	private boolean holding;
+	private double holdPosition;// <- rotations
+	
+	private TelemetryRing telemetry;
+	private int rawPositionChannel, positionChannel, velocityChannel;
+	
+	private DashboardPublisher dashboard;
+	private int positionKey, velocityKey, stalledKey;
+	
+	//Limit switches, read once a loop by the event bus
+	private EventBus events;
+	private int bottomEvent, topEvent;
+	
+	//Only the bottom limit switch sets the origin, a stall on the way down could be anywhere
+	private boolean calibrated;
 	
 	/**
 	 * One limit switch on the top
@@ -23,35 +62,156 @@ public class Lift extends SubSystem {
 	 * PID Position to go to positions -> relative to origin determined at in autonomous 
 	 * 
 	 * User input -> Tread carefully, the lift is incredibly fast
+	 * 
+	 * @param joyOp - Operator joystick
+	 * @param config - ID and limits from the config file
 	 */
-	public Lift(CurvedJoystick joyOp) {
+	public Lift(CurvedJoystick joyOp, LiftConfig config) {
 		this.joyOp = joyOp;
 		
-		lift = new CANTalon(0);//TODO Get Id #
+		lift = new CANTalon(config.getID());
 		
 		lift.setControlMode(ControlMode.Position);
 		lift.setFeedbackDevice(FeedbackDevice.CTRE_MagEncoder_Relative);
-		lift.setSensorUnitsPerRotation(1024);// 1024 CPR Quadrature Encoder
-		lift.setPIDF(0, 0, 0, 0);//TODO Get PIDF values
+		lift.setSensorUnitsPerRotation(config.getSensorUnitsPerRotation());// 1024 CPR Quadrature Encoder
+		lift.setPIDF(0, 0, 0, 0);//TODO Get PIDF values (Tune them from the dashboard, they are saved by the tuner)
+		lift.setSoftwareVoltageCompensation(Battery.nominalVoltage);//Homing speed stays the same as the battery drains
 		
 		//Set up Limit Switches
-		lift.configForwardLimitSwitchSource(LimitSwitchSource.FeedbackConnector, LimitSwitchNormal.NormallyOpen, CANTalon.kTimeoutMs);
-		lift.configReverseLimitSwitchSource(LimitSwitchSource.FeedbackConnector, LimitSwitchNormal.NormallyOpen, CANTalon.kTimeoutMs);
+		lift.setForwardLimitSwitch(LimitSwitchSource.FeedbackConnector, LimitSwitchNormal.NormallyOpen);
+		lift.setReverseLimitSwitch(LimitSwitchSource.FeedbackConnector, LimitSwitchNormal.NormallyOpen);
 		
 		lift.enableLimitSwitch(true); 
+		
+		//Cut the power if the carriage jams or the limit switch fails
+		stallDetector = new StallDetector(lift, config.getStallCurrent(), config.getStallVelocity());
+		
+		//TODO Find the gain and drag from a run at full voltage (free speed = gain * 12 / drag)
+		estimator = new KalmanFilter(10, 5, 20, 1.0 / 4096);// <- Reading noise of about one count
+		
+		useConfig(config);
+	}
+	
+	/**
+	 * Take the settings that can change while the robot is running
+	 */
+	private void useConfig(LiftConfig config) {
+		stallDetector.setCurrentThreshold(config.getStallCurrent());
+		stallDetector.setVelocityThreshold(config.getStallVelocity());
+		velocityDamping = config.getVelocityDamping();
+		deadzone = config.getDeadzone();
+	}
+	
+	@Override
+	public void applyConfig(RobotConfig config) { useConfig(config.getLift()); }
+	
+	/**
+	 * Hold wherever the lift is when teleop starts
+	 */
+	@Override
+	public void teleopInit() {
+		holding = false;
 	}
 	
 	@Override
 	public void teleopUpdate() {
-		if(joyOp.getRawButton(3)) //If a button is held, then move the lift by the input -> Prevents accidental movements
-			lift.set(joyOp.capDeadzone(joyOp.getY() / 2.0));
-		else 
-			lift.set(0);//Don't move
+		if(joyOp.getRawButton(3)) {//If a button is held, then move the lift by the input -> Prevents accidental movements
+			holding = false;
+			lift.setControlMode(ControlMode.PercentOutput);
+			lift.set(joyOp.capDeadzone(joyOp.getY() / 2.0, deadzone) - velocityDamping * estimator.getVelocity());
+		} else {
+			if(!holding) {//Just let go, hold this spot
+				holding = true;
+				holdPosition = estimator.getPosition();
+				lift.setControlMode(ControlMode.Position);
+			}
+			
+			lift.set(holdPosition);//Don't move
+			stallDetector.reset();//Letting go of the button clears a stall
+		}
+		
+		stallDetector.update();
 	}
 	
+	/**
+	 * Update the estimate, and record it
+	 */
+	@Override
+	public void periodic() {
+		double now = Replay.getTimestamp();
+		double position = lift.getPositionRotations();
+		
+		estimator.step(position, lift.getMotorOutputVoltage(), now - lastTimestamp);
+		lastTimestamp = now;
+		
+		telemetry.record(rawPositionChannel, position);
+		telemetry.record(positionChannel, estimator.getPosition());
+		telemetry.record(velocityChannel, estimator.getVelocity());
+		
+		dashboard.set(positionKey, estimator.getPosition());
+		dashboard.set(velocityKey, estimator.getVelocity());
+		dashboard.set(stalledKey, stallDetector.isTripped());
+	}
+	
+	@Override
+	public void registerTelemetry(TelemetryRing telemetry) {
+		this.telemetry = telemetry;
+		
+		rawPositionChannel = telemetry.addChannel("Lift Raw Position");
+		positionChannel = telemetry.addChannel("Lift Position");
+		velocityChannel = telemetry.addChannel("Lift Velocity");
+	}
+	
+	@Override
+	public void registerEvents(EventBus events) {
+		this.events = events;
+		
+		bottomEvent = events.add("Lift Bottom", lift::isReverseLimitSwitchClosed);
+		topEvent = events.add("Lift Top", lift::isForwardLimitSwitchClosed);
+	}
+	
+	@Override
+	public void registerTuning(PIDFTuner tuner) {
+		tuner.add("Lift", lift);
+	}
+	
+	@Override
+	public void registerDashboard(DashboardPublisher dashboard) {
+		this.dashboard = dashboard;
+		
+		positionKey = dashboard.addKey("Lift Position", .01, .1);
+		velocityKey = dashboard.addKey("Lift Velocity", .05, .1);
+		stalledKey = dashboard.addKey("Lift Stalled", 0, 0);
+	}
+	
+	@Override
+	public void registerPower(PowerArbiter power) {
+		power.addConsumer("Lift", 1, 2, 10, 40, lift);
+	}
+	
+	@Override
+	public CANTalon[] getTalons() { return new CANTalon[] { lift }; }
+	
+	/**
+	 * @return - Event index of the bottom limit switch
+	 */
+	public int getBottomEvent() { return bottomEvent; }
+	
+	/**
+	 * @return - Event index of the top limit switch
+	 */
+	public int getTopEvent() { return topEvent; }
+	
+	/**
+	 * @return - Whether or not the origin was found on the bottom limit switch
+	 */
+	public boolean isCalibrated() { return calibrated; }
+	
 	/**
 	 * Generate an initialization action object to find the origin. 
 	 * This would be used in auto to make sure the lift is calibrated correctly
+	 * If the limit switch never closes (broken switch, jammed carriage) then the stall detector will end the action once the lift stops moving. <br>
+	 * The encoder is only zeroed on the switch, after a stall the lift stays stopped and uncalibrated
 	 * 
 	 * @return -> The action that will instruct the lift to find its origin
 	 */
@@ -60,15 +220,30 @@ public class Lift extends SubSystem {
 			//Drive it down to the bottom
 			lift.setControlMode(ControlMode.PercentOutput);
 			lift.set(-.2);
+			stallDetector.reset();
+			calibrated = false;
 		}, (startTime) -> {
-			if(lift.getSensorCollection().isRevLimitSwitchClosed()) {//Check whether or not we are at the bottom
+			//Check whether or not we are at the bottom
+			if(events.isSet(bottomEvent)) {
 				lift.set(0);//Stop The motor
+				calibrated = true;
+				return true;
+			}
+			
+			//Stop on a stall in case the switch has failed, but that spot isn't the bottom
+			if(stallDetector.update()) {
+				lift.set(0);
+				Hardware.reportError("Lift calibration failed, stalled before the bottom limit switch");
 				return true;
 			}
 			return false;
 		}, () -> {
+			if(!calibrated)//Leave it stopped in percent output
+				return;
+			
 			//Set this position to be the origin
 			lift.setSensorPosition(0);
+			estimator.reset(0);
 			lift.setControlMode(ControlMode.Position);//Back to position mode
 		});
 	}
@@ -1,5 +1,135 @@
 package org.usfirst.frc.team3555.robot.SubSystems;
 
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Dashboard.DashboardPublisher;
+import org.usfirst.frc.team3555.robot.Dashboard.PIDFTuner;
+import org.usfirst.frc.team3555.robot.Events.EventBus;
+import org.usfirst.frc.team3555.robot.Loop.ControlLoop;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANHealthMonitor;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANTalon;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryRing;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+
+/**
+ * A part of the robot that is updated by the {@link SubSystemRegistry}. <br>
+ * Only teleopUpdate and getTalons have to be written, every other hook does nothing unless it is overridden (except disable, which stops every talon that isn't a follower). <br>
+ * Order the hooks are called in: <br>
+ *  init -> once, when the robot starts <br>
+ *  autonomousInit / teleopInit -> once, when the mode starts <br>
+ *  autonomousUpdate / teleopUpdate -> every loop of that mode <br>
+ *  periodic -> every loop, in every mode (after the mode's update) <br>
+ *  disable -> once, when the robot is disabled
+ */
 public abstract class SubSystem {
+	/**
+	 * Called once after the robot has started and every subsystem has been made
+	 */
+	public void init() {}
+	
+	/**
+	 * Called every loop, no matter what mode the robot is in
+	 */
+	public void periodic() {}
+	
+	/**
+	 * Called once when autonomous starts
+	 */
+	public void autonomousInit() {}
+	
+	/**
+	 * Called every loop during autonomous (The action queue is updated separately)
+	 */
+	public void autonomousUpdate() {}
+	
+	/**
+	 * Called once when teleop starts
+	 */
+	public void teleopInit() {}
+	
+	/**
+	 * Called every loop during teleop
+	 */
 	public abstract void teleopUpdate();
+	
+	/**
+	 * Put the subsystem into a safe state, called when the robot is disabled. 
+	 * By default this will stop every talon, except followers -> their set point is the ID of the talon they follow, so they stop with it
+	 */
+	public void disable() {
+		for(CANTalon talon : getTalons())
+			if(talon.getControlMode() != ControlMode.Follower)
+				talon.set(0);
+	}
+	
+	/**
+	 * Add any code that needs to run faster than the driver station packets to the control loop. 
+	 * NOTE: The control loop runs on its own thread
+	 * 
+	 * @param loop - The robot's fixed rate control loop
+	 */
+	public void registerLoops(ControlLoop loop) {}
+	
+	/**
+	 * Give the talons of this subsystem to the power arbiter, with the priorities and current limits that this subsystem needs
+	 * 
+	 * @param power - The robot's power arbiter
+	 */
+	public void registerPower(PowerArbiter power) {}
+	
+	/**
+	 * Add the channels that this subsystem will record, and keep the ring to record to. 
+	 * NOTE: The ring belongs to the main robot thread, don't record to it from the control loop
+	 * 
+	 * @param telemetry - The main thread's telemetry ring
+	 */
+	public void registerTelemetry(TelemetryRing telemetry) {}
+	
+	/**
+	 * Add the keys that this subsystem will put on the dashboard
+	 * 
+	 * @param dashboard - The robot's dashboard publisher
+	 */
+	public void registerDashboard(DashboardPublisher dashboard) {}
+	
+	/**
+	 * Give the talons of this subsystem to the health monitor, with a listener if the subsystem can keep going without one of them. 
+	 * By default every talon is watched and reported, but nothing changes when one is lost
+	 * 
+	 * @param health - The robot's CAN health monitor
+	 */
+	public void registerHealth(CANHealthMonitor health) {
+		health.add(getClass().getSimpleName(), null, getTalons());
+	}
+	
+	/**
+	 * Add the talons with closed loop gains to the tuner, so the gains can be changed from the dashboard. 
+	 * Call this after the talons have been given their gains (The constructor does that)
+	 * 
+	 * @param tuner - The robot's PIDF tuner
+	 */
+	public void registerTuning(PIDFTuner tuner) {}
+	
+	/**
+	 * Add the switches and buttons this subsystem waits on to the event bus, and subscribe to their edges. 
+	 * The bus reads them once a loop, so wait on its bits instead of reading the hardware again
+	 * 
+	 * @param events - The robot's event bus
+	 */
+	public void registerEvents(EventBus events) {}
+	
+	/**
+	 * Take the settings from a config file that was changed while the robot is running. 
+	 * Only called while disabled. IDs and ports can't change here, only things like limits and deadzones. 
+	 * NOTE: This is called from the loop, copy the values, don't make anything
+	 * 
+	 * @param config - The new config
+	 */
+	public void applyConfig(RobotConfig config) {}
+	
+	/**
+	 * @return - Every talon that this subsystem drives (Used to manage things like the current limits)
+	 */
+	public abstract CANTalon[] getTalons();
 }
@@ -0,0 +1,245 @@
+package org.usfirst.frc.team3555.robot.SubSystems;
+
+import java.util.Arrays;
+
+import org.usfirst.frc.team3555.robot.Config.RobotConfig;
+import org.usfirst.frc.team3555.robot.Dashboard.DashboardPublisher;
+import org.usfirst.frc.team3555.robot.Dashboard.PIDFTuner;
+import org.usfirst.frc.team3555.robot.Events.EventBus;
+import org.usfirst.frc.team3555.robot.Loop.ControlLoop;
+import org.usfirst.frc.team3555.robot.Power.PowerArbiter;
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.CANHealthMonitor;
+import org.usfirst.frc.team3555.robot.Telemetry.AllocationBudget;
+import org.usfirst.frc.team3555.robot.Telemetry.TelemetryRing;
+
+/**
+ * Holds every {@link SubSystem} on the robot, and calls their hooks in the order that they were added. <br>
+ * The robot only has to talk to the registry, so adding a subsystem is one add() call. <br>
+ * The time each subsystem takes, and the bytes it allocates, are measured every loop, so a slow subsystem or one that makes garbage can be found. 
+ * A loop ends when periodic() is called (IterativeRobot calls robotPeriodic after the mode's periodic), and each time is recorded to telemetry and put on the dashboard.
+ */
+public class SubSystemRegistry {
+	public static final int maxSubSystems = 8;
+	
+	private SubSystem[] subSystems;
+	private int count;
+	
+	/**
+	 * Timing, in nanoseconds
+	 * Loop -> Time for the loop that is in progress
+	 * Last -> Time for the last finished loop
+	 * Max -> Most time any one loop has taken
+	 */
+	private long[] loopNanos;
+	private long[] lastNanos;
+	private long[] maxNanos;
+	
+	/**
+	 * Allocation, in bytes (Same as the timing)
+	 */
+	private long[] loopBytes;
+	private long[] lastBytes;
+	private long[] maxBytes;
+	
+	private TelemetryRing telemetry;
+	private int[] timeChannels;
+	private int[] bytesChannels;
+	
+	private DashboardPublisher dashboard;
+	private int[] timeKeys;
+	
+	public SubSystemRegistry() {
+		subSystems = new SubSystem[maxSubSystems];
+		loopNanos = new long[maxSubSystems];
+		lastNanos = new long[maxSubSystems];
+		maxNanos = new long[maxSubSystems];
+		loopBytes = new long[maxSubSystems];
+		lastBytes = new long[maxSubSystems];
+		maxBytes = new long[maxSubSystems];
+		timeChannels = new int[maxSubSystems];
+		bytesChannels = new int[maxSubSystems];
+		timeKeys = new int[maxSubSystems];
+	}
+	
+	/**
+	 * Add a subsystem to be updated
+	 * 
+	 * @param subSystem - The subsystem to add
+	 * @return - The subsystem that was added
+	 */
+	public <T extends SubSystem> T add(T subSystem) {
+		if(count == maxSubSystems)
+			throw new IllegalStateException("Too many subsystems, max is " + maxSubSystems);
+		
+		subSystems[count++] = subSystem;
+		return subSystem;
+	}
+	
+	/**
+	 * Call init on every subsystem, and give them the control loop, the power arbiter, the telemetry ring, the dashboard, the health monitor, the tuner, and the event bus
+	 */
+	public void init(ControlLoop loop, PowerArbiter power, TelemetryRing telemetry, DashboardPublisher dashboard, CANHealthMonitor health, PIDFTuner tuner, EventBus events) {
+		this.telemetry = telemetry;
+		this.dashboard = dashboard;
+		
+		for(int i = 0; i < count; i++) {
+			subSystems[i].init();
+			subSystems[i].registerLoops(loop);
+			subSystems[i].registerPower(power);
+			subSystems[i].registerTelemetry(telemetry);
+			subSystems[i].registerDashboard(dashboard);
+			subSystems[i].registerHealth(health);
+			if(tuner != null)
+				subSystems[i].registerTuning(tuner);
+			subSystems[i].registerEvents(events);
+			
+			String name = subSystems[i].getClass().getSimpleName() + " Time";
+			timeChannels[i] = telemetry.addChannel(name);
+			timeKeys[i] = dashboard.addKey(name, .0005, .5);
+			bytesChannels[i] = telemetry.addChannel(subSystems[i].getClass().getSimpleName() + " Bytes");
+		}
+	}
+	
+	public void autonomousInit() {
+		for(int i = 0; i < count; i++)
+			subSystems[i].autonomousInit();
+	}
+	
+	public void autonomousUpdate() {
+		for(int i = 0; i < count; i++) {
+			long startBytes = AllocationBudget.getThreadBytes();
+			long start = System.nanoTime();
+			subSystems[i].autonomousUpdate();
+			loopNanos[i] += System.nanoTime() - start;
+			loopBytes[i] += AllocationBudget.getBytesSince(startBytes);
+		}
+	}
+	
+	public void teleopInit() {
+		for(int i = 0; i < count; i++)
+			subSystems[i].teleopInit();
+	}
+	
+	public void teleopUpdate() {
+		for(int i = 0; i < count; i++) {
+			long startBytes = AllocationBudget.getThreadBytes();
+			long start = System.nanoTime();
+			subSystems[i].teleopUpdate();
+			loopNanos[i] += System.nanoTime() - start;
+			loopBytes[i] += AllocationBudget.getBytesSince(startBytes);
+		}
+	}
+	
+	public void disable() {
+		for(int i = 0; i < count; i++)
+			subSystems[i].disable();
+	}
+	
+	/**
+	 * Give every subsystem a config that was changed while the robot is running (Only call this while disabled)
+	 */
+	public void applyConfig(RobotConfig config) {
+		for(int i = 0; i < count; i++)
+			subSystems[i].applyConfig(config);
+	}
+	
+	/**
+	 * Call periodic on every subsystem, then finish timing this loop
+	 */
+	public void periodic() {
+		for(int i = 0; i < count; i++) {
+			long startBytes = AllocationBudget.getThreadBytes();
+			long start = System.nanoTime();
+			subSystems[i].periodic();
+			loopNanos[i] += System.nanoTime() - start;
+			loopBytes[i] += AllocationBudget.getBytesSince(startBytes);
+			
+			lastNanos[i] = loopNanos[i];
+			if(loopNanos[i] > maxNanos[i])
+				maxNanos[i] = loopNanos[i];
+			loopNanos[i] = 0;
+			
+			lastBytes[i] = loopBytes[i];
+			if(loopBytes[i] > maxBytes[i])
+				maxBytes[i] = loopBytes[i];
+			loopBytes[i] = 0;
+			
+			telemetry.record(timeChannels[i], lastNanos[i] / 1e9);
+			telemetry.record(bytesChannels[i], lastBytes[i]);
+			dashboard.set(timeKeys[i], lastNanos[i] / 1e9);
+		}
+	}
+	
+	/**
+	 * Clear the max times and allocations
+	 */
+	public void resetTiming() {
+		for(int i = 0; i < count; i++) {
+			maxNanos[i] = 0;
+			maxBytes[i] = 0;
+		}
+	}
+	
+	/**
+	 * @return - Index of the subsystem that took the longest last loop, -1 if there are no subsystems
+	 */
+	public int getSlowest() {
+		int slowest = -1;
+		for(int i = 0; i < count; i++)
+			if(slowest == -1 || lastNanos[i] > lastNanos[slowest])
+				slowest = i;
+		return slowest;
+	}
+	
+	/**
+	 * @return - Index of the subsystem that allocated the most last loop, -1 if there are no subsystems
+	 */
+	public int getBiggestAllocator() {
+		int biggest = -1;
+		for(int i = 0; i < count; i++)
+			if(biggest == -1 || lastBytes[i] > lastBytes[biggest])
+				biggest = i;
+		return biggest;
+	}
+	
+	/**
+	 * @return - Every subsystem's allocation last loop, biggest first (This makes garbage, only call it for a warning)
+	 */
+	public String getAllocationReport() {
+		Integer[] order = new Integer[count];
+		for(int i = 0; i < count; i++)
+			order[i] = i;
+		Arrays.sort(order, (a, b) -> Long.compare(lastBytes[b], lastBytes[a]));
+		
+		StringBuilder report = new StringBuilder();
+		for(int i : order) {
+			if(report.length() > 0)
+				report.append(", ");
+			report.append(subSystems[i].getClass().getSimpleName()).append(' ').append(lastBytes[i]).append(" (max ").append(maxBytes[i]).append(')');
+		}
+		return report.toString();
+	}
+	
+	public SubSystem get(int index) { return subSystems[index]; }
+	public int getCount() { return count; }
+	
+	/**
+	 * @return - Seconds the subsystem took last loop
+	 */
+	public double getLastTime(int index) { return lastNanos[index] / 1e9; }
+	
+	/**
+	 * @return - Most seconds the subsystem has taken in a loop
+	 */
+	public double getMaxTime(int index) { return maxNanos[index] / 1e9; }
+	
+	/**
+	 * @return - Bytes the subsystem allocated last loop
+	 */
+	public long getLastBytes(int index) { return lastBytes[index]; }
+	
+	/**
+	 * @return - Most bytes the subsystem has allocated in a loop
+	 */
+	public long getMaxBytes(int index) { return maxBytes[index]; }
+}
@@ -0,0 +1,35 @@
+package org.usfirst.frc.team3555.robot.SubSystems;
+
+import org.usfirst.frc.team3555.robot.SubSystems.Controllers.MotorGroup;
+
+/**
+ * What the {@link DriveActions} need from a drive train. <br>
+ * The {@link DriveTrain} is the robot's, the {@link org.usfirst.frc.team3555.robot.Simulation.SimDrive} is a simulated one, 
+ * so the autonomous runs that are simulated are the same code that drives the robot.
+ */
+public interface TankDrive {
+	/**
+	 * @return - The group with the encoders, that the actions set (Right set point negated, like the DriveTrain's)
+	 */
+	public abstract MotorGroup getMainGroup();
+	
+	/**
+	 * Bring anything following the main group up to date, after it is set
+	 */
+	public abstract void updateFollowers();
+	
+	/**
+	 * @return - Meters the left side has driven (forward is positive)
+	 */
+	public abstract double getLeftDistance();
+	
+	/**
+	 * @return - Meters the right side has driven (forward is positive)
+	 */
+	public abstract double getRightDistance();
+	
+	/**
+	 * @return - Seconds, the time the actions are timed with
+	 */
+	public abstract double getTimestamp();
+}
@@ -0,0 +1,150 @@
+package org.usfirst.frc.team3555.robot.Telemetry;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures how many bytes a thread allocates in a loop, and warns when it goes over a budget. <br>
+ * Garbage made every loop is what makes the collector run, and a collection on the roboRIO is a loop overrun. 
+ * The steady state of every loop should make no garbage at all, so the default budget is 0. <br>
+ * <br>
+ * Uses the JVM's per thread allocation counter (com.sun.management.ThreadMXBean). 
+ * On Java 8 reading the counter allocates a little itself, so that amount is measured once and taken off of every reading. 
+ * If the JVM doesn't have the counter, every reading is 0 and nothing is ever over budget
+ */
+public class AllocationBudget {
+	private static final com.sun.management.ThreadMXBean threads;
+	private static final long overhead;// <- bytes allocated by reading the counter
+	
+	static {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean supported = null;
+		
+		if(bean instanceof com.sun.management.ThreadMXBean) {
+			supported = (com.sun.management.ThreadMXBean) bean;
+			if(supported.isThreadAllocatedMemorySupported())
+				supported.setThreadAllocatedMemoryEnabled(true);
+			else
+				supported = null;
+		}
+		threads = supported;
+		
+		long measured = 0;
+		if(threads != null) {
+			long id = Thread.currentThread().getId();
+			measured = Long.MAX_VALUE;
+			for(int i = 0; i < 16; i++) {//Take the smallest, in case something else was allocated in between
+				long first = threads.getThreadAllocatedBytes(id);
+				long second = threads.getThreadAllocatedBytes(id);
+				measured = Math.min(measured, second - first);
+			}
+		}
+		overhead = measured;
+	}
+	
+	/**
+	 * @return - Whether or not this JVM can count allocations
+	 */
+	public static boolean isSupported() { return threads != null; }
+	
+	/**
+	 * @return - Total bytes the calling thread has allocated, 0 if not supported
+	 */
+	public static long getThreadBytes() {
+		if(threads == null)
+			return 0;
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+	
+	/**
+	 * @param start - A reading from getThreadBytes() on the same thread
+	 * @return - Bytes the calling thread has allocated since the reading, not counting the readings themselves
+	 */
+	public static long getBytesSince(long start) {
+		if(threads == null)
+			return 0;
+		return Math.max(0, getThreadBytes() - start - overhead);
+	}
+	
+	private String name;
+	private long budget;// <- bytes per loop
+	private double warningPeriod;// <- seconds between warnings
+	
+	private long loopStart;
+	private boolean started;
+	
+	private long lastBytes;
+	private long maxBytes;
+	private long loops;
+	private long overBudget;
+	private double lastWarning = Double.NEGATIVE_INFINITY;
+	
+	/**
+	 * @param name - Name of the loop, used in the warnings
+	 * @param budget - Bytes the loop is allowed to allocate
+	 * @param warningPeriod - Least seconds between warnings, so the warnings don't make garbage every loop too
+	 */
+	public AllocationBudget(String name, long budget, double warningPeriod) {
+		this.name = name;
+		this.budget = budget;
+		this.warningPeriod = warningPeriod;
+	}
+	
+	/**
+	 * Start counting a loop, on the thread that runs the loop
+	 */
+	public void start() {
+		loopStart = getThreadBytes();
+		started = true;
+	}
+	
+	/**
+	 * Finish counting a loop, on the same thread that called start()
+	 * 
+	 * @param timestamp - Seconds, for limiting the warnings
+	 * @return - Whether or not a warning should be given this loop (over budget, and it has been long enough since the last warning)
+	 */
+	public boolean end(double timestamp) {
+		if(!started)
+			return false;
+		started = false;
+		
+		lastBytes = getBytesSince(loopStart);
+		if(lastBytes > maxBytes)
+			maxBytes = lastBytes;
+		loops++;
+		
+		if(lastBytes <= budget)
+			return false;
+		
+		overBudget++;
+		if(timestamp - lastWarning < warningPeriod)
+			return false;
+		
+		lastWarning = timestamp;
+		return true;
+	}
+	
+	/**
+	 * @return - A warning about the last loop (This makes garbage, only call it when end() says to)
+	 */
+	public String getWarning() {
+		return name + " allocated " + lastBytes + " bytes (budget " + budget + "), " + overBudget + " of " + loops + " loops over budget";
+	}
+	
+	/**
+	 * Clear the max and the counts
+	 */
+	public void reset() {
+		maxBytes = 0;
+		loops = 0;
+		overBudget = 0;
+	}
+	
+	public long getLastBytes() { return lastBytes; }
+	public long getMaxBytes() { return maxBytes; }
+	public long getLoops() { return loops; }
+	public long getOverBudget() { return overBudget; }
+	
+	public long getBudget() { return budget; }
+	public void setBudget(long budget) { this.budget = budget; }
+}
@@ -0,0 +1,87 @@
+package org.usfirst.frc.team3555.robot.Telemetry;
+
+/**
+ * Counts values (like cycle times) into bins of the same width, so the spread can be seen and not just the average. <br>
+ * The bins are a primitive array made once, anything past the last bin goes into an overflow bin. <br>
+ * NOTE: Only one thread should record. Other threads can read it, but the numbers may be a loop behind each other
+ */
+public class Histogram {
+	private double binWidth;
+	private long[] counts;// <- Last one is the overflow
+	
+	private volatile long count;
+	private volatile double total;
+	private volatile double max;
+	
+	/**
+	 * @param binWidth - Width of each bin (seconds for times)
+	 * @param bins - Amount of bins, values past bins * binWidth go in the overflow bin
+	 */
+	public Histogram(double binWidth, int bins) {
+		this.binWidth = binWidth;
+		counts = new long[bins + 1];
+	}
+	
+	/**
+	 * Add a value
+	 */
+	public void record(double value) {
+		int bin = (int) (value / binWidth);
+		if(bin < 0)
+			bin = 0;
+		else if(bin >= counts.length)
+			bin = counts.length - 1;
+		
+		counts[bin]++;
+		total += value;
+		if(value > max)
+			max = value;
+		count++;
+	}
+	
+	/**
+	 * Find the value that a percent of the values are below. 
+	 * This is the top of the bin it lands in, so it is never less than the real value
+	 * 
+	 * @param percent - 0 - 1 (.99 -> 99th percentile)
+	 * @return - The value, 0 if nothing has been recorded, the max if it lands in the overflow
+	 */
+	public double getPercentile(double percent) {
+		long total = count;
+		if(total == 0)
+			return 0;
+		
+		long needed = (long) Math.ceil(total * percent);
+		long seen = 0;
+		for(int i = 0; i < counts.length - 1; i++) {
+			seen += counts[i];
+			if(seen >= needed)
+				return Math.min((i + 1) * binWidth, max);
+		}
+		return max;
+	}
+	
+	/**
+	 * Clear every bin
+	 */
+	public void reset() {
+		for(int i = 0; i < counts.length; i++)
+			counts[i] = 0;
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+	
+	public double getMean() { return count == 0 ? 0 : total / count; }
+	public double getMax() { return max; }
+	public long getCount() { return count; }
+	
+	public int getBins() { return counts.length - 1; }
+	public double getBinWidth() { return binWidth; }
+	
+	/**
+	 * @param bin - Bin number, getBins() is the overflow
+	 * @return - Amount of values in the bin
+	 */
+	public long getBinCount(int bin) { return counts[bin]; }
+}
@@ -0,0 +1,34 @@
+package org.usfirst.frc.team3555.robot.Telemetry;
+
+import java.io.File;
+import java.util.Arrays;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Keeps the log files on the roboRIO from filling its flash. <br>
+ * Every boot and every match makes new files (telemetry, replays), so only the newest few of each kind are kept.
+ */
+public class LogFiles {
+	/**
+	 * Delete all but the newest files that start with the prefix and end with the suffix.
+	 * Call this before making a new file, so there are keep + 1 left after.
+	 * Only call this when the robot is starting or disabled, listing and deleting files is slow
+	 *
+	 * @param directory - Directory of the files
+	 * @param prefix - Start of the file names (telemetry_)
+	 * @param suffix - End of the file names (.bin)
+	 * @param keep - Amount of the newest files to keep
+	 */
+	public static void deleteOldest(String directory, String prefix, String suffix, int keep) {
+		File[] files = new File(directory).listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(suffix));
+		if(files == null || files.length <= keep)
+			return;
+
+		//Newest first
+		Arrays.sort(files, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
+		for(int i = keep; i < files.length; i++)
+			if(!files[i].delete())
+				DriverStation.reportWarning("Could not delete the old log " + files[i].getPath(), false);
+	}
+}
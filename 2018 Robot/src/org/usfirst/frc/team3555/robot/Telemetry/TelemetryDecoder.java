@@ -0,0 +1,74 @@
+package org.usfirst.frc.team3555.robot.Telemetry;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns a file written by {@link TelemetryLogger} into a csv. This is run on a computer, not the robot. <br>
+ * Usage: java org.usfirst.frc.team3555.robot.Telemetry.TelemetryDecoder telemetry.bin [telemetry.csv]
+ */
+public class TelemetryDecoder {
+	public static void main(String[] args) throws IOException {
+		if(args.length < 1) {
+			System.err.println("Usage: TelemetryDecoder <input.bin> [output.csv]");
+			System.exit(1);
+		}
+		
+		String output = args.length > 1 ? args[1] : args[0].replaceAll("\\.bin$", "") + ".csv";
+		long records = decode(args[0], output);
+		System.out.println("Wrote " + records + " records to " + output);
+	}
+	
+	/**
+	 * Decode a telemetry file into a csv with the columns: time (seconds), channel, value
+	 * 
+	 * @param input - Path of the telemetry file
+	 * @param output - Path of the csv to write
+	 * @return - Amount of records written
+	 */
+	public static long decode(String input, String output) throws IOException {
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(input)));
+			PrintWriter out = new PrintWriter(new FileWriter(output))) {
+			
+			if(in.readInt() != TelemetryLogger.magic)
+				throw new IOException(input + " is not a telemetry file");
+			int version = in.readInt();
+			if(version != TelemetryLogger.version)
+				throw new IOException("Unknown telemetry version " + version);
+			
+			String[] names = new String[in.readInt()];
+			for(int i = 0; i < names.length; i++) {
+				byte[] name = new byte[in.readShort()];
+				in.readFully(name);
+				names[i] = new String(name, StandardCharsets.UTF_8);
+			}
+			
+			out.println("time,channel,value");
+			
+			long records = 0;
+			while(true) {
+				long time;
+				int channel;
+				double value;
+				try {
+					time = in.readLong();
+					channel = in.readInt();
+					value = in.readDouble();
+				} catch (EOFException e) {//End of the file, or a record that was cut off when the robot lost power
+					break;
+				}
+				
+				String name = channel >= 0 && channel < names.length ? names[channel] : Integer.toString(channel);
+				out.println((time / 1e6) + "," + name + "," + value);
+				records++;
+			}
+			return records;
+		}
+	}
+}
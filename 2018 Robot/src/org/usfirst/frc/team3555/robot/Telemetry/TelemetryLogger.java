@@ -0,0 +1,196 @@
+package org.usfirst.frc.team3555.robot.Telemetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Writes telemetry to a binary file on a background thread, so that the robot loop never has to wait on printing or the disk. <br>
+ * Each thread that records gets its own {@link TelemetryRing}, the logger's thread drains all of them into one file. <br>
+ * <br>
+ * File layout (big endian): <br>
+ *  int magic, int version, int channel count <br>
+ *  for each channel: short name length, name (UTF-8) <br>
+ *  records until the end: long time (microseconds), int channel, double value <br>
+ * <br>
+ * Use {@link TelemetryDecoder} on a computer to turn the file into a csv.
+ */
+public class TelemetryLogger {
+	public static final int magic = 0x33353535;// <- "3555"
+	public static final int version = 1;
+	public static final int maxRings = 4;
+	public static final int maxChannels = 256;
+	public static final long flushPeriodNanos = 20000000;// <- 20 ms
+	
+	private String path;
+	
+	private TelemetryRing[] rings;
+	private int ringCount;
+	
+	private String[] channelNames;
+	private int channelCount;
+	
+	private FileChannel file;
+	private ByteBuffer buffer;
+	private Thread thread;
+	private volatile boolean running;
+	
+	/**
+	 * Creates a logger, nothing is written until start() is called
+	 * 
+	 * @param path - File to write to
+	 */
+	public TelemetryLogger(String path) {
+		this.path = path;
+		
+		rings = new TelemetryRing[maxRings];
+		channelNames = new String[maxChannels];
+		buffer = ByteBuffer.allocateDirect(TelemetryRing.recordBytes * 1024);
+	}
+	
+	/**
+	 * Make a ring for a thread to record to. 
+	 * This has to be done before the logger is started
+	 * 
+	 * @param capacity - Max records waiting to be written
+	 * @return - The ring to record to
+	 */
+	public TelemetryRing createRing(int capacity) {
+		if(running)
+			throw new IllegalStateException("Rings have to be made before the logger is started");
+		if(ringCount == maxRings)
+			throw new IllegalStateException("Too many telemetry rings, max is " + maxRings);
+		
+		TelemetryRing ring = new TelemetryRing(this, capacity);
+		rings[ringCount++] = ring;
+		return ring;
+	}
+	
+	/**
+	 * Add a channel to record to. 
+	 * This has to be done before the logger is started, the names are written at the start of the file
+	 * 
+	 * @param name - Name of the channel
+	 * @return - The channel number to record with
+	 */
+	public int addChannel(String name) {
+		if(running)
+			throw new IllegalStateException("Channels have to be added before the logger is started");
+		if(channelCount == maxChannels)
+			throw new IllegalStateException("Too many telemetry channels, max is " + maxChannels);
+		
+		channelNames[channelCount] = name;
+		return channelCount++;
+	}
+	
+	/**
+	 * Open the file, write the header, and start the background thread
+	 */
+	public void start() {
+		try {
+			file = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			
+			buffer.clear();
+			buffer.putInt(magic);
+			buffer.putInt(version);
+			buffer.putInt(channelCount);
+			for(int i = 0; i < channelCount; i++) {
+				byte[] name = channelNames[i].getBytes(StandardCharsets.UTF_8);
+				if(buffer.remaining() < name.length + 2)
+					write();
+				buffer.putShort((short) name.length);
+				buffer.put(name);
+			}
+			write();
+		} catch (IOException e) {
+			DriverStation.reportError("Could not start telemetry: " + e.getMessage(), false);
+			return;//The rings will fill up and count their drops
+		}
+		
+		running = true;
+		thread = new Thread(this::run, "Telemetry");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+	
+	/**
+	 * Stop the background thread, write everything left, and close the file
+	 */
+	public void stop() {
+		running = false;
+		if(thread != null) {
+			try {
+				thread.join(1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * The background thread, drain the rings until stopped
+	 */
+	private void run() {
+		try {
+			while(running) {
+				if(drain() == 0)
+					LockSupport.parkNanos(flushPeriodNanos);
+			}
+			drain();
+			file.close();
+		} catch (IOException e) {
+			running = false;
+			DriverStation.reportError("Telemetry stopped: " + e.getMessage(), false);
+		}
+	}
+	
+	/**
+	 * Copy every ring into the buffer, writing the buffer whenever it fills up
+	 * 
+	 * @return - Amount of records written
+	 */
+	private int drain() throws IOException {
+		int total = 0;
+		for(int i = 0; i < ringCount; i++) {
+			int count;
+			do {
+				count = rings[i].drain(buffer);
+				total += count;
+				if(buffer.remaining() < TelemetryRing.recordBytes)
+					write();
+			} while(count > 0 && rings[i].getPending() > 0);
+		}
+		write();
+		return total;
+	}
+	
+	/**
+	 * Write the buffer to the file, and clear it
+	 */
+	private void write() throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining())
+			file.write(buffer);
+		buffer.clear();
+	}
+	
+	/**
+	 * @return - Amount of records dropped by every ring
+	 */
+	public long getDropped() {
+		long dropped = 0;
+		for(int i = 0; i < ringCount; i++)
+			dropped += rings[i].getDropped();
+		return dropped;
+	}
+	
+	public boolean isRunning() { return running; }
+	public String getPath() { return path; }
+}
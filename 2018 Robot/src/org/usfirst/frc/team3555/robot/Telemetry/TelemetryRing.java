@@ -0,0 +1,108 @@
+package org.usfirst.frc.team3555.robot.Telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A ring buffer of telemetry records that ONE thread writes to, and the {@link TelemetryLogger}'s thread reads from. <br>
+ * Every record is the same: time (microseconds), channel, value. They are stored in arrays that are made once, so recording never creates garbage. <br>
+ * No locks are used, the writer only moves the head and the reader only moves the tail. 
+ * If the ring is full the record is dropped (the robot loop never waits on the file) and counted.
+ * 
+ * NOTE: Only one thread can record to a ring, make one ring per thread with {@link TelemetryLogger#createRing(int)}
+ */
+public class TelemetryRing {
+	public static final int recordBytes = 8 + 4 + 8;// <- time, channel, value
+	
+	private TelemetryLogger logger;
+	
+	private long[] times;
+	private int[] channels;
+	private double[] values;
+	private int mask;
+	
+	private volatile long head;// <- Next record to write, only changed by the writer
+	private volatile long tail;// <- Next record to read, only changed by the logger
+	private volatile long dropped;
+	
+	/**
+	 * @param logger - Logger that will drain this ring
+	 * @param capacity - Max records waiting to be written, rounded up to a power of 2
+	 */
+	TelemetryRing(TelemetryLogger logger, int capacity) {
+		this.logger = logger;
+		
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		times = new long[size];
+		channels = new int[size];
+		values = new double[size];
+		mask = size - 1;
+	}
+	
+	/**
+	 * Record a value at the current time
+	 * 
+	 * @param channel - Channel from addChannel
+	 * @param value - Value to record
+	 * @return - Whether or not it was recorded (false = the ring was full)
+	 */
+	public boolean record(int channel, double value) {
+		long h = head;
+		if(h - tail >= times.length) {
+			dropped++;
+			return false;
+		}
+		
+		int index = (int) (h & mask);
+		times[index] = System.nanoTime() / 1000;
+		channels[index] = channel;
+		values[index] = value;
+		
+		head = h + 1;//Publish the record
+		return true;
+	}
+	
+	/**
+	 * Copy as many records as will fit into the buffer. 
+	 * Only called by the logger's thread
+	 * 
+	 * @param buffer - Buffer to copy into
+	 * @return - Amount of records copied
+	 */
+	int drain(ByteBuffer buffer) {
+		long t = tail;
+		long h = head;
+		int count = 0;
+		
+		while(t < h && buffer.remaining() >= recordBytes) {
+			int index = (int) (t & mask);
+			buffer.putLong(times[index]);
+			buffer.putInt(channels[index]);
+			buffer.putDouble(values[index]);
+			t++;
+			count++;
+		}
+		
+		tail = t;//Free the space
+		return count;
+	}
+	
+	/**
+	 * Add a channel to record to, this has to be done before the logger is started
+	 * 
+	 * @param name - Name of the channel (shows up in the csv)
+	 * @return - The channel number to record with
+	 */
+	public int addChannel(String name) { return logger.addChannel(name); }
+	
+	/**
+	 * @return - Amount of records that have been dropped because this ring was full
+	 */
+	public long getDropped() { return dropped; }
+	
+	/**
+	 * @return - Amount of records waiting to be written
+	 */
+	public int getPending() { return (int) (head - tail); }
+	
+	public int getCapacity() { return times.length; }
+}
@@ -0,0 +1,150 @@
+package org.usfirst.frc.team3555.robot.Vision;
+
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.core.MatOfInt;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+import edu.wpi.cscore.CvSink;
+import edu.wpi.cscore.CvSource;
+import edu.wpi.cscore.UsbCamera;
+import edu.wpi.first.wpilibj.CameraServer;
+
+/**
+ * Streams the driver camera with a {@link StreamProfile}, on its own thread. <br>
+ * Frames are grabbed from the camera, scaled down to the profile's size, and put on the stream. 
+ * The Mats are made once and reused, so nothing is allocated per frame (unless the profile's size changes). <br>
+ * The stream server in this version of cscore can't be told a JPEG quality, it encodes at whatever the dashboard asks for in the stream URL (?compression=).
+ * So the profile's quality is what the dashboard should ask for, and about once a second a frame is encoded at it to estimate the bandwidth (one frame * the profile's fps). 
+ * The estimate is only right if the dashboard does ask for that quality.
+ */
+public class CameraStreamer {
+	public static final int captureWidth = 320, captureHeight = 240;
+	public static final double measurePeriod = 1;// <- seconds between bandwidth measurements
+	
+	private UsbCamera camera;
+	private CvSink sink;
+	private CvSource source;
+	
+	private volatile StreamProfile profile;
+	private StreamProfile applied;// <- Only used by the stream thread
+	
+	/**
+	 * Reused buffers
+	 */
+	private Mat frame;
+	private Mat scaled;
+	private Size scaledSize;
+	private MatOfByte encoded;
+	private MatOfInt encodeParams;
+	private int[] encodeParamValues;
+	
+	private volatile double bandwidth;// <- megabits per second
+	private long lastMeasure;
+	
+	private Thread thread;
+	
+	/**
+	 * Starts the camera and the stream, using the off profile until setProfile is called
+	 * 
+	 * @param name - Name of the stream
+	 * @param device - USB device number of the camera
+	 */
+	public CameraStreamer(String name, int device) {
+		camera = new UsbCamera(name + " Camera", device);
+		camera.setResolution(captureWidth, captureHeight);
+		
+		sink = CameraServer.getInstance().getVideo(camera);
+		source = CameraServer.getInstance().putVideo(name, captureWidth, captureHeight);
+		
+		frame = new Mat();
+		scaled = new Mat();
+		scaledSize = new Size();
+		encoded = new MatOfByte();
+		encodeParamValues = new int[] { Imgcodecs.CV_IMWRITE_JPEG_QUALITY, 0 };
+		encodeParams = new MatOfInt();
+		
+		profile = StreamProfile.off;
+		
+		thread = new Thread(this::run, name + " Stream");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Change how the camera is streamed. Safe to call every loop, the stream thread only sets the camera up when the profile is different from the one it last used
+	 * 
+	 * @param profile - The new profile
+	 */
+	public void setProfile(StreamProfile profile) { this.profile = profile; }
+	
+	/**
+	 * The stream thread
+	 */
+	private void run() {
+		while(!Thread.interrupted()) {
+			StreamProfile current = profile;
+			applyProfile(current);
+			
+			if(current.isOff()) {
+				bandwidth = 0;
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					return;
+				}
+				continue;
+			}
+			
+			if(sink.grabFrame(frame) == 0)//Timed out, or the camera is unplugged
+				continue;
+			
+			Mat out = frame;
+			if(frame.cols() != current.getWidth() || frame.rows() != current.getHeight()) {
+				Imgproc.resize(frame, scaled, scaledSize, 0, 0, Imgproc.INTER_AREA);
+				out = scaled;
+			}
+			source.putFrame(out);
+			
+			long now = System.nanoTime();
+			if(now - lastMeasure >= measurePeriod * 1e9) {
+				lastMeasure = now;
+				Imgcodecs.imencode(".jpg", out, encoded, encodeParams);
+				bandwidth = encoded.total() * current.getFPS() * 8 / 1e6;
+			}
+		}
+	}
+	
+	/**
+	 * Set the camera and buffers up for the profile, if it isn't the one that was last set up
+	 */
+	private void applyProfile(StreamProfile current) {
+		if(current == applied)
+			return;
+		applied = current;
+		
+		sink.setEnabled(!current.isOff());//No enabled sinks -> the camera isn't read at all
+		if(current.isOff())
+			return;
+		
+		camera.setFPS(current.getFPS());
+		scaledSize.width = current.getWidth();
+		scaledSize.height = current.getHeight();
+		encodeParamValues[1] = current.getQuality();
+		encodeParams.fromArray(encodeParamValues);
+	}
+	
+	/**
+	 * @return - Estimated megabits per second of the stream, if the dashboard asks for the profile's quality
+	 */
+	public double getBandwidth() { return bandwidth; }
+	
+	public StreamProfile getProfile() { return profile; }
+	
+	/**
+	 * @return - The camera, so other sinks (like vision) can share it
+	 */
+	public UsbCamera getCamera() { return camera; }
+}
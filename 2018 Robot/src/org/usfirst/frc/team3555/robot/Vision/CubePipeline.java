@@ -0,0 +1,151 @@
+package org.usfirst.frc.team3555.robot.Vision;
+
+import java.util.ArrayList;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfPoint;
+import org.opencv.core.Rect;
+import org.opencv.core.Scalar;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * Finds the biggest power cube in a frame. <br>
+ * Stages: <br>
+ *  HSV -> Convert the frame to HSV, so the yellow of the cube can be picked out no matter how bright it is <br>
+ *  Threshold -> Keep only the pixels in the HSV range <br>
+ *  Contours -> Find the outlines of the kept blobs <br>
+ *  Target -> Pick the biggest blob, and find its bounding box, center, and angle <br>
+ * <br>
+ * Every Mat is made once and reused. The time each stage takes is added up, so a slow stage can be found. 
+ * NOTE: Not thread safe, each thread needs its own pipeline
+ */
+public class CubePipeline {
+	public static final int hsvStage = 0, thresholdStage = 1, contourStage = 2, targetStage = 3;
+	public static final int stages = 4;
+	
+	/**
+	 * Settings
+	 */
+	private Scalar lower, upper;// <- HSV range (OpenCV hue is 0 - 180)
+	private double minArea;// <- Percent of the image a blob has to cover to count
+	private double horizontalFOV;// <- Degrees
+	
+	/**
+	 * Reused buffers
+	 */
+	private Mat hsv;
+	private Mat mask;
+	private Mat hierarchy;
+	private ArrayList<MatOfPoint> contours;
+	
+	/**
+	 * Timing
+	 */
+	private long[] stageNanos;
+	private long frames;
+	
+	/**
+	 * Creates a pipeline with the settings for the yellow 2018 power cube
+	 */
+	public CubePipeline() {
+		lower = new Scalar(20, 100, 100);//TODO Tune on the field
+		upper = new Scalar(35, 255, 255);
+		minArea = .002;
+		horizontalFOV = 61;// <- Microsoft Lifecam HD-3000
+		
+		hsv = new Mat();
+		mask = new Mat();
+		hierarchy = new Mat();
+		contours = new ArrayList<>();
+		
+		stageNanos = new long[stages];
+	}
+	
+	/**
+	 * Look for a cube in the frame
+	 * 
+	 * @param frame - BGR frame from the camera
+	 * @param target - Target to put the result in (The capture time is left alone)
+	 */
+	public void process(Mat frame, CubeTarget target) {
+		long start = System.nanoTime();
+		
+		Imgproc.cvtColor(frame, hsv, Imgproc.COLOR_BGR2HSV);
+		long hsvDone = System.nanoTime();
+		
+		Core.inRange(hsv, lower, upper, mask);
+		long thresholdDone = System.nanoTime();
+		
+		for(int i = 0; i < contours.size(); i++)//The contours from last frame are done with
+			contours.get(i).release();
+		contours.clear();
+		Imgproc.findContours(mask, contours, hierarchy, Imgproc.RETR_EXTERNAL, Imgproc.CHAIN_APPROX_SIMPLE);
+		long contoursDone = System.nanoTime();
+		
+		double imageArea = (double) frame.cols() * frame.rows();
+		int biggest = -1;
+		double biggestArea = minArea * imageArea;
+		for(int i = 0; i < contours.size(); i++) {
+			double area = Imgproc.contourArea(contours.get(i));
+			if(area >= biggestArea) {
+				biggest = i;
+				biggestArea = area;
+			}
+		}
+		
+		target.found = biggest != -1;
+		if(target.found) {
+			Rect box = Imgproc.boundingRect(contours.get(biggest));
+			double halfWidth = frame.cols() / 2.0;
+			double halfHeight = frame.rows() / 2.0;
+			
+			target.x = ((box.x + box.width / 2.0) - halfWidth) / halfWidth;
+			target.y = (halfHeight - (box.y + box.height / 2.0)) / halfHeight;
+			target.area = biggestArea / imageArea;
+			target.angle = Math.toDegrees(Math.atan(target.x * Math.tan(Math.toRadians(horizontalFOV / 2.0))));
+		}
+		long targetDone = System.nanoTime();
+		
+		stageNanos[hsvStage] += hsvDone - start;
+		stageNanos[thresholdStage] += thresholdDone - hsvDone;
+		stageNanos[contourStage] += contoursDone - thresholdDone;
+		stageNanos[targetStage] += targetDone - contoursDone;
+		frames++;
+	}
+	
+	/**
+	 * @param stage - Stage number (hsvStage, thresholdStage...)
+	 * @return - Average seconds that the stage has taken per frame
+	 */
+	public double getAverageStageTime(int stage) {
+		if(frames == 0)
+			return 0;
+		return stageNanos[stage] / 1e9 / frames;
+	}
+	
+	/**
+	 * Clear the stage timing
+	 */
+	public void resetTiming() {
+		for(int i = 0; i < stages; i++)
+			stageNanos[i] = 0;
+		frames = 0;
+	}
+	
+	public long getFrames() { return frames; }
+	
+	/**
+	 * Change the HSV range of the threshold
+	 */
+	public void setHSVRange(double hueMin, double hueMax, double satMin, double satMax, double valMin, double valMax) {
+		lower.set(new double[] { hueMin, satMin, valMin });
+		upper.set(new double[] { hueMax, satMax, valMax });
+	}
+	
+	public double getMinArea() { return minArea; }
+	public void setMinArea(double minArea) { this.minArea = minArea; }
+	
+	public double getHorizontalFOV() { return horizontalFOV; }
+	public void setHorizontalFOV(double horizontalFOV) { this.horizontalFOV = horizontalFOV; }
+}
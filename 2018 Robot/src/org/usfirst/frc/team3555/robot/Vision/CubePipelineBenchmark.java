@@ -0,0 +1,68 @@
+package org.usfirst.frc.team3555.robot.Vision;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.imgcodecs.Imgcodecs;
+
+/**
+ * Runs the {@link CubePipeline} over a folder of recorded frames, and prints the throughput and the time of each stage. 
+ * This is run on a computer (or the robot over ssh), with the OpenCV native library on the library path. <br>
+ * Usage: java org.usfirst.frc.team3555.robot.Vision.CubePipelineBenchmark <frame folder> [passes]
+ */
+public class CubePipelineBenchmark {
+	public static void main(String[] args) {
+		if(args.length < 1) {
+			System.err.println("Usage: CubePipelineBenchmark <frame folder> [passes]");
+			System.exit(1);
+		}
+		
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+		
+		int passes = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		
+		File[] files = new File(args[0]).listFiles((dir, name) -> name.matches("(?i).*\\.(png|jpg|jpeg|bmp)"));
+		if(files == null || files.length == 0) {
+			System.err.println("No frames found in " + args[0]);
+			System.exit(1);
+		}
+		Arrays.sort(files);
+		
+		ArrayList<Mat> frames = new ArrayList<>();
+		for(File file : files) {
+			Mat frame = Imgcodecs.imread(file.getPath());
+			if(!frame.empty())
+				frames.add(frame);
+		}
+		
+		CubePipeline pipeline = new CubePipeline();
+		CubeTarget target = new CubeTarget();
+		
+		//Warm up, then time
+		for(Mat frame : frames)
+			pipeline.process(frame, target);
+		pipeline.resetTiming();
+		
+		int found = 0;
+		long start = System.nanoTime();
+		for(int pass = 0; pass < passes; pass++) {
+			for(Mat frame : frames) {
+				pipeline.process(frame, target);
+				if(target.isFound())
+					found++;
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		
+		long total = pipeline.getFrames();
+		System.out.println(frames.size() + " frames x " + passes + " passes = " + total + " frames in " + seconds + " s");
+		System.out.println("Throughput: " + (total / seconds) + " frames/s, cube found in " + found + " frames");
+		System.out.println("HSV:       " + pipeline.getAverageStageTime(CubePipeline.hsvStage) * 1000 + " ms");
+		System.out.println("Threshold: " + pipeline.getAverageStageTime(CubePipeline.thresholdStage) * 1000 + " ms");
+		System.out.println("Contours:  " + pipeline.getAverageStageTime(CubePipeline.contourStage) * 1000 + " ms");
+		System.out.println("Target:    " + pipeline.getAverageStageTime(CubePipeline.targetStage) * 1000 + " ms");
+	}
+}
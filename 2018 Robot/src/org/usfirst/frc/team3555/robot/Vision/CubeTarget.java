@@ -0,0 +1,41 @@
+package org.usfirst.frc.team3555.robot.Vision;
+
+/**
+ * The result of looking for a power cube in one frame. <br>
+ * These are reused (see {@link org.usfirst.frc.team3555.robot.Loop.TripleBuffer}), so copy anything that needs to be kept.
+ */
+public class CubeTarget {
+	boolean found;
+	double x, y;// <- Center of the cube, -1 to 1 from the center of the image (right and up are positive)
+	double area;// <- Percent of the image that the cube covers (0 - 1)
+	double angle;// <- Degrees the cube is to the right of the center of the camera
+	long captureTime;// <- Microseconds (FPGA time), when the frame was taken
+	double latency;// <- Seconds from the frame being taken to the result being ready
+	
+	/**
+	 * Copy another target into this one
+	 */
+	void set(CubeTarget other) {
+		found = other.found;
+		x = other.x;
+		y = other.y;
+		area = other.area;
+		angle = other.angle;
+		captureTime = other.captureTime;
+		latency = other.latency;
+	}
+	
+	public boolean isFound() { return found; }
+	public double getX() { return x; }
+	public double getY() { return y; }
+	public double getArea() { return area; }
+	public double getAngle() { return angle; }
+	public long getCaptureTime() { return captureTime; }
+	
+	/**
+	 * @return - Capture time in seconds, the same time base as Timer.getFPGATimestamp()
+	 */
+	public double getCaptureTimestamp() { return captureTime / 1e6; }
+	
+	public double getLatency() { return latency; }
+}
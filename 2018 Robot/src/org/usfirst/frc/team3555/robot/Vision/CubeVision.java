@@ -0,0 +1,102 @@
+package org.usfirst.frc.team3555.robot.Vision;
+
+import org.opencv.core.Mat;
+import org.usfirst.frc.team3555.robot.Loop.TripleBuffer;
+
+import edu.wpi.cscore.CvSink;
+import edu.wpi.cscore.VideoSource;
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Runs the {@link CubePipeline} on its own thread, away from the control loop. <br>
+ * The newest result is handed over through a {@link TripleBuffer}, so the robot never waits on vision and vision never waits on the robot. 
+ * Only ONE thread should call getLatest() (the main robot thread).
+ */
+public class CubeVision {
+	private CvSink sink;
+	private CubePipeline pipeline;
+	private TripleBuffer<CubeTarget> results;
+	
+	private Mat frame;
+	private Thread thread;
+	
+	/**
+	 * Microseconds from cscore's clock to the FPGA's, only used by the vision thread. 
+	 * This cscore stamps frames with its own clock (not the FPGA's), so the stamps are moved over before they are compared with the heading history
+	 */
+	private long clockOffset;
+	private boolean clockSynced;
+	private volatile boolean enabled = true;
+	
+	/**
+	 * Start looking for cubes
+	 * 
+	 * @param camera - Camera to look through (Can be shared with a {@link CameraStreamer})
+	 */
+	public CubeVision(VideoSource camera) {
+		//Its own sink -> getVideo() would hand back the streamer's sink, and the two threads would split its frames (and turn each other off)
+		sink = new CvSink("cube_vision");
+		sink.setSource(camera);
+		pipeline = new CubePipeline();
+		results = new TripleBuffer<>(new CubeTarget(), new CubeTarget(), new CubeTarget());
+		frame = new Mat();
+		
+		thread = new Thread(this::run, "Cube Vision");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.NORM_PRIORITY - 1);//Below the robot loop
+		thread.start();
+	}
+	
+	/**
+	 * The vision thread
+	 */
+	private void run() {
+		while(!Thread.interrupted()) {
+			if(!enabled) {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					return;
+				}
+				continue;
+			}
+			
+			long captureTime = sink.grabFrame(frame);// <- cscore's clock
+			if(captureTime == 0)//Timed out, or the camera is unplugged
+				continue;
+			
+			//The smallest gap ever seen between a frame's stamp and the FPGA time is the offset between the clocks (plus the quickest hand over)
+			long offset = RobotController.getFPGATime() - captureTime;
+			if(!clockSynced || offset < clockOffset) {
+				clockOffset = offset;
+				clockSynced = true;
+			}
+			
+			CubeTarget target = results.getWriteBuffer();
+			pipeline.process(frame, target);
+			target.captureTime = captureTime + clockOffset;
+			target.latency = (RobotController.getFPGATime() - target.captureTime) / 1e6;
+			results.publish();
+		}
+	}
+	
+	/**
+	 * @return - The newest result, only valid until the next call
+	 */
+	public CubeTarget getLatest() { return results.latest(); }
+	
+	/**
+	 * Turn the processing on and off (off when nobody needs it saves the CPU for the robot)
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		sink.setEnabled(enabled);
+	}
+	
+	public boolean isEnabled() { return enabled; }
+	
+	/**
+	 * @return - The pipeline, for its timing and settings. Only change settings while disabled
+	 */
+	public CubePipeline getPipeline() { return pipeline; }
+}
@@ -0,0 +1,53 @@
+package org.usfirst.frc.team3555.robot.Vision;
+
+/**
+ * How the driver camera is streamed -> resolution and frame rate, and the JPEG quality the dashboard should ask for. <br>
+ * The field caps our bandwidth, and the stream shares it with the control packets, so each part of the match gets only as much video as it needs.
+ */
+public class StreamProfile {
+	/**
+	 * Small and quick, enough to see where the robot is going
+	 */
+	public static final StreamProfile driving = new StreamProfile("Driving", 160, 120, 15, 30);
+	
+	/**
+	 * Bigger and slower, enough detail to line up on the bar
+	 */
+	public static final StreamProfile climbing = new StreamProfile("Climbing", 320, 240, 10, 40);
+	
+	/**
+	 * Nobody is watching in autonomous, send nothing
+	 */
+	public static final StreamProfile off = new StreamProfile("Off", 0, 0, 0, 0);
+	
+	private final String name;
+	private final int width, height;// <- pixels
+	private final int fps;
+	private final int quality;// <- JPEG quality 0 - 100, the dashboard asks for it with ?compression= (the server can't be told)
+	
+	/**
+	 * @param name - Name to show on the dashboard
+	 * @param width - Width of the streamed image
+	 * @param height - Height of the streamed image
+	 * @param fps - Frames per second, 0 to turn the stream off
+	 * @param quality - JPEG quality (0 - 100)
+	 */
+	public StreamProfile(String name, int width, int height, int fps, int quality) {
+		this.name = name;
+		this.width = width;
+		this.height = height;
+		this.fps = fps;
+		this.quality = quality;
+	}
+	
+	/**
+	 * @return - Whether or not this profile streams anything
+	 */
+	public boolean isOff() { return fps <= 0; }
+	
+	public String getName() { return name; }
+	public int getWidth() { return width; }
+	public int getHeight() { return height; }
+	public int getFPS() { return fps; }
+	public int getQuality() { return quality; }
+}